@@ -0,0 +1,46 @@
+package com.wsxdev.simuladorcircuitos.benchmarks;
+
+import com.wsxdev.simuladorcircuitos.generador.GeneradorCircuitos;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Conexion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copias defensivas de Circuito.getComponentes y getConexiones, que la vista y el simulador piden a menudo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+public class ModeloBenchmark {
+    private static final long SEMILLA = 42;
+
+    @Param({"escalera", "grilla", "aleatorio"})
+    public String topologia;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int nodos;
+
+    private Circuito circuito;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        circuito = GeneradorCircuitos.crear(topologia, nodos, SEMILLA);
+    }
+
+    @Benchmark
+    public List<Componente> getComponentes() {
+        return circuito.getComponentes();
+    }
+
+    @Benchmark
+    public List<Conexion> getConexiones() {
+        return circuito.getConexiones();
+    }
+}
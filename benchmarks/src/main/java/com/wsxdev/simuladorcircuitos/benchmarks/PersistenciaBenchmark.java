@@ -0,0 +1,78 @@
+package com.wsxdev.simuladorcircuitos.benchmarks;
+
+import com.wsxdev.simuladorcircuitos.generador.GeneradorCircuitos;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.persistencia.Circuitos;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuitos.guardar y cargarTodos. El DAO usa circuitos.dat en el directorio de trabajo, así que los
+ * benchmarks se niegan a correr si ya existe (no pisan datos del usuario) y lo borran al terminar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+public class PersistenciaBenchmark {
+    private static final File ARCHIVO = new File("circuitos.dat");
+    private static final long SEMILLA = 42;
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"escalera", "grilla", "aleatorio"})
+        public String topologia;
+
+        @Param({"10", "1000", "100000"})
+        public int nodos;
+
+        final Circuitos dao = new Circuitos();
+        Circuito circuito;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            if (ARCHIVO.exists()) {
+                throw new IllegalStateException("Ejecute los benchmarks en un directorio sin circuitos.dat");
+            }
+            circuito = GeneradorCircuitos.crear(topologia, nodos, SEMILLA);
+        }
+
+        @TearDown(Level.Trial)
+        public void limpiar() {
+            ARCHIVO.delete();
+        }
+    }
+
+    /**
+     * guardar lee los circuitos existentes antes de escribir: se parte de un archivo vacío cada vez
+     */
+    @State(Scope.Benchmark)
+    public static class ArchivoVacio {
+        @Setup(Level.Invocation)
+        public void vaciar() {
+            ARCHIVO.delete();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ArchivoGuardado {
+        @Setup(Level.Trial)
+        public void guardar(Datos datos) {
+            datos.dao.guardar(datos.circuito);
+        }
+    }
+
+    @Benchmark
+    public void guardar(Datos datos, ArchivoVacio vacio) {
+        datos.dao.guardar(datos.circuito);
+    }
+
+    @Benchmark
+    public List<Circuito> cargarTodos(Datos datos, ArchivoGuardado guardado) {
+        return datos.dao.cargarTodos();
+    }
+}
@@ -0,0 +1,64 @@
+package com.wsxdev.simuladorcircuitos.benchmarks;
+
+import com.wsxdev.simuladorcircuitos.generador.GeneradorCircuitos;
+import com.wsxdev.simuladorcircuitos.vista.PanelCircuito;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PanelCircuito.paintComponent sobre una imagen fuera de pantalla del tamaño de una ventana Full HD
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+public class RenderizadoBenchmark {
+    private static final int ANCHO = 1920;
+    private static final int ALTO = 1080;
+    private static final long SEMILLA = 42;
+
+    @Param({"escalera", "grilla", "aleatorio"})
+    public String topologia;
+
+    @Param({"10", "1000", "10000"})
+    public int nodos;
+
+    private PanelOffscreen panel;
+    private BufferedImage imagen;
+    private Graphics2D graficos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        panel = new PanelOffscreen();
+        panel.setCircuito(GeneradorCircuitos.crear(topologia, nodos, SEMILLA));
+        panel.setSize(ANCHO, ALTO);
+        imagen = new BufferedImage(ANCHO, ALTO, BufferedImage.TYPE_INT_ARGB);
+        graficos = imagen.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void liberar() {
+        graficos.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage pintar() {
+        panel.pintar(graficos);
+        return imagen;
+    }
+
+    /**
+     * Expone paintComponent para dibujar sin ventana
+     */
+    static class PanelOffscreen extends PanelCircuito {
+        void pintar(Graphics g) {
+            paintComponent(g);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.wsxdev.simuladorcircuitos.benchmarks;
+
+import com.wsxdev.simuladorcircuitos.generador.GeneradorCircuitos;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimuladorCircuito.simular sobre circuitos generados de 10 a 100k nodos: simulación completa (compilar,
+ * ordenar, factorizar y resolver) y re-simulación tras cambiar el valor de una resistencia.
+ * Para escala de millones: -p nodos=1000000
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+public class SimulacionBenchmark {
+    private static final long SEMILLA = 42;
+
+    @Param({"escalera", "grilla", "aleatorio"})
+    public String topologia;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int nodos;
+
+    private Circuito circuito;
+    private Resistencia ajustable;
+    private SimuladorCircuito incremental;
+    private boolean alternar;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        circuito = GeneradorCircuitos.crear(topologia, nodos, SEMILLA);
+        for (Componente componente : circuito.getComponentes()) {
+            if (componente instanceof Resistencia) {
+                ajustable = (Resistencia) componente;
+                break;
+            }
+        }
+        incremental = new SimuladorCircuito(circuito);
+        if (!incremental.simular().isExitoso()) {
+            throw new IllegalStateException("El circuito " + topologia + " de " + nodos + " nodos no se pudo simular");
+        }
+    }
+
+    @Benchmark
+    public SimuladorCircuito.ResultadosSimulacion simularCompleto() {
+        return new SimuladorCircuito(circuito).simular();
+    }
+
+    @Benchmark
+    public SimuladorCircuito.ResultadosSimulacion simularCambioValor() {
+        ajustable.setResistencia(alternar ? 10.0 : 12.0);
+        alternar = !alternar;
+        return incremental.simular();
+    }
+}
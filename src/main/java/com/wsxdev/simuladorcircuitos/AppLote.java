@@ -0,0 +1,272 @@
+package com.wsxdev.simuladorcircuitos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wsxdev.simuladorcircuitos.controlador.CircuitoControlador;
+import com.wsxdev.simuladorcircuitos.generador.GeneradorCircuitos;
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+import com.wsxdev.simuladorcircuitos.metricas.MedicionSimulacion;
+import com.wsxdev.simuladorcircuitos.modelo.Amperimetro;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Voltimetro;
+import com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Simulación por lotes sin interfaz gráfica (no inicializa AWT). Carga archivos .cir con
+ * {@link CircuitoControlador#cargarCircuito}, los simula en un pool acotado y escribe una línea JSON por
+ * circuito (resultado y tiempos) y una línea final de resumen con el rendimiento en circuitos/s.
+ * Con --generar tipo:nodos (repetible) también simula circuitos de {@link GeneradorCircuitos}.
+ *
+ * Uso: AppLote [--hilos N] [--salida archivo.jsonl] [--generar tipo:nodos] [--semilla S] ruta...
+ * Termina con código 0 si todos se simularon bien, 1 si alguno falló y 2 si los argumentos no son válidos.
+ */
+public class AppLote {
+    private static final String EXTENSION = ".cir";
+    private static final String PREFIJO_GENERADO = "generado:";
+    private static final int TAREAS_POR_HILO = 2; // Cola acotada: no se cargan todos los circuitos a la vez
+
+    private final CircuitoControlador controlador = new CircuitoControlador();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Writer salida;
+    private final AtomicInteger exitosos = new AtomicInteger(); // Entradas con línea escrita y simulación exitosa
+    private final long semilla;
+
+    private AppLote(Writer salida, long semilla) {
+        this.salida = salida;
+        this.semilla = semilla;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int hilos = Runtime.getRuntime().availableProcessors();
+        Path archivoSalida = null;
+        long semilla = 1;
+        List<Path> rutas = new ArrayList<>();
+        List<String> generados = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--hilos":
+                        hilos = Integer.parseInt(args[++i]);
+                        if (hilos < 1) throw new IllegalArgumentException("--hilos debe ser al menos 1");
+                        break;
+                    case "--salida":
+                        archivoSalida = Paths.get(args[++i]);
+                        break;
+                    case "--generar":
+                        String[] partes = args[++i].split(":");
+                        if (partes.length != 2) throw new IllegalArgumentException("--generar espera tipo:nodos");
+                        Integer.parseInt(partes[1]);
+                        generados.add(PREFIJO_GENERADO + args[i]);
+                        break;
+                    case "--semilla":
+                        semilla = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        rutas.add(Paths.get(args[i]));
+                }
+            }
+            if (rutas.isEmpty() && generados.isEmpty()) throw new IllegalArgumentException("Falta al menos una ruta");
+        } catch (RuntimeException e) {
+            System.err.println("Error en argumentos: " + e.getMessage());
+            System.err.println("Uso: AppLote [--hilos N] [--salida archivo.jsonl] [--generar tipo:nodos] [--semilla S] ruta...");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            List<String> entradas = new ArrayList<>();
+            for (Path archivo : buscarArchivos(rutas)) {
+                entradas.add(archivo.toString());
+            }
+            entradas.addAll(generados);
+            Writer writer = archivoSalida != null
+                    ? Files.newBufferedWriter(archivoSalida, StandardCharsets.UTF_8)
+                    : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            boolean todosExitosos;
+            try (writer) {
+                todosExitosos = new AppLote(writer, semilla).ejecutar(entradas, hilos);
+            }
+            System.exit(todosExitosos ? 0 : 1);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Error en simulación por lotes: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Archivos .cir de las rutas (los directorios se recorren completos), en orden alfabético
+     */
+    private static List<Path> buscarArchivos(List<Path> rutas) throws IOException {
+        List<Path> archivos = new ArrayList<>();
+        for (Path ruta : rutas) {
+            if (Files.isDirectory(ruta)) {
+                try (Stream<Path> recorrido = Files.walk(ruta)) {
+                    recorrido.filter(p -> Files.isRegularFile(p) && p.toString().endsWith(EXTENSION))
+                            .sorted()
+                            .forEach(archivos::add);
+                }
+            } else {
+                archivos.add(ruta);
+            }
+        }
+        return archivos;
+    }
+
+    /**
+     * Simula todas las entradas (archivos o circuitos generados); devuelve true si ninguna falló
+     */
+    private boolean ejecutar(List<String> entradas, int hilos) throws IOException, InterruptedException {
+        // Con la cola llena el hilo principal simula él mismo, así la lectura no se adelanta al pool
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(TAREAS_POR_HILO * hilos), new ThreadPoolExecutor.CallerRunsPolicy());
+        long inicio = System.nanoTime();
+        for (int i = 0; i < entradas.size(); i++) {
+            String entrada = entradas.get(i);
+            long semillaEntrada = semilla + i;
+            pool.execute(() -> registrar(entrada, semillaEntrada));
+        }
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        int fallidos = entradas.size() - exitosos.get(); // Incluye las entradas que no llegaron a escribir su línea
+
+        ObjectNode resumen = mapper.createObjectNode();
+        resumen.put("tipo", "resumen");
+        resumen.put("circuitos", entradas.size());
+        resumen.put("exitosos", exitosos.get());
+        resumen.put("fallidos", fallidos);
+        resumen.put("hilos", hilos);
+        resumen.put("segundos", segundos);
+        resumen.put("circuitosPorSegundo", segundos > 0 ? entradas.size() / segundos : 0.0);
+        escribir(resumen);
+        salida.flush();
+        System.err.printf("%d circuitos (%d fallidos) en %.3f s: %.1f circuitos/s%n",
+                entradas.size(), fallidos, segundos, segundos > 0 ? entradas.size() / segundos : 0.0);
+        return fallidos == 0;
+    }
+
+    /**
+     * Procesa una entrada y escribe su línea; solo cuenta como exitosa si la línea se escribió
+     */
+    private void registrar(String entrada, long semillaEntrada) {
+        try {
+            ObjectNode linea = procesar(entrada, semillaEntrada);
+            if (escribir(linea) && linea.path("exitoso").asBoolean()) {
+                exitosos.incrementAndGet();
+            }
+        } catch (Throwable e) {
+            // Ningún error sale de la tarea: el pool y el hilo principal (CallerRunsPolicy) siguen con el lote
+            System.err.println("Error en " + entrada + ": " + e);
+        }
+    }
+
+    /**
+     * Carga (o genera) y simula una entrada; cada tarea usa su propio simulador
+     */
+    private ObjectNode procesar(String entrada, long semillaEntrada) {
+        ObjectNode linea = mapper.createObjectNode();
+        linea.put("tipo", "circuito");
+        linea.put("archivo", entrada);
+        long inicio = System.nanoTime();
+        try {
+            Circuito circuito = cargar(entrada, semillaEntrada);
+            long cargado = System.nanoTime();
+            SimuladorCircuito.ResultadosSimulacion resultados = new SimuladorCircuito(circuito).simular();
+            long simulado = System.nanoTime();
+
+            linea.put("exitoso", resultados.isExitoso());
+            linea.put("mensaje", resultados.getMensaje());
+            linea.put("componentes", circuito.getComponentes().size());
+            linea.put("cargaMs", (cargado - inicio) / 1e6);
+            linea.put("simulacionMs", (simulado - cargado) / 1e6);
+            if (resultados.isExitoso()) {
+                escribirMedicion(linea, resultados.getMedicion());
+                ArrayNode voltajes = linea.putArray("voltajesNodos");
+                for (double v : resultados.getVoltajesNodos().toArray()) {
+                    voltajes.add(v);
+                }
+                ArrayNode medidores = linea.putArray("medidores");
+                for (Componente componente : circuito.getComponentes()) {
+                    if (componente instanceof Voltimetro || componente instanceof Amperimetro) {
+                        ObjectNode medidor = medidores.addObject();
+                        medidor.put("id", componente.getId());
+                        medidor.put("nombre", componente.getNombre());
+                        medidor.put("lectura", componente.getValorPrincipal());
+                        medidor.put("unidad", componente.getUnidad());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            linea.put("exitoso", false);
+            linea.put("mensaje", "Error al cargar: " + e.getMessage());
+            linea.put("cargaMs", (System.nanoTime() - inicio) / 1e6);
+        } catch (Throwable e) {
+            // StackOverflowError al leer un .cir antiguo muy grande, OutOfMemoryError con un circuito enorme:
+            // línea nueva, sin los resultados a medio escribir
+            ObjectNode error = mapper.createObjectNode();
+            error.put("tipo", "circuito");
+            error.put("archivo", entrada);
+            error.put("exitoso", false);
+            error.put("mensaje", "Error en simulación: " + e);
+            return error;
+        }
+        return linea;
+    }
+
+    /**
+     * Tamaño del sistema y milisegundos y bytes reservados de cada fase de la simulación
+     */
+    private static void escribirMedicion(ObjectNode linea, MedicionSimulacion medicion) {
+        linea.put("dimension", medicion.getDimension());
+        linea.put("noCeros", medicion.getNoCeros());
+        linea.put("noCerosFactores", medicion.getNoCerosFactores());
+        ObjectNode fases = linea.putObject("fases");
+        for (Fase fase : Fase.values()) {
+            ObjectNode nodo = fases.putObject(fase.name());
+            nodo.put("ms", medicion.getMilisegundos(fase));
+            nodo.put("bytes", medicion.getBytes(fase));
+        }
+    }
+
+    private Circuito cargar(String entrada, long semillaEntrada) throws IOException, ClassNotFoundException {
+        if (entrada.startsWith(PREFIJO_GENERADO)) {
+            String[] partes = entrada.substring(PREFIJO_GENERADO.length()).split(":");
+            return GeneradorCircuitos.crear(partes[0], Integer.parseInt(partes[1]), semillaEntrada);
+        }
+        return controlador.cargarCircuito(entrada);
+    }
+
+    private boolean escribir(ObjectNode linea) {
+        try {
+            String json = mapper.writeValueAsString(linea);
+            synchronized (salida) {
+                salida.write(json);
+                salida.write('\n');
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error al escribir resultados: " + e.getMessage());
+            return false;
+        }
+    }
+}
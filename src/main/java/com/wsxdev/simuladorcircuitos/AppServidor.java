@@ -0,0 +1,48 @@
+package com.wsxdev.simuladorcircuitos;
+
+import com.wsxdev.simuladorcircuitos.servicio.ServidorSimulacion;
+
+/**
+ * Servicio HTTP de simulación en localhost, sin interfaz gráfica.
+ *
+ * Uso: AppServidor [--puerto 8080] [--limite N] [--espera ms]
+ * --limite es el máximo de simulaciones simultáneas (por defecto, los procesadores disponibles) y
+ * --espera cuánto aguarda una petición un lugar libre antes de recibir 503.
+ */
+public class AppServidor {
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int puerto = 8080;
+        int limite = Runtime.getRuntime().availableProcessors();
+        long espera = 10_000;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--puerto": puerto = Integer.parseInt(args[++i]); break;
+                    case "--limite": limite = Integer.parseInt(args[++i]); break;
+                    case "--espera": espera = Long.parseLong(args[++i]); break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (limite < 1) throw new IllegalArgumentException("--limite debe ser al menos 1");
+        } catch (RuntimeException e) {
+            System.err.println("Error en argumentos: " + e.getMessage());
+            System.err.println("Uso: AppServidor [--puerto 8080] [--limite N] [--espera ms]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            ServidorSimulacion servidor = new ServidorSimulacion(puerto, limite, espera);
+            servidor.iniciar();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> servidor.detener(2)));
+            System.err.printf("Servicio de simulación en http://localhost:%d/simular (límite %d)%n",
+                    servidor.getPuerto(), limite);
+        } catch (Exception e) {
+            System.err.println("Error al iniciar el servicio: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.wsxdev.simuladorcircuitos.controlador;
 
 import com.wsxdev.simuladorcircuitos.modelo.*;
 import com.wsxdev.simuladorcircuitos.persistencia.*;
+import com.wsxdev.simuladorcircuitos.simulacion.BarridoParametrico;
+import com.wsxdev.simuladorcircuitos.simulacion.ControlSimulacion;
+import com.wsxdev.simuladorcircuitos.simulacion.ParametroBarrido;
+import com.wsxdev.simuladorcircuitos.simulacion.ResultadoBarrido;
+import com.wsxdev.simuladorcircuitos.simulacion.ResultadoSensibilidad;
 import com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito;
 
 import java.io.*;
@@ -14,10 +19,12 @@ public class CircuitoControlador {
 
     private final ICircuitos dao;
     private final SimuladorCircuito simulador;
+    private final BarridoParametrico barrido;
 
     public CircuitoControlador() {
         dao = new Circuitos();
         simulador = new SimuladorCircuito();
+        barrido = new BarridoParametrico();
     }
 
     /**
@@ -59,6 +66,56 @@ public class CircuitoControlador {
         simulador.simular(circuito);
     }
     
+    /**
+     * Ejecuta la simulación con cancelación, tiempo límite y avance según el control
+     */
+    public void simularCircuito(Circuito circuito, ControlSimulacion control) throws Exception {
+        simulador.simular(circuito, control);
+    }
+    
+    /**
+     * Ranking de sensibilidad de la lectura de un medidor respecto de los valores de los componentes
+     */
+    public ResultadoSensibilidad calcularSensibilidades(Circuito circuito, Componente medidor) {
+        return calcularSensibilidades(circuito, medidor, ControlSimulacion.NINGUNO);
+    }
+    
+    /**
+     * Ranking de sensibilidad con cancelación, tiempo límite y avance según el control
+     */
+    public ResultadoSensibilidad calcularSensibilidades(Circuito circuito, Componente medidor, ControlSimulacion control) {
+        try {
+            simulador.simular(circuito, control); // Sin cambios desde la última simulación no vuelve a resolver
+        } catch (Exception e) {
+            return new ResultadoSensibilidad(false, e.getMessage());
+        }
+        return simulador.calcularSensibilidades(medidor, control);
+    }
+    
+    /**
+     * Barre un parámetro de un componente sobre una lista de valores, sin modificar el circuito
+     */
+    public ResultadoBarrido barrerParametro(Circuito circuito, Componente componente,
+                                            ParametroBarrido parametro, double[] valores) {
+        return barrerParametro(circuito, componente, parametro, valores, ControlSimulacion.NINGUNO);
+    }
+    
+    /**
+     * Barre un parámetro con cancelación y tiempo límite según el control
+     */
+    public ResultadoBarrido barrerParametro(Circuito circuito, Componente componente,
+                                            ParametroBarrido parametro, double[] valores, ControlSimulacion control) {
+        return barrido.barrer(circuito, componente, parametro, valores, control);
+    }
+    
+    /**
+     * Barre un parámetro de un componente en puntos equiespaciados de inicio a fin
+     */
+    public ResultadoBarrido barrerParametro(Circuito circuito, Componente componente,
+                                            ParametroBarrido parametro, double inicio, double fin, int puntos) {
+        return barrerParametro(circuito, componente, parametro, BarridoParametrico.espaciarLinealmente(inicio, fin, puntos));
+    }
+    
     /**
      * Valida que el circuito sea válido para simulación
      */
@@ -0,0 +1,219 @@
+package com.wsxdev.simuladorcircuitos.generador;
+
+import com.wsxdev.simuladorcircuitos.modelo.*;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Circuitos sintéticos para pruebas de escala: escaleras, grillas, grafos dispersos aleatorios y bloques
+ * replicados. Con la misma semilla se obtiene la misma topología y los mismos valores (los ids de los
+ * componentes sí son nuevos). Los componentes se ubican en una cuadrícula para poder dibujarlos.
+ *
+ * Un nodo del circuito es un grupo de terminales conectados: el generador los encadena (cada terminal
+ * nuevo se conecta al último del nodo) para que ningún punto acumule miles de conexiones.
+ */
+public final class GeneradorCircuitos {
+    private static final int SEPARACION = 100;         // Píxeles entre componentes
+    private static final int COLUMNAS_LIENZO = 100;    // Componentes por fila en el lienzo
+    private static final double VOLTAJE = 10.0;
+
+    private GeneradorCircuitos() {
+    }
+
+    /**
+     * Circuito del tipo indicado ("escalera", "grilla" o "aleatorio") con aproximadamente ese número de
+     * nodos, tierra incluida
+     */
+    public static Circuito crear(String tipo, int nodos, long semilla) {
+        switch (tipo) {
+            case "escalera":
+                return escalera(Math.max(1, nodos - 2));
+            case "grilla": {
+                int lado = Math.max(2, (int) Math.ceil(Math.sqrt(nodos)));
+                return grilla(lado, lado);
+            }
+            case "aleatorio":
+                // Árbol más un 2 % de aristas: cada arista extra de un grafo aleatorio agrega mucho relleno a LU
+                return aleatorio(Math.max(2, nodos), nodos + nodos / 50, 0.02, Math.max(1, nodos / 1000), semilla);
+            default:
+                throw new IllegalArgumentException("Tipo de circuito desconocido: " + tipo);
+        }
+    }
+
+    /**
+     * Escalera resistiva: una fuente y, por peldaño, una resistencia en serie de 10 Ω y otra de 1 kΩ a
+     * tierra; tiene peldanos + 2 nodos
+     */
+    public static Circuito escalera(int peldanos) {
+        Circuito circuito = new Circuito("escalera-" + peldanos);
+        Lienzo lienzo = new Lienzo(circuito);
+        FuenteVoltaje fuente = lienzo.fuente(VOLTAJE);
+        PuntoConexion anterior = fuente.getTerminalPositivo();
+        PuntoConexion tierra = fuente.getTerminalNegativo();
+        for (int i = 0; i < peldanos; i++) {
+            Resistencia serie = lienzo.resistencia(10.0);
+            Resistencia paralelo = lienzo.resistencia(1000.0);
+            circuito.conectarPuntos(anterior, serie.getTerminal1());
+            circuito.conectarPuntos(serie.getTerminal2(), paralelo.getTerminal1());
+            circuito.conectarPuntos(tierra, paralelo.getTerminal2());
+            anterior = serie.getTerminal2();
+            tierra = paralelo.getTerminal2();
+        }
+        return circuito;
+    }
+
+    /**
+     * Grilla de filas × columnas nodos unidos por resistencias de 1 kΩ a sus vecinos, alimentada por una
+     * fuente entre dos esquinas opuestas
+     */
+    public static Circuito grilla(int filas, int columnas) {
+        Circuito circuito = new Circuito("grilla-" + filas + "x" + columnas);
+        Lienzo lienzo = new Lienzo(circuito);
+        PuntoConexion[] ultimos = new PuntoConexion[filas * columnas];
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                int nodo = f * columnas + c;
+                if (c + 1 < columnas) {
+                    Resistencia r = lienzo.resistencia(1000.0);
+                    lienzo.unir(ultimos, nodo, r.getTerminal1());
+                    lienzo.unir(ultimos, nodo + 1, r.getTerminal2());
+                }
+                if (f + 1 < filas) {
+                    Resistencia r = lienzo.resistencia(1000.0);
+                    lienzo.unir(ultimos, nodo, r.getTerminal1());
+                    lienzo.unir(ultimos, nodo + columnas, r.getTerminal2());
+                }
+            }
+        }
+        FuenteVoltaje fuente = lienzo.fuente(VOLTAJE);
+        lienzo.unir(ultimos, 0, fuente.getTerminalPositivo());
+        lienzo.unir(ultimos, ultimos.length - 1, fuente.getTerminalNegativo());
+        return circuito;
+    }
+
+    /**
+     * Grafo disperso aleatorio y conexo: un árbol generador al azar más aristas extra hasta completar
+     * el total pedido. Cada arista es una resistencia (100 Ω a 100 kΩ, log-uniforme) o, con la fracción
+     * indicada, un LED con su resistencia en serie. Las fuentes van de nodos distintos al nodo 0, así nunca
+     * forman un lazo de fuentes.
+     */
+    public static Circuito aleatorio(int nodos, int aristas, double fraccionLeds, int fuentes, long semilla) {
+        if (nodos < 2) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 nodos");
+        }
+        SplittableRandom azar = new SplittableRandom(semilla);
+        Circuito circuito = new Circuito("aleatorio-" + nodos + "-" + semilla);
+        Lienzo lienzo = new Lienzo(circuito);
+        PuntoConexion[] ultimos = new PuntoConexion[nodos];
+        for (int a = 0; a < Math.max(aristas, nodos - 1); a++) {
+            int i, j;
+            if (a < nodos - 1) {
+                i = a + 1;                  // Árbol: cada nodo nuevo cuelga de uno anterior
+                j = azar.nextInt(i);
+            } else {
+                i = azar.nextInt(nodos);
+                j = azar.nextInt(nodos - 1);
+                if (j >= i) j++;
+            }
+            double resistencia = 100.0 * Math.pow(1000.0, azar.nextDouble());
+            if (azar.nextDouble() < fraccionLeds) {
+                Led led = lienzo.led();
+                Resistencia serie = lienzo.resistencia(resistencia);
+                circuito.conectarPuntos(led.getCatodo(), serie.getTerminal1());
+                boolean directo = azar.nextBoolean();
+                lienzo.unir(ultimos, directo ? i : j, led.getAnodo());
+                lienzo.unir(ultimos, directo ? j : i, serie.getTerminal2());
+            } else {
+                Resistencia r = lienzo.resistencia(resistencia);
+                lienzo.unir(ultimos, i, r.getTerminal1());
+                lienzo.unir(ultimos, j, r.getTerminal2());
+            }
+        }
+        int totalFuentes = Math.min(fuentes, nodos - 1);
+        for (int k = 0; k < totalFuentes; k++) {
+            int nodo = 1 + (int) ((long) k * (nodos - 1) / totalFuentes);
+            FuenteVoltaje fuente = lienzo.fuente(1.0 + 11.0 * azar.nextDouble());
+            lienzo.unir(ultimos, nodo, fuente.getTerminalPositivo());
+            lienzo.unir(ultimos, 0, fuente.getTerminalNegativo());
+        }
+        return circuito;
+    }
+
+    /**
+     * Junta copias independientes de un bloque en un solo circuito (cada copia es una isla con su propia
+     * tierra). El bloque recibe un generador aleatorio propio, derivado de la semilla, y las copias se
+     * desplazan en el lienzo para no superponerse.
+     */
+    public static Circuito replicar(Function<SplittableRandom, Circuito> bloque, int copias, long semilla) {
+        Circuito circuito = new Circuito("replicado-" + copias);
+        SplittableRandom azar = new SplittableRandom(semilla);
+        int desplazamientoY = 0;
+        for (int copia = 0; copia < copias; copia++) {
+            Circuito parte = bloque.apply(azar.split());
+            int alto = 0;
+            for (Componente componente : parte.getComponentes()) {
+                componente.setY(componente.getY() + desplazamientoY);
+                alto = Math.max(alto, componente.getY() - desplazamientoY);
+                circuito.agregarComponente(componente);
+            }
+            for (Conexion conexion : parte.getConexiones()) {
+                circuito.agregarConexion(conexion);
+            }
+            desplazamientoY += alto + SEPARACION;
+        }
+        return circuito;
+    }
+
+    /**
+     * Crea componentes en posiciones sucesivas del lienzo y encadena los terminales de cada nodo
+     */
+    private static final class Lienzo {
+        private final Circuito circuito;
+        private int siguiente;
+
+        Lienzo(Circuito circuito) {
+            this.circuito = circuito;
+        }
+
+        private int x() {
+            return SEPARACION * (siguiente % COLUMNAS_LIENZO);
+        }
+
+        private int y() {
+            return SEPARACION * (siguiente / COLUMNAS_LIENZO);
+        }
+
+        private <T extends Componente> T agregar(T componente) {
+            circuito.agregarComponente(componente);
+            siguiente++;
+            return componente;
+        }
+
+        Resistencia resistencia(double valor) {
+            Resistencia r = agregar(new Resistencia(x(), y(), 0));
+            r.setResistencia(valor);
+            return r;
+        }
+
+        FuenteVoltaje fuente(double voltaje) {
+            FuenteVoltaje f = agregar(new FuenteVoltaje(x(), y(), 0));
+            f.setVoltaje(voltaje);
+            return f;
+        }
+
+        Led led() {
+            return agregar(new Led(x(), y(), 0));
+        }
+
+        /**
+         * Agrega el terminal al nodo conectándolo al último terminal que se le unió
+         */
+        void unir(PuntoConexion[] ultimos, int nodo, PuntoConexion terminal) {
+            if (ultimos[nodo] != null) {
+                circuito.conectarPuntos(ultimos[nodo], terminal);
+            }
+            ultimos[nodo] = terminal;
+        }
+    }
+}
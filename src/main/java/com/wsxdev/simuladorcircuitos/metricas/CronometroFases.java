@@ -0,0 +1,80 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Acumula tiempo (System.nanoTime) y bytes reservados en el heap por fase. Cada marca cierra la fase
+ * que terminó desde la marca anterior, así que medir cuesta dos lecturas por fase y no reserva memoria.
+ * No es seguro entre hilos: cada hilo usa su propio cronómetro y después se suman.
+ */
+public final class CronometroFases {
+    private static final com.sun.management.ThreadMXBean MEMORIA_HILOS = memoriaHilos();
+
+    private final long[] nanos = new long[Fase.values().length];
+    private final long[] bytes = new long[Fase.values().length];
+    private final long creado;
+    private long ultimaMarcaNanos;
+    private long ultimaMarcaBytes;
+
+    public CronometroFases() {
+        creado = System.nanoTime();
+        reiniciarMarca();
+    }
+
+    /**
+     * Empieza a contar desde ahora; lo que pasó desde la última marca no se atribuye a ninguna fase
+     */
+    public void reiniciarMarca() {
+        ultimaMarcaNanos = System.nanoTime();
+        ultimaMarcaBytes = bytesAsignados();
+    }
+
+    /**
+     * Atribuye a la fase lo transcurrido desde la marca anterior
+     */
+    public void marcar(Fase fase) {
+        long ahoraNanos = System.nanoTime();
+        long ahoraBytes = bytesAsignados();
+        nanos[fase.ordinal()] += ahoraNanos - ultimaMarcaNanos;
+        bytes[fase.ordinal()] += ahoraBytes - ultimaMarcaBytes;
+        ultimaMarcaNanos = ahoraNanos;
+        ultimaMarcaBytes = ahoraBytes;
+    }
+
+    /**
+     * Suma las fases de otro cronómetro (por ejemplo, el de una isla resuelta en otro hilo)
+     */
+    public void sumar(CronometroFases otro) {
+        for (int f = 0; f < nanos.length; f++) {
+            nanos[f] += otro.nanos[f];
+            bytes[f] += otro.bytes[f];
+        }
+    }
+
+    /**
+     * Bytes reservados hasta ahora por el hilo actual, o 0 si la JVM no lo informa
+     */
+    static long bytesAsignados() {
+        if (MEMORIA_HILOS == null) {
+            return 0;
+        }
+        long bytes = MEMORIA_HILOS.getCurrentThreadAllocatedBytes();
+        return bytes < 0 ? 0 : bytes; // -1 en hilos virtuales
+    }
+
+    private static com.sun.management.ThreadMXBean memoriaHilos() {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        if (hilos instanceof com.sun.management.ThreadMXBean memoria && memoria.isThreadAllocatedMemorySupported()
+                && memoria.isThreadAllocatedMemoryEnabled()) {
+            return memoria;
+        }
+        return null;
+    }
+
+    public long getNanos(Fase fase) { return nanos[fase.ordinal()]; }
+    public long getBytes(Fase fase) { return bytes[fase.ordinal()]; }
+    public long getNanosDesdeCreacion() { return System.nanoTime() - creado; }
+    long[] getNanos() { return nanos.clone(); }
+    long[] getBytes() { return bytes.clone(); }
+}
@@ -0,0 +1,36 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR de abrir o guardar un archivo .cir desde la ventana principal
+ */
+@Name("com.wsxdev.simuladorcircuitos.Archivo")
+@Label("Abrir o guardar circuito")
+@Category({"Simulador de circuitos", "Archivos"})
+@Description("Abrir y guardar un archivo .cir en la ventana principal")
+public class EventoArchivo extends Event {
+    @Label("Operación")
+    public String operacion;
+
+    @Label("Ruta")
+    public String ruta;
+
+    @Label("Tamaño")
+    @DataAmount
+    public long bytes;
+
+    @Label("Componentes")
+    public int componentes;
+
+    @Label("Conexiones")
+    public int conexiones;
+
+    @Label("Exitosa")
+    public boolean exitosa;
+}
@@ -0,0 +1,33 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR de una lectura o escritura del archivo de circuitos guardados
+ */
+@Name("com.wsxdev.simuladorcircuitos.Persistencia")
+@Label("Persistencia")
+@Category({"Simulador de circuitos", "Archivos"})
+@Description("Circuitos.guardar y Circuitos.cargarTodos")
+public class EventoPersistencia extends Event {
+    @Label("Operación")
+    public String operacion;
+
+    @Label("Archivo")
+    public String archivo;
+
+    @Label("Tamaño")
+    @DataAmount
+    public long bytes;
+
+    @Label("Circuitos")
+    public int circuitos;
+
+    @Label("Exitosa")
+    public boolean exitosa;
+}
@@ -0,0 +1,28 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR de un cuadro dibujado por el panel del circuito. Se emite en cada repintado, por eso
+ * no guarda la pila.
+ */
+@Name("com.wsxdev.simuladorcircuitos.Pintado")
+@Label("Pintado del circuito")
+@Category({"Simulador de circuitos", "Interfaz"})
+@Description("Un cuadro de PanelCircuito.paintComponent")
+@StackTrace(false)
+public class EventoPintado extends Event {
+    @Label("Componentes")
+    public int componentes;
+
+    @Label("Conexiones")
+    public int conexiones;
+
+    @Label("Puntos de conexión")
+    public boolean puntosConexion;
+}
@@ -0,0 +1,92 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR de una simulación, con el tamaño del sistema y la duración de cada {@link Fase}.
+ * Sin una grabación activa no cuesta casi nada; los campos solo se llenan si el evento se va a guardar.
+ */
+@Name("com.wsxdev.simuladorcircuitos.Simulacion")
+@Label("Simulación")
+@Category({"Simulador de circuitos", "Simulación"})
+@Description("Una ejecución de SimuladorCircuito.simular()")
+@StackTrace(false)
+public class EventoSimulacion extends Event {
+    @Label("Componentes")
+    public int componentes;
+
+    @Label("Islas")
+    public int islas;
+
+    @Label("Dimensión")
+    public int dimension;
+
+    @Label("No ceros")
+    public long noCeros;
+
+    @Label("No ceros de L + U")
+    public long noCerosFactores;
+
+    @Label("Exitosa")
+    public boolean exitosa;
+
+    @Label("Mensaje")
+    public String mensaje;
+
+    @Label("Descubrir nodos")
+    @Timespan(Timespan.NANOSECONDS)
+    public long descubrirNodos;
+
+    @Label("Asignar índices")
+    @Timespan(Timespan.NANOSECONDS)
+    public long asignarIndices;
+
+    @Label("Estampar")
+    @Timespan(Timespan.NANOSECONDS)
+    public long estampar;
+
+    @Label("Resolver")
+    @Timespan(Timespan.NANOSECONDS)
+    public long resolver;
+
+    @Label("Calcular corrientes")
+    @Timespan(Timespan.NANOSECONDS)
+    public long calcularCorrientes;
+
+    @Label("Actualizar vista")
+    @Timespan(Timespan.NANOSECONDS)
+    public long actualizarVista;
+
+    @Label("Memoria reservada")
+    @DataAmount
+    public long bytesAsignados;
+
+    /**
+     * Copia la medición de la simulación (si la hubo) en los campos del evento
+     */
+    public void setMedicion(MedicionSimulacion medicion) {
+        if (medicion == null) {
+            return;
+        }
+        islas = medicion.getIslas();
+        dimension = medicion.getDimension();
+        noCeros = medicion.getNoCeros();
+        noCerosFactores = medicion.getNoCerosFactores();
+        descubrirNodos = medicion.getNanos(Fase.DESCUBRIR_NODOS);
+        asignarIndices = medicion.getNanos(Fase.ASIGNAR_INDICES);
+        estampar = medicion.getNanos(Fase.ESTAMPAR);
+        resolver = medicion.getNanos(Fase.RESOLVER);
+        calcularCorrientes = medicion.getNanos(Fase.CALCULAR_CORRIENTES);
+        actualizarVista = medicion.getNanos(Fase.ACTUALIZAR_VISTA);
+        for (Fase fase : Fase.values()) {
+            bytesAsignados += medicion.getBytes(fase);
+        }
+    }
+}
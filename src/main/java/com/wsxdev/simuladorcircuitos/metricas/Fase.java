@@ -0,0 +1,22 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+/**
+ * Fases numeradas de {@link com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito#simular()}.
+ * La matriz y el vector independiente se estampan en la misma pasada, así que comparten fase.
+ */
+public enum Fase {
+    DESCUBRIR_NODOS("Descubrir nodos"),       // 1. Separar islas y agrupar terminales en nodos
+    ASIGNAR_INDICES("Asignar índices"),       // 2. Índices densos y elementos de cada isla
+    ESTAMPAR("Estampar matriz y RHS"),        // 3-4. Patrón del sistema y valores de matriz y vector
+    RESOLVER("Resolver"),                     // 5. Factorización, Woodbury, Newton o método iterativo
+    CALCULAR_CORRIENTES("Calcular corrientes"), // 6. Corriente de cada elemento
+    ACTUALIZAR_VISTA("Actualizar vista");     // 7. Publicar resultados en componentes y cables
+
+    private final String descripcion;
+
+    Fase(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() { return descripcion; }
+}
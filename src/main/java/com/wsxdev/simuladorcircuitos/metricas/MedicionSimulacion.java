@@ -0,0 +1,61 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+/**
+ * Tiempos y memoria por fase de una simulación, con el tamaño del sistema resuelto. Con varias islas,
+ * las fases 3 a 7 suman lo de todas (si se resolvieron en paralelo pueden superar el tiempo total) y
+ * las dimensiones son la suma de los sistemas de cada isla.
+ */
+public final class MedicionSimulacion {
+    private final long[] nanos;
+    private final long[] bytes;
+    private final long nanosTotales;
+    private final int islas;
+    private final int dimension;
+    private final long noCeros;
+    private final long noCerosFactores;
+
+    public MedicionSimulacion(CronometroFases fases, long nanosTotales, int islas, int dimension,
+                              long noCeros, long noCerosFactores) {
+        this.nanos = fases.getNanos();
+        this.bytes = fases.getBytes();
+        this.nanosTotales = nanosTotales;
+        this.islas = islas;
+        this.dimension = dimension;
+        this.noCeros = noCeros;
+        this.noCerosFactores = noCerosFactores;
+    }
+
+    /**
+     * Fase que más tiempo llevó
+     */
+    public Fase getFaseMasLenta() {
+        Fase lenta = Fase.values()[0];
+        for (Fase fase : Fase.values()) {
+            if (nanos[fase.ordinal()] > nanos[lenta.ordinal()]) {
+                lenta = fase;
+            }
+        }
+        return lenta;
+    }
+
+    // Getters
+    public long getNanos(Fase fase) { return nanos[fase.ordinal()]; }
+    public double getMilisegundos(Fase fase) { return nanos[fase.ordinal()] / 1e6; }
+    public long getBytes(Fase fase) { return bytes[fase.ordinal()]; }
+    public long getNanosTotales() { return nanosTotales; }
+    public double getMilisegundosTotales() { return nanosTotales / 1e6; }
+    public int getIslas() { return islas; }
+    public int getDimension() { return dimension; }
+    public long getNoCeros() { return noCeros; }
+    public long getNoCerosFactores() { return noCerosFactores; } // L + U; 0 si no se factorizó
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("%.3f ms, n=%d, nnz=%d", getMilisegundosTotales(),
+                dimension, noCeros));
+        for (Fase fase : Fase.values()) {
+            sb.append(String.format("; %s %.3f ms %d B", fase.getDescripcion(), getMilisegundos(fase), getBytes(fase)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Fuente de datos del indicador de rendimiento de la interfaz: tiempos de pintado (los registra el
+ * panel del circuito), la última medición de simulación de {@link RegistroMetricas}, el heap y las
+ * pausas del recolector. Quien escribe publica valores volátiles y {@link #instantanea()} solo los lee,
+ * así que consultar no bloquea ni al hilo de eventos ni a los hilos de simulación.
+ */
+public final class MonitorRendimiento {
+    private static final MonitorRendimiento GLOBAL = new MonitorRendimiento();
+    private static final long VENTANA_CUADROS = 1_000_000_000L; // Los cuadros por segundo se cuentan en 1 s
+    private static final int CUADROS_RECORDADOS = 256;
+
+    private final List<GarbageCollectorMXBean> recolectores = ManagementFactory.getGarbageCollectorMXBeans();
+
+    // Solo los escribe el hilo que pinta; se publican en los campos volátiles
+    private final long[] finesCuadros = new long[CUADROS_RECORDADOS];
+    private int siguienteCuadro;
+    private volatile long nanosUltimoCuadro;
+    private volatile long finUltimoCuadro;
+    private volatile double cuadrosPorSegundo;
+
+    public static MonitorRendimiento getGlobal() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registra un cuadro pintado; se llama siempre desde el mismo hilo (el de eventos de Swing)
+     */
+    public void registrarCuadro(long inicioNanos, long finNanos) {
+        finesCuadros[siguienteCuadro] = finNanos;
+        siguienteCuadro = (siguienteCuadro + 1) % CUADROS_RECORDADOS;
+        int enVentana = 0;
+        for (long fin : finesCuadros) {
+            if (fin != 0 && finNanos - fin < VENTANA_CUADROS) {
+                enVentana++;
+            }
+        }
+        nanosUltimoCuadro = finNanos - inicioNanos;
+        cuadrosPorSegundo = enVentana * 1e9 / VENTANA_CUADROS;
+        finUltimoCuadro = finNanos;
+    }
+
+    /**
+     * Valores actuales. Si no se pintó nada en el último segundo los cuadros por segundo son 0
+     */
+    public Instantanea instantanea() {
+        long ahora = System.nanoTime();
+        double fps = ahora - finUltimoCuadro < VENTANA_CUADROS ? cuadrosPorSegundo : 0.0;
+        long pausasGc = 0;
+        long recolecciones = 0;
+        for (GarbageCollectorMXBean recolector : recolectores) {
+            pausasGc += Math.max(0, recolector.getCollectionTime());
+            recolecciones += Math.max(0, recolector.getCollectionCount());
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return new Instantanea(ahora, RegistroMetricas.getGlobal().getUltimaMedicion(), nanosUltimoCuadro, fps,
+                heap.getUsed(), heap.getMax() > 0 ? heap.getMax() : heap.getCommitted(), pausasGc, recolecciones);
+    }
+
+    /**
+     * Valores del monitor en un momento dado; las pausas del recolector son acumuladas desde el arranque
+     */
+    public static final class Instantanea {
+        private final long nanos;
+        private final MedicionSimulacion ultimaSimulacion;
+        private final long nanosUltimoCuadro;
+        private final double cuadrosPorSegundo;
+        private final long heapUsado;
+        private final long heapMaximo;
+        private final long milisegundosGc;
+        private final long recoleccionesGc;
+
+        Instantanea(long nanos, MedicionSimulacion ultimaSimulacion, long nanosUltimoCuadro, double cuadrosPorSegundo,
+                    long heapUsado, long heapMaximo, long milisegundosGc, long recoleccionesGc) {
+            this.nanos = nanos;
+            this.ultimaSimulacion = ultimaSimulacion;
+            this.nanosUltimoCuadro = nanosUltimoCuadro;
+            this.cuadrosPorSegundo = cuadrosPorSegundo;
+            this.heapUsado = heapUsado;
+            this.heapMaximo = heapMaximo;
+            this.milisegundosGc = milisegundosGc;
+            this.recoleccionesGc = recoleccionesGc;
+        }
+
+        public long getNanos() { return nanos; }
+        public MedicionSimulacion getUltimaSimulacion() { return ultimaSimulacion; } // null si no hubo ninguna
+        public long getNanosUltimoCuadro() { return nanosUltimoCuadro; }
+        public double getCuadrosPorSegundo() { return cuadrosPorSegundo; }
+        public long getHeapUsado() { return heapUsado; }
+        public long getHeapMaximo() { return heapMaximo; }
+        public long getMilisegundosGc() { return milisegundosGc; }
+        public long getRecoleccionesGc() { return recoleccionesGc; }
+    }
+}
@@ -0,0 +1,111 @@
+package com.wsxdev.simuladorcircuitos.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de las mediciones de todas las simulaciones del proceso: acumulados por fase y la última
+ * medición. Registrar no bloquea (contadores atómicos), porque lo usan a la vez los hilos del
+ * simulador por lotes y del servicio HTTP.
+ */
+public final class RegistroMetricas {
+    private static final RegistroMetricas GLOBAL = new RegistroMetricas();
+
+    private final LongAdder simulaciones = new LongAdder();
+    private final LongAdder nanosTotales = new LongAdder();
+    private final LongAdder[] nanos = contadores();
+    private final LongAdder[] bytes = contadores();
+    private final AtomicLong[] maximoNanos = new AtomicLong[Fase.values().length];
+    private volatile MedicionSimulacion ultimaMedicion;
+
+    public RegistroMetricas() {
+        for (int f = 0; f < maximoNanos.length; f++) {
+            maximoNanos[f] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Registro compartido donde publica {@link com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito}
+     */
+    public static RegistroMetricas getGlobal() {
+        return GLOBAL;
+    }
+
+    public void registrar(MedicionSimulacion medicion) {
+        simulaciones.increment();
+        nanosTotales.add(medicion.getNanosTotales());
+        for (Fase fase : Fase.values()) {
+            int f = fase.ordinal();
+            nanos[f].add(medicion.getNanos(fase));
+            bytes[f].add(medicion.getBytes(fase));
+            maximoNanos[f].accumulateAndGet(medicion.getNanos(fase), Math::max);
+        }
+        ultimaMedicion = medicion;
+    }
+
+    /**
+     * Acumulados de una fase desde el inicio o el último reinicio
+     */
+    public EstadisticasFase getEstadisticas(Fase fase) {
+        int f = fase.ordinal();
+        return new EstadisticasFase(fase, simulaciones.sum(), nanos[f].sum(), maximoNanos[f].get(), bytes[f].sum());
+    }
+
+    public void reiniciar() {
+        simulaciones.reset();
+        nanosTotales.reset();
+        for (int f = 0; f < nanos.length; f++) {
+            nanos[f].reset();
+            bytes[f].reset();
+            maximoNanos[f].set(0);
+        }
+        ultimaMedicion = null;
+    }
+
+    private static LongAdder[] contadores() {
+        LongAdder[] contadores = new LongAdder[Fase.values().length];
+        for (int f = 0; f < contadores.length; f++) {
+            contadores[f] = new LongAdder();
+        }
+        return contadores;
+    }
+
+    public long getSimulaciones() { return simulaciones.sum(); }
+    public long getNanosTotales() { return nanosTotales.sum(); }
+    public MedicionSimulacion getUltimaMedicion() { return ultimaMedicion; }
+
+    /**
+     * Acumulados de una fase en un momento dado
+     */
+    public static final class EstadisticasFase {
+        private final Fase fase;
+        private final long simulaciones;
+        private final long nanosTotales;
+        private final long nanosMaximo;
+        private final long bytesTotales;
+
+        EstadisticasFase(Fase fase, long simulaciones, long nanosTotales, long nanosMaximo, long bytesTotales) {
+            this.fase = fase;
+            this.simulaciones = simulaciones;
+            this.nanosTotales = nanosTotales;
+            this.nanosMaximo = nanosMaximo;
+            this.bytesTotales = bytesTotales;
+        }
+
+        public double getMilisegundosPromedio() {
+            return simulaciones == 0 ? 0.0 : nanosTotales / 1e6 / simulaciones;
+        }
+
+        public Fase getFase() { return fase; }
+        public long getSimulaciones() { return simulaciones; }
+        public long getNanosTotales() { return nanosTotales; }
+        public long getNanosMaximo() { return nanosMaximo; }
+        public long getBytesTotales() { return bytesTotales; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d simulaciones, %.3f ms promedio, %.3f ms máximo, %d B",
+                    fase.getDescripcion(), simulaciones, getMilisegundosPromedio(), nanosMaximo / 1e6, bytesTotales);
+        }
+    }
+}
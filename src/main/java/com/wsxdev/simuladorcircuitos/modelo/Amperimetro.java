@@ -1,9 +1,12 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 /**
  * Amperímetro - Instrumento para medir corriente
  */
 public class Amperimetro extends Componente {
+    private static final long serialVersionUID = 7182624486906286550L;
     private double corrienteMedida; // Amperios
     private double rangoMaximo; // Rango máximo de medición
     private double resistenciaInterna; // Resistencia interna del amperímetro
@@ -70,7 +73,10 @@ public class Amperimetro extends Componente {
     public double getRangoMaximo() { return rangoMaximo; }
     public void setRangoMaximo(double rangoMaximo) { this.rangoMaximo = rangoMaximo; }
     public double getResistenciaInterna() { return resistenciaInterna; }
-    public void setResistenciaInterna(double resistenciaInterna) { this.resistenciaInterna = resistenciaInterna; }
+    public void setResistenciaInterna(double resistenciaInterna) { 
+        this.resistenciaInterna = resistenciaInterna; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     
     public PuntoConexion getTerminalEntrada() {
         return puntosConexion.stream()
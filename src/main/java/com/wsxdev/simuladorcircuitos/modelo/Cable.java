@@ -1,9 +1,12 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 /**
  * Cable - Conductor eléctrico
  */
 public class Cable extends Componente {
+    private static final long serialVersionUID = 5085368574194075045L;
     private double resistencia; // Resistencia del cable (muy baja)
     private double capacidadCorriente; // Capacidad máxima de corriente
     private double longitud; // Longitud del cable en metros
@@ -33,6 +36,7 @@ public class Cable extends Componente {
     @Override
     public void setValorPrincipal(double valor) {
         this.resistencia = valor;
+        notificarCambio(TipoCambio.VALOR);
     }
     
     @Override
@@ -70,7 +74,10 @@ public class Cable extends Componente {
     
     // Getters y setters específicos
     public double getResistencia() { return resistencia; }
-    public void setResistencia(double resistencia) { this.resistencia = resistencia; }
+    public void setResistencia(double resistencia) { 
+        this.resistencia = resistencia; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     public double getCapacidadCorriente() { return capacidadCorriente; }
     public void setCapacidadCorriente(double capacidadCorriente) { this.capacidadCorriente = capacidadCorriente; }
     public double getLongitud() { return longitud; }
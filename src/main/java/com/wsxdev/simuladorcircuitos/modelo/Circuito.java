@@ -1,11 +1,21 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Representa un circuito eléctrico completo
+ * Representa un circuito eléctrico completo.
+ * Cada modificación de sus componentes o conexiones incrementa un contador de versión según su
+ * tipo (valor, posición o topología) y se reenvía a los observadores registrados.
  */
 public class Circuito implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -15,6 +25,17 @@ public class Circuito implements Serializable {
     private List<Conexion> conexiones;
     private String descripcion;
     
+    // Seguimiento de cambios (no se serializa)
+    private transient List<ObservadorCircuito> observadores;
+    private transient ObservadorCircuito reenvio;
+    private transient long versionValores;
+    private transient long versionPosicion;
+    private transient long versionTopologia;
+    
+    // Pertenencia por identidad: agregar no recorre las listas, que pueden tener millones de elementos
+    private transient Set<Componente> componentesPresentes;
+    private transient Set<Conexion> conexionesPresentes;
+    
     public Circuito() {
         this("Nuevo Circuito");
     }
@@ -24,20 +45,83 @@ public class Circuito implements Serializable {
         this.componentes = new ArrayList<>();
         this.conexiones = new ArrayList<>();
         this.descripcion = "";
+        inicializarSeguimiento();
+        indexarPertenencia();
     }
     
     public Circuito(List<Componente> componentes) {
         this("Circuito Importado");
         this.componentes = new ArrayList<>(componentes);
         this.conexiones = new ArrayList<>();
+        for (Componente componente : this.componentes) {
+            componente.setObservador(reenvio);
+        }
+        indexarPertenencia();
+    }
+    
+    private void inicializarSeguimiento() {
+        observadores = new CopyOnWriteArrayList<>();
+        reenvio = this::registrarCambio;
+    }
+    
+    private void indexarPertenencia() {
+        componentesPresentes = Collections.newSetFromMap(new IdentityHashMap<>());
+        componentesPresentes.addAll(componentes);
+        conexionesPresentes = Collections.newSetFromMap(new IdentityHashMap<>());
+        conexionesPresentes.addAll(conexiones);
+    }
+    
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        inicializarSeguimiento();
+        indexarPertenencia();
+        for (Componente componente : componentes) {
+            componente.setObservador(reenvio);
+        }
+        // Los puntos no serializan sus conexiones (ver PuntoConexion): se vuelven a enlazar aquí
+        for (Conexion conexion : conexiones) {
+            conexion.getPuntoInicio().agregarConexion(conexion);
+            conexion.getPuntoFin().agregarConexion(conexion);
+            conexion.setObservador(reenvio);
+        }
+    }
+    
+    /**
+     * Cuenta el cambio y lo reenvía a los observadores
+     */
+    private void registrarCambio(TipoCambio tipo, Object origen) {
+        switch (tipo) {
+            case VALOR:
+                versionValores++;
+                break;
+            case POSICION:
+                versionPosicion++;
+                break;
+            case TOPOLOGIA:
+                versionTopologia++;
+                break;
+        }
+        for (ObservadorCircuito observador : observadores) {
+            observador.circuitoModificado(tipo, origen);
+        }
+    }
+    
+    public void agregarObservador(ObservadorCircuito observador) {
+        observadores.add(observador);
+    }
+    
+    public void removerObservador(ObservadorCircuito observador) {
+        observadores.remove(observador);
     }
     
     /**
      * Agrega un componente al circuito
      */
     public void agregarComponente(Componente componente) {
-        if (componente != null && !componentes.contains(componente)) {
+        if (componente != null && componentesPresentes.add(componente)) {
             componentes.add(componente);
+            componente.setObservador(reenvio);
+            registrarCambio(TipoCambio.TOPOLOGIA, componente);
         }
     }
     
@@ -59,7 +143,11 @@ public class Circuito implements Serializable {
                 removerConexion(conexion);
             }
             
-            componentes.remove(componente);
+            if (componentesPresentes.remove(componente)) {
+                componentes.remove(componente);
+                componente.setObservador(null);
+                registrarCambio(TipoCambio.TOPOLOGIA, componente);
+            }
         }
     }
     
@@ -67,8 +155,10 @@ public class Circuito implements Serializable {
      * Agrega una conexión al circuito
      */
     public void agregarConexion(Conexion conexion) {
-        if (conexion != null && !conexiones.contains(conexion)) {
+        if (conexion != null && conexionesPresentes.add(conexion)) {
             conexiones.add(conexion);
+            conexion.setObservador(reenvio);
+            registrarCambio(TipoCambio.TOPOLOGIA, conexion);
         }
     }
     
@@ -77,8 +167,11 @@ public class Circuito implements Serializable {
      */
     public void removerConexion(Conexion conexion) {
         if (conexion != null) {
-            conexion.desconectar();
-            conexiones.remove(conexion);
+            if (conexionesPresentes.remove(conexion)) {
+                conexiones.remove(conexion);
+            }
+            conexion.desconectar(); // Notifica el cambio de topología
+            conexion.setObservador(null);
         }
     }
     
@@ -162,8 +255,14 @@ public class Circuito implements Serializable {
             removerConexion(conexion);
         }
         
+        for (Componente componente : componentes) {
+            componente.setObservador(null);
+        }
         componentes.clear();
         conexiones.clear();
+        componentesPresentes.clear();
+        conexionesPresentes.clear();
+        registrarCambio(TipoCambio.TOPOLOGIA, this);
     }
     
     // Getters y setters
@@ -172,6 +271,9 @@ public class Circuito implements Serializable {
     public List<Componente> getComponentes() { return new ArrayList<>(componentes); }
     public List<Conexion> getConexiones() { return new ArrayList<>(conexiones); }
     public String getDescripcion() { return descripcion; }
+    public long getVersionValores() { return versionValores; }
+    public long getVersionPosicion() { return versionPosicion; }
+    public long getVersionTopologia() { return versionTopologia; }
     public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
     
     @Override
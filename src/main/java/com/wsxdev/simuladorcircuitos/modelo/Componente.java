@@ -1,5 +1,7 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,12 +11,15 @@ import java.util.UUID;
  * Clase base para todos los componentes del circuito
  */
 public abstract class Componente implements Serializable {
+    // Fijado al valor que Java calculaba antes, para seguir leyendo los circuitos ya guardados
+    private static final long serialVersionUID = -1798928974278041708L;
     protected String id;
     protected int x, y, angulo;
     protected String tipo;
     protected List<PuntoConexion> puntosConexion;
     protected String nombre;
     protected boolean seleccionado;
+    private transient ObservadorCircuito observador; // Circuito al que pertenece
     
     public Componente(String tipo, int x, int y, int angulo) {
         this.id = UUID.randomUUID().toString();
@@ -61,21 +66,35 @@ public abstract class Componente implements Serializable {
     public void setX(int x) { 
         this.x = x; 
         actualizarPosicionesPuntosConexion();
+        notificarCambio(TipoCambio.POSICION);
     }
     
     public void setY(int y) { 
         this.y = y; 
         actualizarPosicionesPuntosConexion();
+        notificarCambio(TipoCambio.POSICION);
     }
     
     public void setAngulo(int angulo) { 
         this.angulo = angulo; 
         actualizarPosicionesPuntosConexion();
+        notificarCambio(TipoCambio.POSICION);
     }
     
     public void setNombre(String nombre) { this.nombre = nombre; }
     public void setSeleccionado(boolean seleccionado) { this.seleccionado = seleccionado; }
     
+    void setObservador(ObservadorCircuito observador) { this.observador = observador; }
+    
+    /**
+     * Avisa al circuito que contiene al componente; las subclases lo llaman desde sus setters eléctricos
+     */
+    protected void notificarCambio(TipoCambio tipo) {
+        if (observador != null) {
+            observador.circuitoModificado(tipo, this);
+        }
+    }
+    
     /**
      * Actualiza las posiciones de los puntos de conexión cuando el componente se mueve o rota
      */
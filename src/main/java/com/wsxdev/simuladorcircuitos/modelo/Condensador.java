@@ -0,0 +1,104 @@
+package com.wsxdev.simuladorcircuitos.modelo;
+
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
+/**
+ * Condensador (capacitor)
+ */
+public class Condensador extends Componente {
+    private static final long serialVersionUID = 1L;
+    private double capacitancia; // Faradios
+    private double voltajeInicial; // Voltios al comenzar el análisis transitorio
+    private double voltajeActual;
+    private double corrienteActual;
+    
+    public Condensador(int x, int y, int angulo) {
+        super("condensador", x, y, angulo);
+        this.capacitancia = 1e-6; // 1µF por defecto
+        this.voltajeInicial = 0.0;
+        this.voltajeActual = 0.0;
+        this.corrienteActual = 0.0;
+    }
+    
+    @Override
+    protected void inicializarPuntosConexion() {
+        // Terminal izquierdo
+        puntosConexion.add(new PuntoConexion("terminal1", x, y + 24, this));
+        // Terminal derecho
+        puntosConexion.add(new PuntoConexion("terminal2", x + 48, y + 24, this));
+    }
+    
+    @Override
+    public double getValorPrincipal() {
+        return capacitancia;
+    }
+    
+    @Override
+    public void setValorPrincipal(double valor) {
+        this.capacitancia = valor;
+        notificarCambio(TipoCambio.VALOR);
+    }
+    
+    @Override
+    public String getUnidad() {
+        return "F";
+    }
+    
+    /**
+     * Actualiza el estado del condensador con el resultado de la simulación
+     */
+    public void actualizarEstado(double voltaje, double corriente) {
+        this.voltajeActual = voltaje;
+        this.corrienteActual = corriente;
+    }
+    
+    /**
+     * Energía almacenada, C·V²/2
+     */
+    public double getEnergia() {
+        return 0.5 * capacitancia * voltajeActual * voltajeActual;
+    }
+    
+    // Getters y setters específicos
+    public double getCapacitancia() { return capacitancia; }
+    public void setCapacitancia(double capacitancia) { 
+        this.capacitancia = capacitancia; 
+        notificarCambio(TipoCambio.VALOR);
+    }
+    public double getVoltajeInicial() { return voltajeInicial; }
+    public void setVoltajeInicial(double voltajeInicial) { 
+        this.voltajeInicial = voltajeInicial; 
+        notificarCambio(TipoCambio.VALOR);
+    }
+    public double getVoltajeActual() { return voltajeActual; }
+    public double getCorrienteActual() { return corrienteActual; }
+    
+    /**
+     * Formatea la capacitancia con unidades apropiadas
+     */
+    public String getCapacitanciaFormateada() {
+        if (capacitancia >= 1e-3) {
+            return String.format("%.1f mF", capacitancia * 1e3);
+        } else if (capacitancia >= 1e-6) {
+            return String.format("%.1f µF", capacitancia * 1e6);
+        } else if (capacitancia >= 1e-9) {
+            return String.format("%.1f nF", capacitancia * 1e9);
+        } else {
+            return String.format("%.1f pF", capacitancia * 1e12);
+        }
+    }
+    
+    public PuntoConexion getTerminal1() {
+        return puntosConexion.stream()
+                .filter(p -> p.getNombre().equals("terminal1"))
+                .findFirst()
+                .orElse(null);
+    }
+    
+    public PuntoConexion getTerminal2() {
+        return puntosConexion.stream()
+                .filter(p -> p.getNombre().equals("terminal2"))
+                .findFirst()
+                .orElse(null);
+    }
+}
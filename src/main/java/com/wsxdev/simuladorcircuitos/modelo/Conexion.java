@@ -1,5 +1,7 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 import java.io.Serializable;
 import java.awt.Color;
 import java.util.UUID;
@@ -8,6 +10,7 @@ import java.util.UUID;
  * Representa una conexión (cable) entre dos puntos de conexión
  */
 public class Conexion implements Serializable {
+    private static final long serialVersionUID = -9883027783475782L;
     private String id;
     private PuntoConexion puntoInicio;
     private PuntoConexion puntoFin;
@@ -16,6 +19,7 @@ public class Conexion implements Serializable {
     private Color color;
     private boolean seleccionada;
     private boolean activa; // Para indicar si hay flujo de corriente
+    private transient ObservadorCircuito observador; // Circuito al que pertenece
     
     public Conexion(PuntoConexion puntoInicio, PuntoConexion puntoFin) {
         this.id = UUID.randomUUID().toString();
@@ -106,8 +110,13 @@ public class Conexion implements Serializable {
     public void desconectar() {
         puntoInicio.removerConexion(this);
         puntoFin.removerConexion(this);
+        if (observador != null) {
+            observador.circuitoModificado(TipoCambio.TOPOLOGIA, this);
+        }
     }
     
+    void setObservador(ObservadorCircuito observador) { this.observador = observador; }
+    
     /**
      * Actualiza el color según el estado de la corriente
      */
@@ -1,9 +1,12 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 /**
  * Fuente de voltaje DC
  */
 public class FuenteVoltaje extends Componente {
+    private static final long serialVersionUID = 6679361065992936044L;
     private double voltaje; // Voltios
     private boolean esAC; // false = DC, true = AC
     private double frecuencia; // Hz (solo para AC)
@@ -31,6 +34,7 @@ public class FuenteVoltaje extends Componente {
     @Override
     public void setValorPrincipal(double valor) {
         this.voltaje = valor;
+        notificarCambio(TipoCambio.VALOR);
     }
     
     @Override
@@ -40,11 +44,20 @@ public class FuenteVoltaje extends Componente {
     
     // Getters y setters específicos
     public double getVoltaje() { return voltaje; }
-    public void setVoltaje(double voltaje) { this.voltaje = voltaje; }
+    public void setVoltaje(double voltaje) { 
+        this.voltaje = voltaje; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     public boolean isEsAC() { return esAC; }
-    public void setEsAC(boolean esAC) { this.esAC = esAC; }
+    public void setEsAC(boolean esAC) { 
+        this.esAC = esAC; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     public double getFrecuencia() { return frecuencia; }
-    public void setFrecuencia(double frecuencia) { this.frecuencia = frecuencia; }
+    public void setFrecuencia(double frecuencia) { 
+        this.frecuencia = frecuencia; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     
     public PuntoConexion getTerminalPositivo() {
         return puntosConexion.stream()
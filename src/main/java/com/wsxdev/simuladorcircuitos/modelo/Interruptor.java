@@ -0,0 +1,91 @@
+package com.wsxdev.simuladorcircuitos.modelo;
+
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
+/**
+ * Interruptor de dos terminales. Cerrado es una resistencia muy baja y abierto prácticamente no conduce;
+ * el simulador guarda una factorización por cada combinación de estados de los interruptores, así que
+ * abrir y cerrar no obliga a recompilar el circuito.
+ */
+public class Interruptor extends Componente {
+    private static final long serialVersionUID = 1L;
+    private boolean cerrado;
+    private double resistenciaCerrado; // Ohmios con el interruptor cerrado
+    private double corrienteActual;
+
+    public Interruptor(int x, int y, int angulo) {
+        super("interruptor", x, y, angulo);
+        this.cerrado = false;
+        this.resistenciaCerrado = 0.001; // 1mΩ por defecto
+        this.corrienteActual = 0.0;
+    }
+
+    @Override
+    protected void inicializarPuntosConexion() {
+        // Terminal izquierdo
+        puntosConexion.add(new PuntoConexion("terminal1", x, y + 24, this));
+        // Terminal derecho
+        puntosConexion.add(new PuntoConexion("terminal2", x + 48, y + 24, this));
+    }
+
+    /**
+     * 1 si está cerrado, 0 si está abierto
+     */
+    @Override
+    public double getValorPrincipal() {
+        return cerrado ? 1.0 : 0.0;
+    }
+
+    @Override
+    public void setValorPrincipal(double valor) {
+        setCerrado(valor != 0.0);
+    }
+
+    @Override
+    public String getUnidad() {
+        return "";
+    }
+
+    /**
+     * Cambia de abierto a cerrado o al revés
+     */
+    public void alternar() {
+        setCerrado(!cerrado);
+    }
+
+    /**
+     * Actualiza la corriente con el resultado de la simulación
+     */
+    public void actualizarCorriente(double corriente) {
+        this.corrienteActual = corriente;
+    }
+
+    // Getters y setters específicos
+    public boolean isCerrado() { return cerrado; }
+    public void setCerrado(boolean cerrado) {
+        if (this.cerrado != cerrado) {
+            this.cerrado = cerrado;
+            notificarCambio(TipoCambio.VALOR);
+        }
+    }
+    public double getResistenciaCerrado() { return resistenciaCerrado; }
+    public void setResistenciaCerrado(double resistenciaCerrado) {
+        this.resistenciaCerrado = resistenciaCerrado;
+        notificarCambio(TipoCambio.VALOR);
+    }
+    public double getCorrienteActual() { return corrienteActual; }
+
+    public PuntoConexion getTerminal1() {
+        return puntosConexion.stream()
+                .filter(p -> p.getNombre().equals("terminal1"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public PuntoConexion getTerminal2() {
+        return puntosConexion.stream()
+                .filter(p -> p.getNombre().equals("terminal2"))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -1,9 +1,17 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 /**
  * LED (Light Emitting Diode)
  */
 public class Led extends Componente {
+    private static final long serialVersionUID = -1200094382539031282L;
+    
+    // Modelo de Shockley I = Is·(e^(V/(n·Vt)) − 1)
+    public static final double COEFICIENTE_EMISION = 2.0;  // n, típico de LEDs
+    public static final double VOLTAJE_TERMICO = 0.025852; // Vt = k·T/q a 300 K
+    
     private double voltajeDirecto; // Voltios (típicamente 1.8V - 3.3V)
     private double corrienteMaxima; // Amperios (típicamente 20mA)
     private String color; // Color del LED
@@ -35,6 +43,7 @@ public class Led extends Componente {
     @Override
     public void setValorPrincipal(double valor) {
         this.voltajeDirecto = valor;
+        notificarCambio(TipoCambio.VALOR);
     }
     
     @Override
@@ -59,20 +68,34 @@ public class Led extends Componente {
     }
     
     /**
-     * Calcula la resistencia dinámica del LED
+     * Corriente de saturación Is del modelo de Shockley, ajustada para que con el voltaje directo
+     * circule la corriente máxima
+     */
+    public double getCorrienteSaturacion() {
+        return corrienteMaxima / Math.expm1(voltajeDirecto / (COEFICIENTE_EMISION * VOLTAJE_TERMICO));
+    }
+    
+    /**
+     * Calcula la resistencia dinámica del LED, dV/dI = n·Vt / (I + Is)
      */
     public double getResistenciaDinamica() {
         if (corrienteActual > 0.001) {
-            return voltajeDirecto / corrienteActual;
+            return COEFICIENTE_EMISION * VOLTAJE_TERMICO / (corrienteActual + getCorrienteSaturacion());
         }
         return Double.POSITIVE_INFINITY; // Resistencia infinita cuando está apagado
     }
     
     // Getters y setters específicos
     public double getVoltajeDirecto() { return voltajeDirecto; }
-    public void setVoltajeDirecto(double voltajeDirecto) { this.voltajeDirecto = voltajeDirecto; }
+    public void setVoltajeDirecto(double voltajeDirecto) { 
+        this.voltajeDirecto = voltajeDirecto; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     public double getCorrienteMaxima() { return corrienteMaxima; }
-    public void setCorrienteMaxima(double corrienteMaxima) { this.corrienteMaxima = corrienteMaxima; }
+    public void setCorrienteMaxima(double corrienteMaxima) { 
+        this.corrienteMaxima = corrienteMaxima; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     public String getColor() { return color; }
     public void setColor(String color) { this.color = color; }
     public boolean isEncendido() { return encendido; }
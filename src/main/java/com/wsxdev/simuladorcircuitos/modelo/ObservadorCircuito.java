@@ -0,0 +1,15 @@
+package com.wsxdev.simuladorcircuitos.modelo;
+
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
+/**
+ * Recibe las modificaciones de un circuito, de sus componentes y de sus conexiones
+ */
+public interface ObservadorCircuito {
+    
+    /**
+     * @param tipo   clase de cambio
+     * @param origen componente, conexión o circuito que cambió
+     */
+    void circuitoModificado(TipoCambio tipo, Object origen);
+}
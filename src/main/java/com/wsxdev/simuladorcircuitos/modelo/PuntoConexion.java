@@ -1,5 +1,7 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -8,11 +10,14 @@ import java.util.List;
  * Punto de conexión de un componente
  */
 public class PuntoConexion implements Serializable {
+    private static final long serialVersionUID = 8696439033501446324L;
     private String nombre; // "positivo", "negativo", "terminal1", etc.
     private int x, y; // Posición absoluta en el panel
     private int offsetX, offsetY; // Posición relativa al componente
     private Componente componentePadre;
-    private List<Conexion> conexiones;
+    // No se serializa: el circuito las vuelve a enlazar al leerse. Así la serialización no recorre el
+    // grafo punto → conexión → punto de forma recursiva, que desborda la pila con circuitos grandes.
+    private transient List<Conexion> conexiones;
     private boolean conectado;
     
     public PuntoConexion(String nombre, int x, int y, Componente componentePadre) {
@@ -28,6 +33,11 @@ public class PuntoConexion implements Serializable {
         this.offsetY = y - componentePadre.getY();
     }
     
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        conexiones = new ArrayList<>();
+    }
+    
     /**
      * Actualiza la posición del punto cuando el componente padre se mueve o rota
      */
@@ -1,9 +1,12 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 /**
  * Resistencia eléctrica
  */
 public class Resistencia extends Componente {
+    private static final long serialVersionUID = 7732972520183295743L;
     private double resistencia; // Ohmios
     private double potencia; // Vatios (capacidad)
     private double tolerancia; // Porcentaje
@@ -31,6 +34,7 @@ public class Resistencia extends Componente {
     @Override
     public void setValorPrincipal(double valor) {
         this.resistencia = valor;
+        notificarCambio(TipoCambio.VALOR);
     }
     
     @Override
@@ -40,11 +44,17 @@ public class Resistencia extends Componente {
     
     // Getters y setters específicos
     public double getResistencia() { return resistencia; }
-    public void setResistencia(double resistencia) { this.resistencia = resistencia; }
+    public void setResistencia(double resistencia) { 
+        this.resistencia = resistencia; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     public double getPotencia() { return potencia; }
     public void setPotencia(double potencia) { this.potencia = potencia; }
     public double getTolerancia() { return tolerancia; }
-    public void setTolerancia(double tolerancia) { this.tolerancia = tolerancia; }
+    public void setTolerancia(double tolerancia) { 
+        this.tolerancia = tolerancia; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     
     /**
      * Formatea el valor de la resistencia con unidades apropiadas
@@ -1,9 +1,12 @@
 package com.wsxdev.simuladorcircuitos.modelo;
 
+import com.wsxdev.simuladorcircuitos.modelo.enums.TipoCambio;
+
 /**
  * Voltímetro - Instrumento para medir voltaje
  */
 public class Voltimetro extends Componente {
+    private static final long serialVersionUID = -1924870548497891414L;
     private double voltajeMedido; // Voltios
     private double rangoMaximo; // Rango máximo de medición
     private double resistenciaInterna; // Resistencia interna del voltímetro
@@ -68,7 +71,10 @@ public class Voltimetro extends Componente {
     public double getRangoMaximo() { return rangoMaximo; }
     public void setRangoMaximo(double rangoMaximo) { this.rangoMaximo = rangoMaximo; }
     public double getResistenciaInterna() { return resistenciaInterna; }
-    public void setResistenciaInterna(double resistenciaInterna) { this.resistenciaInterna = resistenciaInterna; }
+    public void setResistenciaInterna(double resistenciaInterna) { 
+        this.resistenciaInterna = resistenciaInterna; 
+        notificarCambio(TipoCambio.VALOR);
+    }
     
     public PuntoConexion getTerminalPositivo() {
         return puntosConexion.stream()
@@ -0,0 +1,10 @@
+package com.wsxdev.simuladorcircuitos.modelo.enums;
+
+/**
+ * Clase de modificación de un circuito, según el trabajo que obliga a rehacer en la simulación
+ */
+public enum TipoCambio {
+    VALOR,      // Cambió un parámetro eléctrico: basta con re-estampar y resolver
+    POSICION,   // Solo cambió la ubicación en el lienzo: no hay que resolver nada
+    TOPOLOGIA   // Se agregaron o quitaron componentes o conexiones: hay que recompilar
+}
@@ -1,5 +1,6 @@
 package com.wsxdev.simuladorcircuitos.persistencia;
 
+import com.wsxdev.simuladorcircuitos.metricas.EventoPersistencia;
 import com.wsxdev.simuladorcircuitos.modelo.Circuito;
 
 import java.io.*;
@@ -14,21 +15,42 @@ public class Circuitos implements ICircuitos {
     public void guardar(Circuito circuito) {
         List<Circuito> existentes = cargarTodos();
         existentes.add(circuito);
+        EventoPersistencia evento = new EventoPersistencia();
+        evento.begin();
         try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(archivo))) {
             out.writeObject(existentes);
+            evento.exitosa = true;
         } catch (IOException e) {
             e.printStackTrace();
         }
+        registrar(evento, "guardar", existentes.size());
     }
 
     @Override
     public List<Circuito> cargarTodos() {
         File f = new File(archivo);
         if (!f.exists()) return new ArrayList<>();
+        EventoPersistencia evento = new EventoPersistencia();
+        evento.begin();
+        List<Circuito> circuitos;
         try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(archivo))) {
-            return (List<Circuito>) in.readObject();
+            circuitos = (List<Circuito>) in.readObject();
+            evento.exitosa = true;
         } catch (IOException | ClassNotFoundException e) {
-            return new ArrayList<>();
+            circuitos = new ArrayList<>();
+        }
+        registrar(evento, "cargarTodos", circuitos.size());
+        return circuitos;
+    }
+
+    private void registrar(EventoPersistencia evento, String operacion, int circuitos) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacion = operacion;
+            evento.archivo = archivo;
+            evento.bytes = new File(archivo).length();
+            evento.circuitos = circuitos;
+            evento.commit();
         }
     }
 }
\ No newline at end of file
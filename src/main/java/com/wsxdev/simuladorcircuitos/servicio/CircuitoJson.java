@@ -0,0 +1,145 @@
+package com.wsxdev.simuladorcircuitos.servicio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wsxdev.simuladorcircuitos.modelo.*;
+import com.wsxdev.simuladorcircuitos.simulacion.Nodo;
+import com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Formato JSON del servicio. Un circuito es
+ * <pre>
+ * {"nombre": "divisor",
+ *  "componentes": [{"id": "V1", "tipo": "fuenteV", "valor": 12},
+ *                  {"id": "R1", "tipo": "resistencia", "valor": 1000}, ...],
+ *  "conexiones": [["V1.positivo", "R1.terminal1"], ...]}
+ * </pre>
+ * donde valor es el valor principal del componente y cada terminal se nombra id.punto. La respuesta trae
+ * el voltaje de cada terminal y la corriente de cada componente (terminal A → B), ambos por el id del cliente.
+ */
+public class CircuitoJson {
+    private final Circuito circuito;
+    private final Map<String, Componente> porId = new LinkedHashMap<>();
+
+    private CircuitoJson(Circuito circuito) {
+        this.circuito = circuito;
+    }
+
+    /**
+     * Construye el circuito; lanza IllegalArgumentException si la descripción no es válida
+     */
+    public static CircuitoJson leer(JsonNode raiz) {
+        if (raiz == null || !raiz.path("componentes").isArray()) {
+            throw new IllegalArgumentException("Falta el arreglo \"componentes\"");
+        }
+        CircuitoJson json = new CircuitoJson(new Circuito(raiz.path("nombre").asText("circuito")));
+        int x = 0;
+        for (JsonNode nodo : raiz.get("componentes")) {
+            String id = nodo.path("id").asText(null);
+            String tipo = nodo.path("tipo").asText(null);
+            if (id == null || tipo == null) {
+                throw new IllegalArgumentException("Cada componente necesita \"id\" y \"tipo\"");
+            }
+            if (json.porId.containsKey(id)) {
+                throw new IllegalArgumentException("Id repetido: " + id);
+            }
+            Componente componente = crearComponente(tipo, x, 0);
+            if (componente == null) {
+                throw new IllegalArgumentException("Tipo de componente desconocido: " + tipo);
+            }
+            x += 100;
+            componente.setNombre(id);
+            if (nodo.has("valor")) {
+                componente.setValorPrincipal(nodo.get("valor").asDouble());
+            }
+            json.circuito.agregarComponente(componente);
+            json.porId.put(id, componente);
+        }
+        for (JsonNode conexion : raiz.path("conexiones")) {
+            if (!conexion.isArray() || conexion.size() != 2) {
+                throw new IllegalArgumentException("Cada conexión es un par [\"id.punto\", \"id.punto\"]");
+            }
+            PuntoConexion a = json.punto(conexion.get(0).asText());
+            PuntoConexion b = json.punto(conexion.get(1).asText());
+            if (json.circuito.conectarPuntos(a, b) == null) {
+                throw new IllegalArgumentException("No se pueden conectar " + conexion);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Respuesta con el resultado de la simulación
+     */
+    public ObjectNode escribirResultado(ObjectMapper mapper, SimuladorCircuito.ResultadosSimulacion resultados) {
+        ObjectNode respuesta = mapper.createObjectNode();
+        respuesta.put("exitoso", resultados.isExitoso());
+        respuesta.put("mensaje", resultados.getMensaje());
+        if (!resultados.isExitoso()) {
+            return respuesta;
+        }
+        double[] voltajesNodos = resultados.getVoltajesNodos().toArray();
+        Map<String, Integer> indices = resultados.getNodoIndices();
+        Map<String, Double> corrientes = resultados.getCorrientes();
+        respuesta.put("nodos", voltajesNodos.length);
+        ObjectNode voltajes = respuesta.putObject("voltajes");
+        ObjectNode corrientesNodo = respuesta.putObject("corrientes");
+        for (Map.Entry<String, Componente> entrada : porId.entrySet()) {
+            for (PuntoConexion punto : entrada.getValue().getPuntosConexion()) {
+                Integer indice = indices.get(Nodo.claveDe(punto));
+                if (indice != null) {
+                    voltajes.put(entrada.getKey() + "." + punto.getNombre(), voltajesNodos[indice]);
+                }
+            }
+            Double corriente = corrientes.get(entrada.getValue().getId());
+            if (corriente != null) {
+                corrientesNodo.put(entrada.getKey(), corriente);
+            }
+        }
+        return respuesta;
+    }
+
+    private PuntoConexion punto(String referencia) {
+        int separador = referencia.lastIndexOf('.');
+        Componente componente = separador > 0 ? porId.get(referencia.substring(0, separador)) : null;
+        if (componente == null) {
+            throw new IllegalArgumentException("Terminal desconocido: " + referencia);
+        }
+        String nombre = referencia.substring(separador + 1);
+        for (PuntoConexion punto : componente.getPuntosConexion()) {
+            if (punto.getNombre().equals(nombre)) {
+                return punto;
+            }
+        }
+        throw new IllegalArgumentException("Terminal desconocido: " + referencia);
+    }
+
+    private static Componente crearComponente(String tipo, int x, int y) {
+        switch (tipo) {
+            case "fuenteV":
+                return new FuenteVoltaje(x, y, 0);
+            case "resistencia":
+                return new Resistencia(x, y, 0);
+            case "led":
+                return new Led(x, y, 0);
+            case "voltimetro":
+                return new Voltimetro(x, y, 0);
+            case "amperimetro":
+                return new Amperimetro(x, y, 0);
+            case "cable":
+                return new Cable(x, y, 0);
+            case "condensador":
+                return new Condensador(x, y, 0);
+            case "interruptor":
+                return new Interruptor(x, y, 0);
+            default:
+                return null;
+        }
+    }
+
+    public Circuito getCircuito() { return circuito; }
+}
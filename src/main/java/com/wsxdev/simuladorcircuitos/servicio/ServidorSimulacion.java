@@ -0,0 +1,227 @@
+package com.wsxdev.simuladorcircuitos.servicio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+import com.wsxdev.simuladorcircuitos.metricas.RegistroMetricas;
+import com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio HTTP local (solo escucha en la interfaz de loopback), un hilo virtual por petición.
+ *   POST /simular   cuerpo: circuito en el formato de {@link CircuitoJson}; respuesta: voltajes y corrientes
+ *   GET  /estado    simulaciones en curso, peticiones agrupadas y rechazadas, tiempos por fase
+ * Peticiones idénticas que llegan mientras la primera se simula esperan ese mismo resultado en lugar de
+ * simular otra vez, y como mucho {@code limite} simulaciones corren a la vez; si no hay lugar después de la
+ * espera configurada se responde 503.
+ */
+public class ServidorSimulacion {
+    private static final long TAMANO_MAXIMO_CUERPO = 16L << 20; // 16 MiB
+    private static final long TIEMPO_MAXIMO_AGRUPADA_MS = 120_000; // Simulación, sin contar la espera de permiso
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer servidor;
+    private final ExecutorService hilos;
+    final Semaphore permisos; // Sin private: las pruebas ocupan los lugares para forzar la espera
+    private final long esperaMaximaMs;
+    // Cuerpo normalizado → respuesta de la simulación en curso
+    private final ConcurrentHashMap<String, CompletableFuture<Respuesta>> enCurso = new ConcurrentHashMap<>();
+    private final AtomicLong simulaciones = new AtomicLong();
+    private final AtomicLong agrupadas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    /**
+     * Crea el servidor en el puerto indicado (0 elige uno libre) sin iniciarlo
+     */
+    public ServidorSimulacion(int puerto, int limite, long esperaMaximaMs) throws IOException {
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        this.permisos = new Semaphore(limite);
+        this.esperaMaximaMs = esperaMaximaMs;
+        servidor.setExecutor(hilos);
+        servidor.createContext("/simular", this::atenderSimular);
+        servidor.createContext("/estado", this::atenderEstado);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Deja de aceptar peticiones y espera hasta segundos a que terminen las que están en curso
+     */
+    public void detener(int segundos) {
+        servidor.stop(segundos);
+        hilos.shutdown();
+    }
+
+    private void atenderSimular(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!"POST".equals(intercambio.getRequestMethod())) {
+                responder(intercambio, new Respuesta(405, error("Use POST")));
+                return;
+            }
+            String clave;
+            JsonNode raiz;
+            try (InputStream cuerpo = intercambio.getRequestBody()) {
+                byte[] bytes = cuerpo.readNBytes((int) TAMANO_MAXIMO_CUERPO + 1);
+                if (bytes.length > TAMANO_MAXIMO_CUERPO) {
+                    responder(intercambio, new Respuesta(413, error("Circuito demasiado grande")));
+                    return;
+                }
+                raiz = mapper.readTree(bytes);
+                clave = mapper.writeValueAsString(raiz); // Sin espacios: el formato no separa peticiones iguales
+            } catch (JsonProcessingException e) {
+                responder(intercambio, new Respuesta(400, error("JSON inválido: " + e.getOriginalMessage())));
+                return;
+            }
+
+            CompletableFuture<Respuesta> nueva = new CompletableFuture<>();
+            CompletableFuture<Respuesta> existente = enCurso.putIfAbsent(clave, nueva);
+            if (existente != null) {
+                agrupadas.incrementAndGet();
+                responder(intercambio, esperarAgrupada(existente));
+                return;
+            }
+            try {
+                nueva.complete(simular(raiz));
+            } catch (RuntimeException e) {
+                nueva.complete(new Respuesta(500, error("Error en simulación: " + e.getMessage())));
+            } finally {
+                // Si escapó un Error (memoria, pila) las peticiones agrupadas no pueden quedar esperando;
+                // no hace nada si ya hay respuesta
+                nueva.completeExceptionally(new IllegalStateException("La simulación terminó sin respuesta"));
+                enCurso.remove(clave, nueva);
+            }
+            responder(intercambio, nueva.join());
+        }
+    }
+
+    /**
+     * Respuesta de la simulación idéntica en curso, esperando como mucho lo que ella puede tardar en conseguir
+     * permiso más {@link #TIEMPO_MAXIMO_AGRUPADA_MS}
+     */
+    private Respuesta esperarAgrupada(CompletableFuture<Respuesta> existente) {
+        try {
+            return existente.get(esperaMaximaMs + TIEMPO_MAXIMO_AGRUPADA_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return new Respuesta(504, error("La simulación agrupada no terminó a tiempo"));
+        } catch (ExecutionException | CancellationException e) {
+            return new Respuesta(500, error("Error en simulación: " + e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Respuesta(503, error("Petición interrumpida"));
+        }
+    }
+
+    /**
+     * Simula con un permiso del límite de concurrencia; cada petición tiene su propio circuito y simulador
+     */
+    private Respuesta simular(JsonNode raiz) {
+        CircuitoJson circuito;
+        try {
+            circuito = CircuitoJson.leer(raiz);
+        } catch (IllegalArgumentException e) {
+            return new Respuesta(400, error(e.getMessage()));
+        }
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                rechazadas.incrementAndGet();
+                return new Respuesta(503, error("Servicio ocupado, intente de nuevo"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Respuesta(503, error("Petición interrumpida"));
+        }
+        try {
+            simulaciones.incrementAndGet();
+            SimuladorCircuito.ResultadosSimulacion resultados = new SimuladorCircuito(circuito.getCircuito()).simular();
+            return new Respuesta(200, circuito.escribirResultado(mapper, resultados));
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private void atenderEstado(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            ObjectNode estado = mapper.createObjectNode();
+            estado.put("enCurso", enCurso.size());
+            estado.put("permisosLibres", permisos.availablePermits());
+            estado.put("simulaciones", simulaciones.get());
+            estado.put("agrupadas", agrupadas.get());
+            estado.put("rechazadas", rechazadas.get());
+            ObjectNode fases = estado.putObject("fases");
+            for (Fase fase : Fase.values()) {
+                RegistroMetricas.EstadisticasFase estadisticas = RegistroMetricas.getGlobal().getEstadisticas(fase);
+                ObjectNode nodo = fases.putObject(fase.name());
+                nodo.put("promedioMs", estadisticas.getMilisegundosPromedio());
+                nodo.put("maximoMs", estadisticas.getNanosMaximo() / 1e6);
+                nodo.put("bytes", estadisticas.getBytesTotales());
+            }
+            responder(intercambio, new Respuesta(200, estado));
+        }
+    }
+
+    private ObjectNode error(String mensaje) {
+        ObjectNode nodo = mapper.createObjectNode();
+        nodo.put("exitoso", false);
+        nodo.put("mensaje", mensaje);
+        return nodo;
+    }
+
+    private void responder(HttpExchange intercambio, Respuesta respuesta) throws IOException {
+        byte[] bytes = respuesta.cuerpo;
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (respuesta.estado == 503) {
+            intercambio.getResponseHeaders().set("Retry-After", "1");
+        }
+        intercambio.sendResponseHeaders(respuesta.estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    /**
+     * Código HTTP y cuerpo ya serializado, compartido por las peticiones agrupadas
+     */
+    private final class Respuesta {
+        private final int estado;
+        private final byte[] cuerpo;
+
+        private Respuesta(int estado, ObjectNode json) {
+            this.estado = estado;
+            byte[] bytes;
+            try {
+                bytes = mapper.writeValueAsBytes(json);
+            } catch (JsonProcessingException e) {
+                bytes = ("{\"exitoso\":false,\"mensaje\":\"Error al serializar\"}").getBytes(StandardCharsets.UTF_8);
+            }
+            this.cuerpo = bytes;
+        }
+    }
+
+    public int getPuerto() { return servidor.getAddress().getPort(); }
+    public long getSimulaciones() { return simulaciones.get(); }
+    public long getAgrupadas() { return agrupadas.get(); }
+    public long getRechazadas() { return rechazadas.get(); }
+}
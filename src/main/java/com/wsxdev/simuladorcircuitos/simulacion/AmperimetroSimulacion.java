@@ -0,0 +1,24 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Amperimetro;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+
+/**
+ * Amperímetro: resistencia interna muy baja en serie (entrada → salida)
+ */
+public class AmperimetroSimulacion extends ResistenciaSimulacion {
+    
+    public AmperimetroSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+    
+    @Override
+    public double leerValor() {
+        return 1.0 / ((Amperimetro) origen).getResistenciaInterna();
+    }
+    
+    @Override
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+        ((Amperimetro) origen).actualizarMedicion(corriente);
+    }
+}
@@ -0,0 +1,246 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.metricas.CronometroFases;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Análisis AC de pequeña señal con barrido logarítmico de frecuencia.
+ *
+ * Las fuentes marcadas como AC son la excitación (amplitud = su voltaje, fase 0) y valen 0 en el punto
+ * de operación; las fuentes DC quedan en cortocircuito. Los LEDs se linealizan en el punto de
+ * operación DC y los condensadores aportan jωC, así que la matriz es Y(ω) = G + jω·C.
+ *
+ * El patrón de Y no depende de ω: el ordenamiento y la secuencia de pivotes se calculan una vez por
+ * isla (sobre |Y| a la frecuencia central) y cada frecuencia solo hace la factorización numérica
+ * compleja. Los puntos son independientes y se reparten en bloques en el ForkJoinPool común; cada
+ * bloque tiene su propio espacio de trabajo. Con un {@link ControlSimulacion} se revisa la cancelación
+ * en cada frecuencia.
+ */
+public class AnalisisAC {
+    private static final int BLOQUES_POR_HILO = 4;
+
+    private double frecuenciaInicial; // Hz; 0 = frecuencia de las fuentes / 1000
+    private double frecuenciaFinal;   // Hz; 0 = frecuencia de las fuentes · 1000
+    private int puntosPorDecada;
+
+    public AnalisisAC() {
+        this.puntosPorDecada = 20;
+    }
+
+    /**
+     * Barre las frecuencias configuradas y devuelve magnitud y fase de cada nodo
+     */
+    public ResultadoAC simular(Circuito circuito) {
+        return simular(circuito, ControlSimulacion.NINGUNO);
+    }
+
+    /**
+     * Barre revisando el control en cada frecuencia: si se cancela o vence su plazo, el resultado no es exitoso
+     */
+    public ResultadoAC simular(Circuito circuito, ControlSimulacion control) {
+        try {
+            NetlistCircuito[] islas = NetlistCircuito.compilar(circuito, new CronometroFases(), control);
+            if (Arrays.stream(islas).allMatch(isla -> isla.getNumNodos() < 2)) {
+                return new ResultadoAC(false, "El circuito necesita al menos 2 nodos conectados");
+            }
+
+            IslaAC[] estados = new IslaAC[islas.length];
+            int numNodos = 0;
+            double frecuenciaFuentes = 0.0;
+            boolean excitado = false;
+            for (int i = 0; i < islas.length; i++) {
+                estados[i] = new IslaAC(islas[i], numNodos, control);
+                numNodos += islas[i].getNumNodos();
+                frecuenciaFuentes = Math.max(frecuenciaFuentes, estados[i].frecuenciaFuentes);
+                excitado |= estados[i].excitada;
+            }
+            if (!excitado) {
+                return new ResultadoAC(false, "El circuito no tiene fuentes AC");
+            }
+
+            if (frecuenciaFuentes <= 0.0) {
+                frecuenciaFuentes = 1000.0;
+            }
+            double inicial = frecuenciaInicial > 0.0 ? frecuenciaInicial : frecuenciaFuentes / 1000.0;
+            double fin = frecuenciaFinal > 0.0 ? frecuenciaFinal : frecuenciaFuentes * 1000.0;
+            if (!(fin >= inicial) || puntosPorDecada < 1) {
+                return new ResultadoAC(false, "Rango de frecuencias inválido");
+            }
+            double[] frecuencias = espaciarLogaritmicamente(inicial, fin, puntosPorDecada);
+
+            double[][] magnitudes = new double[numNodos][frecuencias.length];
+            double[][] fases = new double[numNodos][frecuencias.length];
+            AtomicInteger simbolicas = new AtomicInteger();
+            for (IslaAC estado : estados) {
+                if (estado.excitada) {
+                    estado.barrer(frecuencias, magnitudes, fases, simbolicas, control.sinProgreso());
+                }
+            }
+
+            String mensaje = String.format("Análisis AC exitoso (%d frecuencias, %.3g Hz a %.3g Hz)",
+                    frecuencias.length, inicial, fin);
+            return new ResultadoAC(true, mensaje, frecuencias, magnitudes, fases, islas, simbolicas.get());
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SimulacionCancelada) {
+                return new ResultadoAC(false, e.getCause().getMessage());
+            }
+            return new ResultadoAC(false, "Error en análisis AC: " + e.getCause().getMessage());
+        } catch (SimulacionCancelada e) {
+            return new ResultadoAC(false, e.getMessage());
+        } catch (Exception e) {
+            return new ResultadoAC(false, "Error en análisis AC: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Frecuencias espaciadas logarítmicamente entre inicial y fin (ambas incluidas)
+     */
+    public static double[] espaciarLogaritmicamente(double inicial, double fin, int puntosPorDecada) {
+        double decadas = Math.log10(fin / inicial);
+        int puntos = Math.max(1, (int) Math.ceil(decadas * puntosPorDecada - 1e-9) + 1);
+        double[] frecuencias = new double[puntos];
+        for (int k = 0; k < puntos; k++) {
+            frecuencias[k] = puntos == 1 ? inicial : inicial * Math.pow(10.0, decadas * k / (puntos - 1));
+        }
+        return frecuencias;
+    }
+
+    /**
+     * Matrices G y C de una isla, con el análisis simbólico compartido por todas las frecuencias
+     */
+    private static class IslaAC {
+        final NetlistCircuito netlist;
+        final int desplazamiento;
+        final MatrizDispersa patron;
+        final double[] conductancias;
+        final double[] capacitancias;
+        final double[] excitacion;
+        boolean excitada;
+        double frecuenciaFuentes;
+        int[] orden;
+
+        IslaAC(NetlistCircuito netlist, int desplazamiento, ControlSimulacion control) {
+            this.netlist = netlist;
+            this.desplazamiento = desplazamiento;
+            SistemaMNA sistema = new SistemaMNA(netlist);
+            sistema.setControl(control);
+            this.excitacion = new double[sistema.getDimension()];
+
+            double[] valores = netlist.getValores();
+            for (ElementoCircuito elemento : netlist.getElementos()) {
+                if (elemento instanceof FuenteVoltajeSimulacion
+                        && ((FuenteVoltaje) elemento.getOrigen()).isEsAC()) {
+                    FuenteVoltaje fuente = (FuenteVoltaje) elemento.getOrigen();
+                    valores[elemento.getIndice()] = 0.0; // Sin componente DC
+                    excitacion[((FuenteVoltajeSimulacion) elemento).getRama()] += fuente.getVoltaje();
+                    frecuenciaFuentes = Math.max(frecuenciaFuentes, fuente.getFrecuencia());
+                    excitada = true;
+                }
+            }
+            if (excitada && sistema.esNoLineal()) {
+                sistema.resolver(); // Punto de operación: los LEDs quedan linealizados en él
+            }
+            sistema.estampar();
+
+            this.patron = sistema.getMatriz();
+            this.conductancias = patron.getValores().clone();
+            this.capacitancias = new double[conductancias.length];
+            for (ElementoCircuito elemento : netlist.getElementos()) {
+                if (elemento instanceof CondensadorSimulacion) {
+                    ((CondensadorSimulacion) elemento).estamparCapacitancia(capacitancias);
+                }
+            }
+        }
+
+        /**
+         * Ordenamiento y secuencia de pivotes a partir de |G + jωC|
+         */
+        FactorizacionLU analizar(double frecuencia) {
+            double omega = 2.0 * Math.PI * frecuencia;
+            double[] modulos = new double[conductancias.length];
+            for (int p = 0; p < modulos.length; p++) {
+                modulos[p] = Math.hypot(conductancias[p], omega * capacitancias[p]);
+            }
+            MatrizDispersa referencia = new MatrizDispersa(patron.getDimension(), patron.getColumnas(),
+                    patron.getFilas(), modulos);
+            if (orden == null) {
+                orden = OrdenamientoMinimoGrado.ordenar(referencia);
+            }
+            return FactorizacionLU.factorizar(referencia, orden);
+        }
+
+        void barrer(double[] frecuencias, double[][] magnitudes, double[][] fases, AtomicInteger simbolicas,
+                    ControlSimulacion control) throws InterruptedException, ExecutionException {
+            double central = Math.sqrt(frecuencias[0] * frecuencias[frecuencias.length - 1]);
+            FactorizacionLU simbolica = analizar(central);
+            simbolicas.incrementAndGet();
+
+            int bloques = Math.min(frecuencias.length, BLOQUES_POR_HILO * ForkJoinPool.getCommonPoolParallelism());
+            if (bloques <= 1) {
+                barrerBloque(simbolica, frecuencias, 0, frecuencias.length, magnitudes, fases, simbolicas, control);
+                return;
+            }
+            ForkJoinPool.commonPool().submit(() ->
+                    IntStream.range(0, bloques).parallel().forEach(b -> barrerBloque(simbolica, frecuencias,
+                            (int) ((long) b * frecuencias.length / bloques),
+                            (int) ((long) (b + 1) * frecuencias.length / bloques),
+                            magnitudes, fases, simbolicas, control))
+            ).get();
+        }
+
+        /**
+         * Resuelve las frecuencias [desde, hasta) con un espacio de trabajo propio
+         */
+        void barrerBloque(FactorizacionLU simbolica, double[] frecuencias, int desde, int hasta,
+                          double[][] magnitudes, double[][] fases, AtomicInteger simbolicas,
+                          ControlSimulacion control) {
+            int n = excitacion.length;
+            FactorizacionLUCompleja lu = new FactorizacionLUCompleja(simbolica);
+            double[] imaginaria = new double[capacitancias.length];
+            double[] cero = new double[n];
+            double[] real = new double[n];
+            double[] imag = new double[n];
+
+            for (int k = desde; k < hasta; k++) {
+                control.verificar();
+                double omega = 2.0 * Math.PI * frecuencias[k];
+                for (int p = 0; p < imaginaria.length; p++) {
+                    imaginaria[p] = omega * capacitancias[p];
+                }
+                if (!lu.factorizar(patron, conductancias, imaginaria)) {
+                    // Los pivotes de la frecuencia central no sirven aquí: nuevo análisis para este bloque
+                    lu = new FactorizacionLUCompleja(analizar(frecuencias[k]));
+                    simbolicas.incrementAndGet();
+                    if (!lu.factorizar(patron, conductancias, imaginaria)) {
+                        throw new ArithmeticException("Pivote inestable a " + frecuencias[k] + " Hz");
+                    }
+                }
+                lu.resolver(excitacion, cero, real, imag);
+
+                // Nodo 0 = tierra; la incógnita i es el nodo i + 1
+                for (int nodo = 1; nodo < netlist.getNumNodos(); nodo++) {
+                    double vr = real[nodo - 1];
+                    double vi = imag[nodo - 1];
+                    magnitudes[desplazamiento + nodo][k] = Math.hypot(vr, vi);
+                    fases[desplazamiento + nodo][k] = Math.toDegrees(Math.atan2(vi, vr));
+                }
+            }
+        }
+    }
+
+    // Getters y setters
+    public double getFrecuenciaInicial() { return frecuenciaInicial; }
+    public void setFrecuenciaInicial(double frecuenciaInicial) { this.frecuenciaInicial = frecuenciaInicial; }
+    public double getFrecuenciaFinal() { return frecuenciaFinal; }
+    public void setFrecuenciaFinal(double frecuenciaFinal) { this.frecuenciaFinal = frecuenciaFinal; }
+    public int getPuntosPorDecada() { return puntosPorDecada; }
+    public void setPuntosPorDecada(int puntosPorDecada) { this.puntosPorDecada = puntosPorDecada; }
+}
@@ -0,0 +1,332 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.metricas.CronometroFases;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Análisis de Monte Carlo de tolerancias: en cada muestra cada resistencia con tolerancia toma un
+ * valor R·(1 + t·s), con s uniforme en [−1, 1] o normal con la tolerancia como 3σ, y se resuelve el
+ * punto de operación DC.
+ *
+ * Las muestras se reparten en bloques, uno por hilo del ForkJoinPool común, cada uno con sus propios
+ * netlists y sistemas. Los valores se escriben directamente en el netlist y cada muestra solo hace la
+ * refactorización numérica (mismo ordenamiento y pivotes). Cada bloque usa su propio flujo de
+ * SplittableRandom, o su tramo de la secuencia de Sobol, y acumula las estadísticas en línea;
+ * los acumuladores se combinan al final. Las clases del histograma se fijan con una corrida piloto.
+ * Con un {@link ControlSimulacion} se revisa la cancelación en cada muestra.
+ */
+public class AnalisisMonteCarlo {
+
+    public enum Distribucion {
+        UNIFORME,
+        NORMAL   // La tolerancia es 3σ
+    }
+
+    private static final int DIMENSION_MAXIMA_SOBOL = 1000; // Números de dirección incluidos en commons-math
+    private static final int MUESTRAS_PILOTO = 1000;
+    private static final double MARGEN_HISTOGRAMA = 0.1;   // Fracción del rango piloto a cada lado
+    private static final long SEMILLA_PILOTO = 0x5EEDL;
+
+    private int muestras;
+    private long semilla;
+    private boolean sobol;
+    private Distribucion distribucion;
+    private int clasesHistograma;
+
+    public AnalisisMonteCarlo() {
+        this.muestras = 10_000;
+        this.semilla = 1L;
+        this.distribucion = Distribucion.UNIFORME;
+        this.clasesHistograma = 50;
+    }
+
+    /**
+     * Ejecuta las muestras configuradas sobre el circuito, sin modificarlo
+     */
+    public ResultadoMonteCarlo simular(Circuito circuito) {
+        return simular(circuito, ControlSimulacion.NINGUNO);
+    }
+
+    /**
+     * Muestrea revisando el control en cada muestra: si se cancela o vence su plazo, el resultado no es exitoso
+     */
+    public ResultadoMonteCarlo simular(Circuito circuito, ControlSimulacion control) {
+        if (muestras < 1 || clasesHistograma < 1) {
+            return new ResultadoMonteCarlo(false, "Número de muestras o de clases inválido");
+        }
+        try {
+            int bloques = Math.min(muestras, ForkJoinPool.getCommonPoolParallelism());
+            Trabajador[] trabajadores = new Trabajador[bloques];
+            ControlSimulacion controlBloques = control.sinProgreso();
+            for (int b = 0; b < bloques; b++) {
+                trabajadores[b] = new Trabajador(NetlistCircuito.compilar(circuito, new CronometroFases(), control),
+                        controlBloques);
+            }
+            Trabajador referencia = trabajadores[0];
+            int dimension = referencia.nominales.length;
+            if (dimension == 0) {
+                return new ResultadoMonteCarlo(false, "Ninguna resistencia conectada tiene tolerancia");
+            }
+            if (sobol && dimension > DIMENSION_MAXIMA_SOBOL) {
+                return new ResultadoMonteCarlo(false, "Sobol admite hasta " + DIMENSION_MAXIMA_SOBOL + " resistencias con tolerancia");
+            }
+
+            // Corrida piloto: rango de cada nodo para las clases del histograma
+            EstadisticasNodos base = pilotar(referencia, dimension);
+
+            SplittableRandom raiz = new SplittableRandom(semilla);
+            Muestreador[] muestreadores = new Muestreador[bloques];
+            int[] limites = new int[bloques + 1];
+            for (int b = 0; b < bloques; b++) {
+                limites[b + 1] = (int) ((long) (b + 1) * muestras / bloques);
+                muestreadores[b] = sobol ? new MuestreadorSobol(dimension, limites[b] + 1, distribucion)
+                        : new MuestreadorAleatorio(raiz.split(), distribucion);
+            }
+            EstadisticasNodos[] parciales = new EstadisticasNodos[bloques];
+            long[] fallidas = new long[bloques];
+            ForkJoinPool.commonPool().submit(() ->
+                    IntStream.range(0, bloques).parallel().forEach(b -> {
+                        parciales[b] = base.vacia();
+                        fallidas[b] = trabajadores[b].muestrear(muestreadores[b], limites[b + 1] - limites[b], parciales[b]);
+                    })
+            ).get();
+
+            EstadisticasNodos estadisticas = parciales[0];
+            for (int b = 1; b < bloques; b++) {
+                estadisticas.combinar(parciales[b]);
+            }
+            long totalFallidas = Arrays.stream(fallidas).sum();
+            String mensaje = String.format("Monte Carlo exitoso (%d muestras, %d resistencias con tolerancia, %d sin converger)",
+                    muestras, dimension, totalFallidas);
+            return new ResultadoMonteCarlo(estadisticas.getMuestras() > 0, mensaje, estadisticas, dimension,
+                    totalFallidas, referencia.islas);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SimulacionCancelada) {
+                return new ResultadoMonteCarlo(false, e.getCause().getMessage());
+            }
+            return new ResultadoMonteCarlo(false, "Error en Monte Carlo: " + e.getCause().getMessage());
+        } catch (SimulacionCancelada e) {
+            return new ResultadoMonteCarlo(false, e.getMessage());
+        } catch (Exception e) {
+            return new ResultadoMonteCarlo(false, "Error en Monte Carlo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Estima el rango de cada nodo con unas pocas muestras y devuelve un acumulador vacío con esas clases
+     */
+    private EstadisticasNodos pilotar(Trabajador trabajador, int dimension) {
+        int numNodos = trabajador.voltajes.length;
+        double[] minimo = new double[numNodos];
+        double[] maximo = new double[numNodos];
+        Arrays.fill(minimo, Double.POSITIVE_INFINITY);
+        Arrays.fill(maximo, Double.NEGATIVE_INFINITY);
+        Muestreador muestreador = sobol ? new MuestreadorSobol(dimension, 1, distribucion)
+                : new MuestreadorAleatorio(new SplittableRandom(semilla ^ SEMILLA_PILOTO), distribucion);
+        int piloto = Math.min(muestras, MUESTRAS_PILOTO);
+        for (int k = 0; k < piloto; k++) {
+            trabajador.control.verificar();
+            muestreador.siguiente(trabajador.desviaciones);
+            if (!trabajador.resolverMuestra()) continue;
+            for (int i = 0; i < numNodos; i++) {
+                minimo[i] = Math.min(minimo[i], trabajador.voltajes[i]);
+                maximo[i] = Math.max(maximo[i], trabajador.voltajes[i]);
+            }
+        }
+
+        double[] limiteInferior = new double[numNodos];
+        double[] anchoClase = new double[numNodos];
+        for (int i = 0; i < numNodos; i++) {
+            if (minimo[i] > maximo[i]) { // Ninguna muestra piloto convergió
+                minimo[i] = -1.0;
+                maximo[i] = 1.0;
+            }
+            double rango = Math.max(maximo[i] - minimo[i], 1e-9 * Math.max(1.0, Math.abs(maximo[i])));
+            limiteInferior[i] = minimo[i] - MARGEN_HISTOGRAMA * rango;
+            anchoClase[i] = (1.0 + 2.0 * MARGEN_HISTOGRAMA) * rango / clasesHistograma;
+        }
+        return new EstadisticasNodos(limiteInferior, anchoClase, clasesHistograma);
+    }
+
+    /**
+     * Genera el vector de desviaciones s de cada muestra
+     */
+    private interface Muestreador {
+        void siguiente(double[] desviaciones);
+    }
+
+    private static class MuestreadorAleatorio implements Muestreador {
+        private final SplittableRandom aleatorio;
+        private final Distribucion distribucion;
+
+        MuestreadorAleatorio(SplittableRandom aleatorio, Distribucion distribucion) {
+            this.aleatorio = aleatorio;
+            this.distribucion = distribucion;
+        }
+
+        @Override
+        public void siguiente(double[] desviaciones) {
+            for (int j = 0; j < desviaciones.length; j++) {
+                desviaciones[j] = distribucion == Distribucion.UNIFORME
+                        ? aleatorio.nextDouble(-1.0, 1.0)
+                        : aleatorio.nextGaussian() / 3.0;
+            }
+        }
+    }
+
+    private static class MuestreadorSobol implements Muestreador {
+        private static final double EXTREMO = 1e-12; // Evita Φ⁻¹(0) = −∞
+        private final SobolSequenceGenerator sobol;
+        private final Distribucion distribucion;
+        private final NormalDistribution normal;
+
+        MuestreadorSobol(int dimension, int inicio, Distribucion distribucion) {
+            this.sobol = new SobolSequenceGenerator(dimension);
+            this.sobol.skipTo(inicio); // El punto 0 es el origen
+            this.distribucion = distribucion;
+            this.normal = distribucion == Distribucion.NORMAL ? new NormalDistribution(null, 0.0, 1.0) : null;
+        }
+
+        @Override
+        public void siguiente(double[] desviaciones) {
+            double[] u = sobol.nextVector();
+            for (int j = 0; j < desviaciones.length; j++) {
+                desviaciones[j] = distribucion == Distribucion.UNIFORME
+                        ? 2.0 * u[j] - 1.0
+                        : normal.inverseCumulativeProbability(Math.min(1.0 - EXTREMO, Math.max(EXTREMO, u[j]))) / 3.0;
+            }
+        }
+    }
+
+    /**
+     * Espacio de trabajo de un hilo: netlists, sistemas y la tabla de resistencias con tolerancia
+     */
+    private static class Trabajador {
+        final NetlistCircuito[] islas;
+        final SistemaMNA[] sistemas;
+        final ControlSimulacion control;
+        final int[] primerNodo;
+        final boolean[] variable;     // La isla tiene resistencias con tolerancia
+        final double[][] soluciones;
+        final double[] voltajes;      // Todos los nodos, islas concatenadas
+        // Resistencias con tolerancia
+        final double[][] valoresIsla;
+        final int[] isla;
+        final int[] indice;
+        final double[] nominales;     // Ω
+        final double[] tolerancias;   // Fracción
+        final double[] desviaciones;
+        boolean fijasResueltas;
+
+        Trabajador(NetlistCircuito[] islas, ControlSimulacion control) {
+            this.islas = islas;
+            this.sistemas = new SistemaMNA[islas.length];
+            this.control = control;
+            this.primerNodo = new int[islas.length];
+            this.variable = new boolean[islas.length];
+            this.soluciones = new double[islas.length][];
+            this.valoresIsla = new double[islas.length][];
+            List<int[]> tabla = new ArrayList<>();
+            List<Resistencia> resistencias = new ArrayList<>();
+            int nodos = 0;
+            for (int i = 0; i < islas.length; i++) {
+                sistemas[i] = new SistemaMNA(islas[i]);
+                sistemas[i].setControl(control);
+                primerNodo[i] = nodos;
+                nodos += islas[i].getNumNodos();
+                soluciones[i] = new double[sistemas[i].getDimension()];
+                valoresIsla[i] = islas[i].getValores();
+                for (ElementoCircuito elemento : islas[i].getElementos()) {
+                    if (elemento.getClass() == ResistenciaSimulacion.class
+                            && ((Resistencia) elemento.getOrigen()).getTolerancia() > 0.0) {
+                        tabla.add(new int[]{i, elemento.getIndice()});
+                        resistencias.add((Resistencia) elemento.getOrigen());
+                        variable[i] = true;
+                    }
+                }
+            }
+            this.voltajes = new double[nodos];
+            int dimension = tabla.size();
+            this.isla = new int[dimension];
+            this.indice = new int[dimension];
+            this.nominales = new double[dimension];
+            this.tolerancias = new double[dimension];
+            this.desviaciones = new double[dimension];
+            for (int j = 0; j < dimension; j++) {
+                isla[j] = tabla.get(j)[0];
+                indice[j] = tabla.get(j)[1];
+                nominales[j] = resistencias.get(j).getResistencia();
+                tolerancias[j] = resistencias.get(j).getTolerancia() / 100.0;
+            }
+        }
+
+        /**
+         * Resuelve n muestras acumulándolas; devuelve cuántas no convergieron
+         */
+        long muestrear(Muestreador muestreador, int n, EstadisticasNodos estadisticas) {
+            long fallidas = 0;
+            for (int k = 0; k < n; k++) {
+                control.verificar();
+                muestreador.siguiente(desviaciones);
+                if (resolverMuestra()) {
+                    estadisticas.agregar(voltajes);
+                } else {
+                    fallidas++;
+                }
+            }
+            return fallidas;
+        }
+
+        /**
+         * Aplica las desviaciones actuales y deja en voltajes la solución; false si Newton no convergió
+         */
+        boolean resolverMuestra() {
+            for (int j = 0; j < nominales.length; j++) {
+                valoresIsla[isla[j]][indice[j]] = 1.0 / (nominales[j] * (1.0 + tolerancias[j] * desviaciones[j]));
+            }
+            for (int i = 0; i < islas.length; i++) {
+                if (islas[i].getNumNodos() < 2 || (fijasResueltas && !variable[i])) continue;
+                SistemaMNA sistema = sistemas[i];
+                sistema.estampar();
+                try {
+                    if (sistema.esNoLineal()) {
+                        System.arraycopy(sistema.resolver(), 0, soluciones[i], 0, soluciones[i].length);
+                    } else {
+                        // Solo la parte numérica: el patrón no cambia entre muestras
+                        sistema.factorizarMatriz().resolver(sistema.getRhs(), soluciones[i]);
+                    }
+                } catch (ArithmeticException e) {
+                    return false;
+                }
+                // Nodo 0 de cada isla = tierra; la incógnita k es el nodo k + 1
+                System.arraycopy(soluciones[i], 0, voltajes, primerNodo[i] + 1, islas[i].getNumNodos() - 1);
+            }
+            fijasResueltas = true;
+            return true;
+        }
+    }
+
+    // Getters y setters
+    public int getMuestras() { return muestras; }
+    public void setMuestras(int muestras) { this.muestras = muestras; }
+    public long getSemilla() { return semilla; }
+    public void setSemilla(long semilla) { this.semilla = semilla; }
+    public boolean isSobol() { return sobol; }
+    public void setSobol(boolean sobol) { this.sobol = sobol; }
+    public Distribucion getDistribucion() { return distribucion; }
+    public void setDistribucion(Distribucion distribucion) { this.distribucion = distribucion; }
+    public int getClasesHistograma() { return clasesHistograma; }
+    public void setClasesHistograma(int clasesHistograma) { this.clasesHistograma = clasesHistograma; }
+}
@@ -0,0 +1,91 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Amperimetro;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import com.wsxdev.simuladorcircuitos.modelo.Voltimetro;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sensibilidad por el método adjunto. Si la salida es y = cᵀ·x con A·x = b, para cualquier parámetro p
+ *   dy/dp = λᵀ·(∂b/∂p − ∂A/∂p·x),  con Aᵀ·λ = c
+ * así que una sola resolución con la matriz transpuesta da la derivada respecto de todos los componentes:
+ *   resistencia entre a y b:  dy/dR = (λa − λb)·(va − vb) / R²
+ *   fuente con rama k:        dy/dV = λk
+ * Con LEDs, A es el jacobiano en el punto de operación.
+ */
+public class AnalisisSensibilidad {
+
+    private AnalisisSensibilidad() {
+    }
+
+    /**
+     * Sensibilidades de la lectura del medidor (voltímetro o amperímetro) con el último resultado
+     * del simulador; voltajesNodos son los de todas las islas concatenadas
+     */
+    static ResultadoSensibilidad calcular(NetlistCircuito[] islas, SistemaMNA[] sistemas, double[] voltajesNodos,
+                                          Componente medidor) {
+        if (!(medidor instanceof Voltimetro) && !(medidor instanceof Amperimetro)) {
+            return new ResultadoSensibilidad(false, "La salida debe ser un voltímetro o un amperímetro");
+        }
+        int desplazamiento = 0;
+        for (int i = 0; i < islas.length; i++) {
+            for (ElementoCircuito elemento : islas[i].getElementos()) {
+                if (elemento.getOrigen() == medidor) {
+                    return calcularIsla(islas[i], sistemas[i], voltajesNodos, desplazamiento, elemento);
+                }
+            }
+            desplazamiento += islas[i].getNumNodos();
+        }
+        return new ResultadoSensibilidad(false, "El medidor no está conectado al circuito");
+    }
+
+    private static ResultadoSensibilidad calcularIsla(NetlistCircuito isla, SistemaMNA sistema, double[] voltajesNodos,
+                                                      int desplazamiento, ElementoCircuito salida) {
+        // c: voltaje entre los terminales del medidor, o g·(va − vb) para el amperímetro
+        double[] c = new double[sistema.getDimension()];
+        double escala = salida.getOrigen() instanceof Amperimetro ? isla.getValores()[salida.getIndice()] : 1.0;
+        int a = salida.getNodoA() - 1;
+        int b = salida.getNodoB() - 1;
+        if (a >= 0) c[a] += escala;
+        if (b >= 0) c[b] -= escala;
+        double[] lambda = sistema.resolverTranspuesta(c);
+
+        double y = escala * (voltajesNodos[desplazamiento + salida.getNodoA()] - voltajesNodos[desplazamiento + salida.getNodoB()]);
+        List<ResultadoSensibilidad.Sensibilidad> sensibilidades = new ArrayList<>();
+        for (ElementoCircuito elemento : isla.getElementos()) {
+            double valor;
+            double derivada;
+            String parametro;
+            if (elemento.getClass() == ResistenciaSimulacion.class) {
+                valor = ((Resistencia) elemento.getOrigen()).getResistencia();
+                double caida = voltajesNodos[desplazamiento + elemento.getNodoA()] - voltajesNodos[desplazamiento + elemento.getNodoB()];
+                derivada = (adjunta(lambda, elemento.getNodoA()) - adjunta(lambda, elemento.getNodoB())) * caida / (valor * valor);
+                parametro = "Resistencia";
+            } else if (elemento instanceof FuenteVoltajeSimulacion) {
+                valor = isla.getValores()[elemento.getIndice()];
+                derivada = lambda[((FuenteVoltajeSimulacion) elemento).getRama()];
+                parametro = "Voltaje";
+            } else {
+                continue;
+            }
+            double relativa = y != 0.0 ? derivada * valor / y : Double.NaN;
+            sensibilidades.add(new ResultadoSensibilidad.Sensibilidad(elemento.getOrigen(), parametro, valor, derivada, relativa));
+        }
+        // Mayor efecto de un mismo cambio relativo primero
+        sensibilidades.sort(Comparator.comparingDouble(
+                (ResultadoSensibilidad.Sensibilidad s) -> Math.abs(s.getDerivada() * s.getValor())).reversed());
+
+        String unidad = salida.getOrigen() instanceof Amperimetro ? "A" : "V";
+        String mensaje = String.format("Sensibilidad de %s (%.6g %s) respecto de %d parámetros",
+                salida.getOrigen().getNombre(), y, unidad, sensibilidades.size());
+        return new ResultadoSensibilidad(true, mensaje, y, unidad, sensibilidades);
+    }
+
+    private static double adjunta(double[] lambda, int nodo) {
+        return nodo == 0 ? 0.0 : lambda[nodo - 1];
+    }
+}
@@ -0,0 +1,233 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Barrido de un parámetro de componente sobre una lista de valores (simulación DC en cada punto).
+ *
+ * Los puntos se reparten en bloques contiguos, uno por hilo del ForkJoinPool común. Cada bloque trabaja
+ * sobre su propia copia del circuito, con sus netlists y sistemas MNA, así que no comparte nada con
+ * los demás ni toca el circuito original. Dentro del bloque cada punto arranca del anterior: el
+ * sistema conserva ordenamiento y pivotes (o corrige con Woodbury si solo cambió una conductancia) y
+ * Newton-Raphson parte de la solución del vecino. Las islas que no contienen el componente se
+ * resuelven una sola vez. Con un {@link ControlSimulacion} se revisa la cancelación en cada punto.
+ */
+public class BarridoParametrico {
+
+    /**
+     * Simula el circuito con cada valor del parámetro y devuelve la tabla de voltajes y corrientes
+     */
+    public ResultadoBarrido barrer(Circuito circuito, Componente componente, ParametroBarrido parametro, double[] valores) {
+        return barrer(circuito, componente, parametro, valores, ControlSimulacion.NINGUNO);
+    }
+
+    /**
+     * Barre revisando el control en cada punto: si se cancela o vence su plazo, el resultado no es exitoso
+     */
+    public ResultadoBarrido barrer(Circuito circuito, Componente componente, ParametroBarrido parametro, double[] valores,
+                                   ControlSimulacion control) {
+        if (!parametro.aplicaA(componente)) {
+            return new ResultadoBarrido(false, "El parámetro " + parametro.getNombre() + " no existe en " + componente.getTipo());
+        }
+        if (valores.length == 0) {
+            return new ResultadoBarrido(false, "No hay valores que barrer");
+        }
+        try {
+            byte[] copia = serializar(circuito);
+            int bloques = Math.min(valores.length, ForkJoinPool.getCommonPoolParallelism());
+            Trabajador[] trabajadores = new Trabajador[bloques];
+            ControlSimulacion controlBloques = control.sinProgreso();
+            trabajadores[0] = new Trabajador(deserializar(copia), componente.getId(), parametro, controlBloques);
+            if (trabajadores[0].islaBarrida < 0) {
+                return new ResultadoBarrido(false, "El componente no está conectado al circuito");
+            }
+
+            Trabajador referencia = trabajadores[0];
+            int numNodos = referencia.numNodos;
+            int numElementos = referencia.numElementos;
+            double[] voltajes = new double[valores.length * numNodos];
+            double[] corrientes = new double[valores.length * numElementos];
+            int[] fallidos = new int[bloques];
+            if (bloques == 1) {
+                fallidos[0] = referencia.resolver(valores, 0, valores.length, voltajes, corrientes);
+            } else {
+                ForkJoinPool.commonPool().submit(() ->
+                        IntStream.range(0, bloques).parallel().forEach(b -> {
+                            if (trabajadores[b] == null) {
+                                trabajadores[b] = new Trabajador(deserializar(copia), componente.getId(), parametro,
+                                        controlBloques);
+                            }
+                            fallidos[b] = trabajadores[b].resolver(valores,
+                                    (int) ((long) b * valores.length / bloques),
+                                    (int) ((long) (b + 1) * valores.length / bloques),
+                                    voltajes, corrientes);
+                        })
+                ).get();
+            }
+
+            int totalFallidos = Arrays.stream(fallidos).sum();
+            String mensaje = String.format("Barrido exitoso (%d puntos, %d sin converger)", valores.length, totalFallidos);
+            return new ResultadoBarrido(totalFallidos < valores.length, mensaje, valores.clone(), voltajes, corrientes,
+                    numNodos, referencia.idsElementos(), referencia.islas, totalFallidos);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SimulacionCancelada) {
+                return new ResultadoBarrido(false, e.getCause().getMessage());
+            }
+            return new ResultadoBarrido(false, "Error en barrido: " + e.getCause().getMessage());
+        } catch (SimulacionCancelada e) {
+            return new ResultadoBarrido(false, e.getMessage());
+        } catch (Exception e) {
+            return new ResultadoBarrido(false, "Error en barrido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Valores equiespaciados entre inicio y fin (ambos incluidos)
+     */
+    public static double[] espaciarLinealmente(double inicio, double fin, int puntos) {
+        double[] valores = new double[Math.max(puntos, 1)];
+        for (int k = 0; k < valores.length; k++) {
+            valores[k] = valores.length == 1 ? inicio : inicio + (fin - inicio) * k / (valores.length - 1);
+        }
+        return valores;
+    }
+
+    private static byte[] serializar(Circuito circuito) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream salida = new ObjectOutputStream(bytes)) {
+            salida.writeObject(circuito);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Circuito deserializar(byte[] copia) {
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(copia))) {
+            return (Circuito) entrada.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("No se pudo copiar el circuito: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Espacio de trabajo de un hilo: copia del circuito, netlists y sistemas
+     */
+    private static class Trabajador {
+        final Componente componente;
+        final ParametroBarrido parametro;
+        final NetlistCircuito[] islas;
+        final SistemaMNA[] sistemas;
+        final ControlSimulacion control;
+        final int[] primerNodo;
+        final int[] primerElemento;
+        final int numNodos;
+        final int numElementos;
+        final int islaBarrida;
+        boolean islasFijasResueltas;
+
+        Trabajador(Circuito copia, String idComponente, ParametroBarrido parametro, ControlSimulacion control) {
+            this.componente = copia.getComponentes().stream()
+                    .filter(c -> c.getId().equals(idComponente))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("El componente no pertenece al circuito"));
+            this.parametro = parametro;
+            this.islas = NetlistCircuito.compilar(copia);
+            this.sistemas = new SistemaMNA[islas.length];
+            this.control = control;
+            this.primerNodo = new int[islas.length];
+            this.primerElemento = new int[islas.length];
+            int nodos = 0;
+            int elementos = 0;
+            int barrida = -1;
+            for (int i = 0; i < islas.length; i++) {
+                sistemas[i] = new SistemaMNA(islas[i]);
+                sistemas[i].setControl(control);
+                primerNodo[i] = nodos;
+                primerElemento[i] = elementos;
+                nodos += islas[i].getNumNodos();
+                elementos += islas[i].getNumElementos();
+                for (ElementoCircuito elemento : islas[i].getElementos()) {
+                    if (elemento.getOrigen() == componente) {
+                        barrida = i;
+                    }
+                }
+            }
+            this.numNodos = nodos;
+            this.numElementos = elementos;
+            this.islaBarrida = barrida;
+        }
+
+        /**
+         * Resuelve los puntos [desde, hasta) en orden; devuelve cuántos no convergieron
+         */
+        int resolver(double[] valores, int desde, int hasta, double[] voltajes, double[] corrientes) {
+            int fallidos = 0;
+            for (int k = desde; k < hasta; k++) {
+                control.verificar();
+                parametro.aplicar(componente, valores[k]);
+                if (!islasFijasResueltas) {
+                    for (int i = 0; i < islas.length; i++) {
+                        if (i != islaBarrida) resolverIsla(i, k, voltajes, corrientes);
+                    }
+                    islasFijasResueltas = true;
+                } else {
+                    // Las demás islas no cambian: se copia la fila anterior
+                    for (int i = 0; i < islas.length; i++) {
+                        if (i == islaBarrida) continue;
+                        System.arraycopy(voltajes, (k - 1) * numNodos + primerNodo[i],
+                                voltajes, k * numNodos + primerNodo[i], islas[i].getNumNodos());
+                        System.arraycopy(corrientes, (k - 1) * numElementos + primerElemento[i],
+                                corrientes, k * numElementos + primerElemento[i], islas[i].getNumElementos());
+                    }
+                }
+                if (!resolverIsla(islaBarrida, k, voltajes, corrientes)) {
+                    fallidos++;
+                }
+            }
+            return fallidos;
+        }
+
+        private boolean resolverIsla(int i, int punto, double[] voltajes, double[] corrientes) {
+            NetlistCircuito isla = islas[i];
+            int filaNodos = punto * numNodos + primerNodo[i];
+            int filaElementos = punto * numElementos + primerElemento[i];
+            if (isla.getNumNodos() < 2) return true;
+            try {
+                isla.actualizarValores();
+                sistemas[i].estampar();
+                double[] solucion = sistemas[i].resolver();
+                double[] voltajesNodos = isla.voltajesNodos(solucion);
+                double[] corrientesIsla = SimuladorCircuito.calcularCorrientesElementos(isla, voltajesNodos, solucion);
+                System.arraycopy(voltajesNodos, 0, voltajes, filaNodos, voltajesNodos.length);
+                System.arraycopy(corrientesIsla, 0, corrientes, filaElementos, corrientesIsla.length);
+                return true;
+            } catch (ArithmeticException e) {
+                Arrays.fill(voltajes, filaNodos, filaNodos + isla.getNumNodos(), Double.NaN);
+                Arrays.fill(corrientes, filaElementos, filaElementos + isla.getNumElementos(), Double.NaN);
+                return false;
+            }
+        }
+
+        String[] idsElementos() {
+            String[] ids = new String[numElementos];
+            for (int i = 0; i < islas.length; i++) {
+                ElementoCircuito[] elementos = islas[i].getElementos();
+                for (int e = 0; e < elementos.length; e++) {
+                    ids[primerElemento[i] + e] = elementos[e].getOrigen().getId();
+                }
+            }
+            return ids;
+        }
+    }
+}
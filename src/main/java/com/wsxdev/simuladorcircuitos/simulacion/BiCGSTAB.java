@@ -0,0 +1,108 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gradiente biconjugado estabilizado con precondicionamiento por la derecha, para el sistema
+ * MNA general (no simétrico o indefinido por las ramas de las fuentes)
+ */
+public class BiCGSTAB extends SolucionadorIterativo {
+    // Si (r̂, r) o (r̂, v) caen por debajo de esta fracción del producto de normas, se cambia la sombra r̂
+    private static final double UMBRAL_RUPTURA = 1e-10;
+    private static final long SEMILLA_SOMBRA = 0x5EEDL;
+    // Rupturas seguidas sin completar una iteración antes de darse por vencido
+    private static final int MAX_REINICIOS_SEGUIDOS = 8;
+    
+    public BiCGSTAB(double tolerancia, int maxIteraciones) {
+        super(tolerancia, maxIteraciones);
+    }
+    
+    @Override
+    public ResultadoIterativo resolver(MatrizDispersa a, double[] b, double[] x0, Precondicionador m) {
+        int n = b.length;
+        m = identidadSiNulo(m);
+        double[] x = inicial(x0, n);
+        double normaB = norma(b);
+        if (normaB == 0.0) {
+            return new ResultadoIterativo(new double[n], 0, 0.0, new double[0], true);
+        }
+        
+        double[] r = new double[n];
+        residuo(a, b, x, r);
+        double res = norma(r) / normaB;
+        if (res <= tolerancia) {
+            return new ResultadoIterativo(x, 0, res, new double[0], true);
+        }
+        double[] rSombra = r.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] pSombrero = new double[n];
+        double[] s = new double[n];
+        double[] sSombrero = new double[n];
+        double[] t = new double[n];
+        double[] historial = new double[maxIteraciones];
+        double rho = 0.0, alfa = 1.0, omega = 1.0; // rho = 0 marca el inicio de la recurrencia
+        
+        SplittableRandom azar = new SplittableRandom(SEMILLA_SOMBRA);
+        boolean reiniciar = false;
+        int reiniciosSeguidos = 0;
+        int k = 0;
+        while (k < maxIteraciones) {
+            if (reiniciar) {
+                // Ruptura: se toma una sombra nueva, r perturbado al azar, y se reinicia la recurrencia.
+                // No cuenta como iteración ni entra en el historial.
+                if (++reiniciosSeguidos > MAX_REINICIOS_SEGUIDOS) break;
+                double escala = norma(r) / Math.sqrt(n);
+                for (int i = 0; i < n; i++) {
+                    rSombra[i] = r[i] + escala * (2.0 * azar.nextDouble() - 1.0);
+                }
+                reiniciar = false;
+            }
+            double rhoNuevo = producto(rSombra, r);
+            if (Math.abs(rhoNuevo) <= UMBRAL_RUPTURA * norma(rSombra) * norma(r)) {
+                reiniciar = true;
+                rho = 0.0;
+                continue;
+            }
+            double beta = rho == 0.0 ? 0.0 : (rhoNuevo / rho) * (alfa / omega);
+            rho = rhoNuevo;
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+            m.aplicar(p, pSombrero);
+            a.multiplicar(pSombrero, v);
+            double sombraV = producto(rSombra, v);
+            if (Math.abs(sombraV) <= UMBRAL_RUPTURA * norma(rSombra) * norma(v)) {
+                reiniciar = true;
+                rho = 0.0;
+                continue;
+            }
+            alfa = rho / sombraV;
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alfa * v[i];
+            }
+            double resS = norma(s) / normaB;
+            if (resS <= tolerancia) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += alfa * pSombrero[i];
+                }
+                res = resS;
+                historial[k++] = res;
+                break;
+            }
+            m.aplicar(s, sSombrero);
+            a.multiplicar(sSombrero, t);
+            double tt = producto(t, t);
+            omega = tt != 0.0 ? producto(t, s) / tt : 0.0;
+            for (int i = 0; i < n; i++) {
+                x[i] += alfa * pSombrero[i] + omega * sSombrero[i];
+                r[i] = s[i] - omega * t[i];
+            }
+            res = norma(r) / normaB;
+            historial[k++] = res;
+            reiniciosSeguidos = 0;
+            if (res <= tolerancia || omega == 0.0 || !Double.isFinite(res)) break;
+        }
+        return new ResultadoIterativo(x, k, res, recortar(historial, k), res <= tolerancia);
+    }
+}
@@ -0,0 +1,24 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Cable;
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+
+/**
+ * Componente Cable: conductor con su resistencia propia
+ */
+public class CableSimulacion extends ResistenciaSimulacion {
+    
+    public CableSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+    
+    @Override
+    public double leerValor() {
+        return 1.0 / ((Cable) origen).getResistencia();
+    }
+    
+    @Override
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+        ((Cable) origen).actualizarCorriente(corriente);
+    }
+}
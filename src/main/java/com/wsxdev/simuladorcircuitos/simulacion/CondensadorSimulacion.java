@@ -0,0 +1,134 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Condensador;
+
+/**
+ * Condensador; el valor guardado es la capacitancia (F).
+ * En DC es un circuito abierto (solo una conductancia mínima para no dejar nodos flotantes). En el
+ * análisis transitorio se reemplaza por el modelo compañero de la regla de integración:
+ *   Backward Euler: i = (C/h)·(v − vₙ)
+ *   Trapezoidal:    i = (2C/h)·(v − vₙ) − iₙ
+ * La matriz solo depende de h y de la regla, así que con paso fijo se factoriza una vez.
+ */
+public class CondensadorSimulacion extends ResistenciaSimulacion {
+    private static final double CONDUCTANCIA_MINIMA = 1e-12;
+
+    private double g = CONDUCTANCIA_MINIMA;
+    private double ieq;
+    // Estado aceptado: vₙ, iₙ y dos voltajes anteriores para estimar el error local
+    private double voltaje;
+    private double corriente;
+    private double voltaje1;
+    private double voltaje2;
+
+    public CondensadorSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+
+    @Override
+    public double leerValor() {
+        return ((Condensador) origen).getCapacitancia();
+    }
+
+    @Override
+    public boolean esConductancia() {
+        return false;
+    }
+
+    /**
+     * Condición inicial del análisis transitorio
+     */
+    public void iniciarEstado() {
+        voltaje = ((Condensador) origen).getVoltajeInicial();
+        voltaje1 = voltaje;
+        voltaje2 = voltaje;
+        corriente = 0.0;
+    }
+
+    /**
+     * Fija el modelo compañero para un paso de tamaño h
+     */
+    public void prepararPaso(double h, boolean trapezoidal) {
+        double c = valores[indice];
+        if (trapezoidal) {
+            g = 2.0 * c / h;
+            ieq = -g * voltaje - corriente;
+        } else {
+            g = c / h;
+            ieq = -g * voltaje;
+        }
+    }
+
+    /**
+     * Error de truncamiento local del paso recién calculado, estimado con diferencias divididas:
+     * h²·|v[tₙ₊₁, tₙ, tₙ₋₁]| en Backward Euler y h³/2·|v[tₙ₊₁, …, tₙ₋₂]| en trapezoidal
+     */
+    public double errorLocal(double[] solucion, double h, double h1, double h2, boolean trapezoidal) {
+        double vNuevo = tension(solucion);
+        double d1 = (vNuevo - voltaje) / h;
+        double d1Anterior = (voltaje - voltaje1) / h1;
+        double d2 = (d1 - d1Anterior) / (h + h1);
+        if (!trapezoidal) {
+            return h * h * Math.abs(d2);
+        }
+        double d2Anterior = (d1Anterior - (voltaje1 - voltaje2) / h2) / (h1 + h2);
+        double d3 = (d2 - d2Anterior) / (h + h1 + h2);
+        return 0.5 * h * h * h * Math.abs(d3);
+    }
+
+    /**
+     * Escala de voltaje para la tolerancia relativa del paso
+     */
+    public double magnitud(double[] solucion) {
+        return Math.max(Math.abs(tension(solucion)), Math.abs(voltaje));
+    }
+
+    /**
+     * Avanza el estado con la solución aceptada
+     */
+    public void aceptarPaso(double[] solucion) {
+        double vNuevo = tension(solucion);
+        corriente = g * vNuevo + ieq;
+        voltaje2 = voltaje1;
+        voltaje1 = voltaje;
+        voltaje = vNuevo;
+    }
+
+    @Override
+    public void estampar(double[] matriz, double[] rhs) {
+        if (posAA >= 0) matriz[posAA] += g;
+        if (posBB >= 0) matriz[posBB] += g;
+        if (posAB >= 0) {
+            matriz[posAB] -= g;
+            matriz[posBA] -= g;
+        }
+        int i = incognita(nodoA);
+        int j = incognita(nodoB);
+        if (i >= 0) rhs[i] -= ieq;
+        if (j >= 0) rhs[j] += ieq;
+    }
+
+    /**
+     * Estampa C con el patrón de una conductancia: es la parte imaginaria (ωC) de la admitancia en AC
+     */
+    public void estamparCapacitancia(double[] matriz) {
+        double c = valores[indice];
+        if (posAA >= 0) matriz[posAA] += c;
+        if (posBB >= 0) matriz[posBB] += c;
+        if (posAB >= 0) {
+            matriz[posAB] -= c;
+            matriz[posBA] -= c;
+        }
+    }
+
+    @Override
+    public double calcularCorriente(double[] voltajesNodos, double[] solucion) {
+        return g * (voltajesNodos[nodoA] - voltajesNodos[nodoB]) + ieq;
+    }
+
+    @Override
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+        ((Condensador) origen).actualizarEstado(diferenciaPotencial, corriente);
+    }
+}
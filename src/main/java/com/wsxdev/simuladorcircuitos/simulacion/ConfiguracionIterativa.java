@@ -0,0 +1,115 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Opciones del modo iterativo de {@link SistemaMNA}.
+ * Con el método AUTOMATICO se usa gradiente conjugado cuando el sistema se puede reducir a una red
+ * resistiva simétrica (fuentes referidas a tierra) y BiCGSTAB en el caso MNA general.
+ * La multimalla algebraica solo se aplica al sistema simétrico reducido; en el caso general se
+ * sustituye por BiCGSTAB con ILU(0).
+ */
+public class ConfiguracionIterativa {
+    
+    public enum Metodo {
+        AUTOMATICO,
+        GRADIENTE_CONJUGADO,
+        BICGSTAB,
+        GMRES,
+        MULTIMALLA  // Ciclos V repetidos, sin Krylov
+    }
+    
+    public enum TipoPrecondicionador {
+        NINGUNO,
+        JACOBI,
+        SSOR,
+        ILU0,
+        MULTIMALLA  // Un ciclo V por aplicación
+    }
+    
+    private Metodo metodo;
+    private TipoPrecondicionador precondicionador;
+    private double tolerancia;
+    private int maxIteraciones;
+    private int reinicioGMRES;
+    private double omegaSSOR;
+    private boolean arranqueEnCaliente;
+    
+    public ConfiguracionIterativa() {
+        this.metodo = Metodo.AUTOMATICO;
+        this.precondicionador = TipoPrecondicionador.ILU0;
+        this.tolerancia = 1e-10;
+        this.maxIteraciones = 5000;
+        this.reinicioGMRES = 50;
+        this.omegaSSOR = 1.2;
+        this.arranqueEnCaliente = true;
+    }
+    
+    /**
+     * Gradiente conjugado precondicionado con multimalla algebraica, para mallas resistivas grandes
+     */
+    public static ConfiguracionIterativa multimalla() {
+        ConfiguracionIterativa configuracion = new ConfiguracionIterativa();
+        configuracion.setMetodo(Metodo.GRADIENTE_CONJUGADO);
+        configuracion.setPrecondicionador(TipoPrecondicionador.MULTIMALLA);
+        return configuracion;
+    }
+    
+    /**
+     * Crea el solucionador; si el sistema no es simétrico, el gradiente conjugado se cambia por BiCGSTAB
+     */
+    public SolucionadorIterativo crearSolucionador(boolean simetrico) {
+        Metodo elegido = metodo;
+        if (elegido == Metodo.AUTOMATICO
+                || ((elegido == Metodo.GRADIENTE_CONJUGADO || elegido == Metodo.MULTIMALLA) && !simetrico)) {
+            elegido = simetrico ? Metodo.GRADIENTE_CONJUGADO : Metodo.BICGSTAB;
+        }
+        switch (elegido) {
+            case GRADIENTE_CONJUGADO:
+                return new GradienteConjugado(tolerancia, maxIteraciones);
+            case GMRES:
+                return new GMRES(tolerancia, maxIteraciones, reinicioGMRES);
+            case MULTIMALLA:
+                return new IteracionEstacionaria(tolerancia, maxIteraciones);
+            default:
+                return new BiCGSTAB(tolerancia, maxIteraciones);
+        }
+    }
+    
+    /**
+     * Construye el precondicionador para la matriz dada (null si no se usa ninguno).
+     * El método MULTIMALLA siempre usa la jerarquía multimalla, sea cual sea el tipo elegido.
+     */
+    public Precondicionador crearPrecondicionador(MatrizDispersa matriz, boolean simetrico) {
+        TipoPrecondicionador tipo = metodo == Metodo.MULTIMALLA ? TipoPrecondicionador.MULTIMALLA : precondicionador;
+        if (tipo == TipoPrecondicionador.MULTIMALLA && !simetrico) {
+            tipo = TipoPrecondicionador.ILU0;
+        }
+        switch (tipo) {
+            case JACOBI:
+                return new PrecondicionadorJacobi(matriz);
+            case SSOR:
+                return new PrecondicionadorSSOR(matriz, omegaSSOR);
+            case ILU0:
+                return new PrecondicionadorILU0(matriz);
+            case MULTIMALLA:
+                return new MultimallaAlgebraica(matriz);
+            default:
+                return null;
+        }
+    }
+    
+    // Getters y setters
+    public Metodo getMetodo() { return metodo; }
+    public void setMetodo(Metodo metodo) { this.metodo = metodo; }
+    public TipoPrecondicionador getPrecondicionador() { return precondicionador; }
+    public void setPrecondicionador(TipoPrecondicionador precondicionador) { this.precondicionador = precondicionador; }
+    public double getTolerancia() { return tolerancia; }
+    public void setTolerancia(double tolerancia) { this.tolerancia = tolerancia; }
+    public int getMaxIteraciones() { return maxIteraciones; }
+    public void setMaxIteraciones(int maxIteraciones) { this.maxIteraciones = maxIteraciones; }
+    public int getReinicioGMRES() { return reinicioGMRES; }
+    public void setReinicioGMRES(int reinicioGMRES) { this.reinicioGMRES = reinicioGMRES; }
+    public double getOmegaSSOR() { return omegaSSOR; }
+    public void setOmegaSSOR(double omegaSSOR) { this.omegaSSOR = omegaSSOR; }
+    public boolean isArranqueEnCaliente() { return arranqueEnCaliente; }
+    public void setArranqueEnCaliente(boolean arranqueEnCaliente) { this.arranqueEnCaliente = arranqueEnCaliente; }
+}
@@ -0,0 +1,50 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Estructura union-find sobre enteros 0..n-1 (unión por tamaño y compresión de caminos)
+ */
+public class ConjuntosDisjuntos {
+    private final int[] padre;
+    private final int[] tamano;
+    
+    public ConjuntosDisjuntos(int n) {
+        padre = new int[n];
+        tamano = new int[n];
+        for (int i = 0; i < n; i++) {
+            padre[i] = i;
+            tamano[i] = 1;
+        }
+    }
+    
+    /**
+     * Obtiene el representante del conjunto que contiene a x
+     */
+    public int buscar(int x) {
+        while (padre[x] != x) {
+            padre[x] = padre[padre[x]];
+            x = padre[x];
+        }
+        return x;
+    }
+    
+    /**
+     * Une los conjuntos de a y b; devuelve false si ya estaban unidos
+     */
+    public boolean unir(int a, int b) {
+        int ra = buscar(a);
+        int rb = buscar(b);
+        if (ra == rb) return false;
+        if (tamano[ra] < tamano[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        padre[rb] = ra;
+        tamano[ra] += tamano[rb];
+        return true;
+    }
+    
+    public int getTamano() {
+        return padre.length;
+    }
+}
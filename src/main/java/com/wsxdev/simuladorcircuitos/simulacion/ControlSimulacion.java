@@ -0,0 +1,99 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Control de una simulación en curso: cancelación cooperativa, tiempo límite y avance. Los bucles
+ * largos (compilar, estampar, factorizar, Newton y los métodos iterativos) llaman a {@link #verificar()}
+ * cada tanto; si la simulación se canceló o venció el plazo se lanza {@link SimulacionCancelada}.
+ * Se puede cancelar desde cualquier hilo.
+ */
+public class ControlSimulacion {
+    /** Sin tiempo límite ni observador; no se puede cancelar */
+    public static final ControlSimulacion NINGUNO = new ControlSimulacion(0, null);
+    
+    private final AtomicBoolean cancelada;
+    private final long tiempoLimiteMs;
+    private final long limiteNanos;
+    private final ObservadorProgreso observador;
+    
+    // Último avance informado: solo se avisa cuando cambia la fase o el porcentaje
+    private volatile Fase ultimaFase;
+    private volatile int ultimoPorcentaje = -1;
+    
+    /**
+     * @param tiempoLimiteMs plazo desde ahora en milisegundos; 0 para no tener límite
+     * @param observador     recibe el avance desde los hilos de simulación; puede ser null
+     */
+    public ControlSimulacion(long tiempoLimiteMs, ObservadorProgreso observador) {
+        this(new AtomicBoolean(), tiempoLimiteMs,
+                tiempoLimiteMs > 0 ? System.nanoTime() + tiempoLimiteMs * 1_000_000L : 0, observador);
+    }
+    
+    private ControlSimulacion(AtomicBoolean cancelada, long tiempoLimiteMs, long limiteNanos,
+                              ObservadorProgreso observador) {
+        this.cancelada = cancelada;
+        this.tiempoLimiteMs = tiempoLimiteMs;
+        this.limiteNanos = limiteNanos;
+        this.observador = observador;
+    }
+    
+    /**
+     * Mismo estado de cancelación y plazo, sin informar avance; para tareas que corren en paralelo y
+     * cuyo avance individual no representa el de la simulación
+     */
+    public ControlSimulacion sinProgreso() {
+        return observador == null ? this : new ControlSimulacion(cancelada, tiempoLimiteMs, limiteNanos, null);
+    }
+    
+    /**
+     * Pide que la simulación se detenga en el próximo punto de control
+     */
+    public void cancelar() {
+        if (this != NINGUNO) {
+            cancelada.set(true);
+        }
+    }
+    
+    /**
+     * Punto de control: lanza {@link SimulacionCancelada} si se canceló o venció el plazo
+     */
+    public void verificar() {
+        if (cancelada.get()) {
+            throw new SimulacionCancelada("Simulación cancelada");
+        }
+        if (limiteNanos != 0 && System.nanoTime() - limiteNanos > 0) {
+            cancelada.set(true);
+            throw new SimulacionCancelada("Simulación cancelada: se superó el tiempo límite de " + tiempoLimiteMs + " ms");
+        }
+    }
+    
+    /**
+     * Punto de control que además informa cuánto se hizo de la fase
+     */
+    public void avanzar(Fase fase, long hechos, long total) {
+        verificar();
+        if (observador == null) {
+            return;
+        }
+        int porcentaje = total > 0 ? (int) (100 * hechos / total) : 0;
+        if (fase != ultimaFase || porcentaje != ultimoPorcentaje) {
+            ultimaFase = fase;
+            ultimoPorcentaje = porcentaje;
+            observador.progreso(fase, porcentaje / 100.0);
+        }
+    }
+    
+    public boolean isCancelada() { return cancelada.get(); }
+    public long getTiempoLimiteMs() { return tiempoLimiteMs; }
+    
+    /**
+     * Recibe el avance de la simulación (fracción de la fase entre 0 y 1)
+     */
+    @FunctionalInterface
+    public interface ObservadorProgreso {
+        void progreso(Fase fase, double fraccion);
+    }
+}
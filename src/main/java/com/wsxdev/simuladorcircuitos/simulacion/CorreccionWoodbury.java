@@ -0,0 +1,114 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.LUDecomposition;
+
+/**
+ * Corrección de rango bajo (Sherman-Morrison-Woodbury) sobre una factorización base.
+ * Si solo cambiaron k conductancias, A = A0 + U·C·Uᵀ con C = diag(Δg) y cada columna de U igual a
+ * e_A − e_B, y la solución se obtiene con los factores de A0 y un sistema denso de k × k:
+ *   x = x0 − Z·(C⁻¹ + Uᵀ·Z)⁻¹·Uᵀ·x0,  con x0 = A0⁻¹·b y Z = A0⁻¹·U
+ * Las columnas de Z se guardan por elemento, así que ajustar varias veces el mismo componente
+ * solo cuesta una resolución con los factores por cada ajuste.
+ */
+public class CorreccionWoodbury {
+    // Por encima de este rango sale más barato refactorizar
+    public static final int RANGO_MAXIMO = 16;
+    private static final double UMBRAL_SINGULAR = 1e-12;
+    
+    private final FactorizacionLU base;
+    private final ElementoCircuito[] elementos;
+    private final double[] valoresBase;
+    private final double[][] columnasZ;   // A0⁻¹·u_e por elemento, calculadas al primer uso
+    private final int[] cambiados = new int[RANGO_MAXIMO];
+    private int rango;
+    
+    public CorreccionWoodbury(FactorizacionLU base, ElementoCircuito[] elementos, double[] valores) {
+        this.base = base;
+        this.elementos = elementos;
+        this.valoresBase = valores.clone();
+        this.columnasZ = new double[elementos.length][];
+        this.rango = 0;
+    }
+    
+    /**
+     * Compara los valores actuales con los de la factorización base.
+     * Devuelve false si algún cambio no es de rango uno o si se supera el rango máximo.
+     */
+    public boolean actualizar(double[] valores) {
+        rango = 0;
+        for (int e = 0; e < elementos.length; e++) {
+            if (valores[e] == valoresBase[e] || elementos[e].valorSoloEnRhs()) continue;
+            if (!elementos[e].esConductancia() || rango == RANGO_MAXIMO) {
+                return false;
+            }
+            cambiados[rango++] = e;
+        }
+        return true;
+    }
+    
+    /**
+     * Resuelve el sistema corregido con los cambios registrados en {@link #actualizar}.
+     * Devuelve null si la matriz de capacitancia es singular y hay que refactorizar.
+     */
+    public double[] resolver(double[] b, double[] valores) {
+        double[] x = base.resolver(b);
+        int k = rango;
+        if (k == 0) {
+            return x;
+        }
+        
+        double[][] capacitancia = new double[k][k];
+        double[] w = new double[k];
+        for (int c = 0; c < k; c++) {
+            int e = cambiados[c];
+            double[] z = columnaZ(e);
+            for (int f = 0; f < k; f++) {
+                capacitancia[f][c] = productoU(cambiados[f], z);
+            }
+            capacitancia[c][c] += 1.0 / (valores[e] - valoresBase[e]);
+            w[c] = productoU(e, x);
+        }
+        
+        DecompositionSolver solver = new LUDecomposition(new Array2DRowRealMatrix(capacitancia, false),
+                UMBRAL_SINGULAR).getSolver();
+        if (!solver.isNonSingular()) {
+            return null;
+        }
+        double[] y = solver.solve(new ArrayRealVector(w, false)).toArray();
+        for (int c = 0; c < k; c++) {
+            double[] z = columnasZ[cambiados[c]];
+            double yc = y[c];
+            for (int i = 0; i < x.length; i++) {
+                x[i] -= z[i] * yc;
+            }
+        }
+        return x;
+    }
+    
+    private double[] columnaZ(int e) {
+        if (columnasZ[e] == null) {
+            double[] u = new double[base.getDimension()];
+            int i = elementos[e].getNodoA() - 1;
+            int j = elementos[e].getNodoB() - 1;
+            if (i >= 0) u[i] = 1.0;
+            if (j >= 0) u[j] = -1.0;
+            columnasZ[e] = base.resolver(u);
+        }
+        return columnasZ[e];
+    }
+    
+    /**
+     * u_eᵀ·v, con u_e = e_A − e_B sin la fila de tierra
+     */
+    private double productoU(int e, double[] v) {
+        int i = elementos[e].getNodoA() - 1;
+        int j = elementos[e].getNodoB() - 1;
+        return (i >= 0 ? v[i] : 0.0) - (j >= 0 ? v[j] : 0.0);
+    }
+    
+    public int getRango() { return rango; }
+    public FactorizacionLU getBase() { return base; }
+}
@@ -0,0 +1,140 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+
+/**
+ * Elemento de dos terminales del netlist compilado.
+ * Cada elemento reserva una sola vez, al compilar, las entradas de la matriz que toca y guarda su
+ * posición dentro del arreglo de valores CSC; re-estampar solo escribe en esas posiciones.
+ * El valor numérico vive en el arreglo de valores compartido del netlist.
+ */
+public abstract class ElementoCircuito {
+    protected final int indice;
+    protected final int nodoA;
+    protected final int nodoB;
+    protected final Componente origen;
+    protected final double[] valores;
+    
+    protected ElementoCircuito(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        this.indice = indice;
+        this.nodoA = nodoA;
+        this.nodoB = nodoB;
+        this.origen = origen;
+        this.valores = valores;
+    }
+    
+    /**
+     * Lee del componente el valor numérico que usa el elemento al estampar
+     */
+    public abstract double leerValor();
+    
+    /**
+     * Indica si el elemento necesita una incógnita de corriente de rama
+     */
+    public boolean usaRama() {
+        return false;
+    }
+    
+    public void asignarRama(int rama) {
+    }
+    
+    /**
+     * Indica si el valor entra en la matriz como g·u·uᵀ con u = e_A − e_B (cambios de rango uno)
+     */
+    public boolean esConductancia() {
+        return false;
+    }
+    
+    /**
+     * Indica si el valor solo afecta al vector independiente y no a la matriz
+     */
+    public boolean valorSoloEnRhs() {
+        return false;
+    }
+    
+    /**
+     * Indica si el elemento se linealiza en cada iteración de Newton-Raphson
+     */
+    public boolean esNoLineal() {
+        return false;
+    }
+    
+    /**
+     * Fija el punto de operación inicial de Newton-Raphson cuando no hay una solución previa
+     */
+    public void iniciarPuntoOperacion() {
+    }
+    
+    /**
+     * Linealiza el elemento (modelo compañero) en el punto de operación que da la solución
+     */
+    public void linealizar(double[] solucion) {
+    }
+    
+    /**
+     * Conductancia dI/dV de la última linealización (0 en los elementos lineales)
+     */
+    public double getConductanciaLinealizada() {
+        return 0.0;
+    }
+    
+    /**
+     * Fracción (0, 1] del paso de Newton que admite el elemento sin salirse de su zona de convergencia
+     */
+    public double limitarPaso(double[] solucion, double[] paso) {
+        return 1.0;
+    }
+    
+    /**
+     * Declara las entradas de la matriz que usa el elemento; guarda los índices de tripleta
+     */
+    public abstract void reservar(MatrizDispersa.Tripletas patron);
+    
+    /**
+     * Traduce los índices de tripleta reservados a posiciones del arreglo de valores CSC
+     */
+    public abstract void ubicar(int[] posiciones);
+    
+    /**
+     * Suma la contribución del elemento a la matriz (valores CSC) y al vector independiente
+     */
+    public abstract void estampar(double[] matriz, double[] rhs);
+    
+    /**
+     * Corriente del elemento en el sentido terminal A → terminal B
+     */
+    public abstract double calcularCorriente(double[] voltajesNodos, double[] solucion);
+    
+    /**
+     * Escribe el resultado de la simulación en el componente de origen
+     */
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+    }
+    
+    /**
+     * Incógnita de voltaje de un nodo (-1 para tierra, que no tiene fila ni columna)
+     */
+    protected static int incognita(int nodo) {
+        return nodo - 1;
+    }
+    
+    /**
+     * Diferencia de potencial A − B en un vector de incógnitas (tierra = 0)
+     */
+    protected double tension(double[] solucion) {
+        int i = incognita(nodoA);
+        int j = incognita(nodoB);
+        return (i >= 0 ? solucion[i] : 0.0) - (j >= 0 ? solucion[j] : 0.0);
+    }
+    
+    // Getters
+    public int getIndice() { return indice; }
+    public int getNodoA() { return nodoA; }
+    public int getNodoB() { return nodoB; }
+    public Componente getOrigen() { return origen; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s{%d, %d -> %d}", getClass().getSimpleName(), indice, nodoA, nodoB);
+    }
+}
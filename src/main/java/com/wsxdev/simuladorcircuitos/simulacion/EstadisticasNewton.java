@@ -0,0 +1,38 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Estadísticas de una resolución de Newton-Raphson: iteraciones, factorizaciones del jacobiano,
+ * reducciones del paso y residuo de KCL ‖F(x)‖∞ de cada iteración
+ */
+public class EstadisticasNewton {
+    private final int iteraciones;
+    private final int factorizaciones;
+    private final int reduccionesPaso;
+    private final double residuo;
+    private final double[] historialResiduos;
+    private final boolean convergio;
+    
+    public EstadisticasNewton(int iteraciones, int factorizaciones, int reduccionesPaso, double residuo,
+                              double[] historialResiduos, boolean convergio) {
+        this.iteraciones = iteraciones;
+        this.factorizaciones = factorizaciones;
+        this.reduccionesPaso = reduccionesPaso;
+        this.residuo = residuo;
+        this.historialResiduos = historialResiduos;
+        this.convergio = convergio;
+    }
+    
+    // Getters
+    public int getIteraciones() { return iteraciones; }
+    public int getFactorizaciones() { return factorizaciones; }
+    public int getReduccionesPaso() { return reduccionesPaso; }
+    public double getResiduo() { return residuo; }
+    public double[] getHistorialResiduos() { return historialResiduos; }
+    public boolean isConvergio() { return convergio; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d iteraciones, %d factorizaciones, residuo %.2e%s",
+                iteraciones, factorizaciones, residuo, convergio ? "" : " (sin convergencia)");
+    }
+}
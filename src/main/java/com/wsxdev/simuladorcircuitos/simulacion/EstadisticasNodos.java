@@ -0,0 +1,123 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas acumuladas en línea del voltaje de cada nodo: media y varianza (Welford), mínimo,
+ * máximo e histograma de clases fijas. No guarda las muestras, así que su memoria no depende de
+ * cuántas se agreguen. Dos acumuladores con las mismas clases se combinan con {@link #combinar}.
+ */
+public class EstadisticasNodos {
+    private final int numNodos;
+    private final int numClases;
+    private final double[] limiteInferior; // Por nodo
+    private final double[] anchoClase;     // Por nodo
+    private long muestras;
+    private final double[] media;
+    private final double[] m2;             // Suma de cuadrados de las desviaciones
+    private final double[] minimo;
+    private final double[] maximo;
+    private final long[] histograma;       // numClases por nodo
+    private final long[] debajo;           // Fuera del histograma
+    private final long[] encima;
+
+    public EstadisticasNodos(double[] limiteInferior, double[] anchoClase, int numClases) {
+        this.numNodos = limiteInferior.length;
+        this.numClases = numClases;
+        this.limiteInferior = limiteInferior;
+        this.anchoClase = anchoClase;
+        this.media = new double[numNodos];
+        this.m2 = new double[numNodos];
+        this.minimo = new double[numNodos];
+        this.maximo = new double[numNodos];
+        Arrays.fill(minimo, Double.POSITIVE_INFINITY);
+        Arrays.fill(maximo, Double.NEGATIVE_INFINITY);
+        this.histograma = new long[numNodos * numClases];
+        this.debajo = new long[numNodos];
+        this.encima = new long[numNodos];
+    }
+
+    /**
+     * Agrega una muestra (voltaje de cada nodo)
+     */
+    public void agregar(double[] voltajes) {
+        muestras++;
+        double inverso = 1.0 / muestras;
+        for (int i = 0; i < numNodos; i++) {
+            double v = voltajes[i];
+            double delta = v - media[i];
+            media[i] += delta * inverso;
+            m2[i] += delta * (v - media[i]);
+            if (v < minimo[i]) minimo[i] = v;
+            if (v > maximo[i]) maximo[i] = v;
+            double posicion = (v - limiteInferior[i]) / anchoClase[i];
+            if (posicion < 0.0) {
+                debajo[i]++;
+            } else if (posicion >= numClases) {
+                encima[i]++;
+            } else {
+                histograma[i * numClases + (int) posicion]++;
+            }
+        }
+    }
+
+    /**
+     * Suma a este acumulador las muestras de otro con las mismas clases (Chan et al.)
+     */
+    public void combinar(EstadisticasNodos otra) {
+        if (otra.muestras == 0) return;
+        long total = muestras + otra.muestras;
+        double pesoOtra = (double) otra.muestras / total;
+        double producto = (double) muestras * otra.muestras / total;
+        for (int i = 0; i < numNodos; i++) {
+            double delta = otra.media[i] - media[i];
+            media[i] += delta * pesoOtra;
+            m2[i] += otra.m2[i] + delta * delta * producto;
+            minimo[i] = Math.min(minimo[i], otra.minimo[i]);
+            maximo[i] = Math.max(maximo[i], otra.maximo[i]);
+            debajo[i] += otra.debajo[i];
+            encima[i] += otra.encima[i];
+        }
+        for (int k = 0; k < histograma.length; k++) {
+            histograma[k] += otra.histograma[k];
+        }
+        muestras = total;
+    }
+
+    /**
+     * Acumulador vacío con las mismas clases
+     */
+    public EstadisticasNodos vacia() {
+        return new EstadisticasNodos(limiteInferior, anchoClase, numClases);
+    }
+
+    /**
+     * Varianza muestral (n − 1)
+     */
+    public double getVarianza(int nodo) {
+        return muestras > 1 ? m2[nodo] / (muestras - 1) : 0.0;
+    }
+
+    public double getDesviacion(int nodo) {
+        return Math.sqrt(getVarianza(nodo));
+    }
+
+    /**
+     * Cuentas de cada clase del nodo; la clase k cubre [limiteInferior + k·ancho, limiteInferior + (k+1)·ancho)
+     */
+    public long[] getHistograma(int nodo) {
+        return Arrays.copyOfRange(histograma, nodo * numClases, (nodo + 1) * numClases);
+    }
+
+    // Getters
+    public long getMuestras() { return muestras; }
+    public int getNumNodos() { return numNodos; }
+    public int getNumClases() { return numClases; }
+    public double getMedia(int nodo) { return media[nodo]; }
+    public double getMinimo(int nodo) { return minimo[nodo]; }
+    public double getMaximo(int nodo) { return maximo[nodo]; }
+    public double getLimiteInferior(int nodo) { return limiteInferior[nodo]; }
+    public double getAnchoClase(int nodo) { return anchoClase[nodo]; }
+    public long getDebajo(int nodo) { return debajo[nodo]; }
+    public long getEncima(int nodo) { return encima[nodo]; }
+}
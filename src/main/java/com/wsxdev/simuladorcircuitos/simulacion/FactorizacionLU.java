@@ -0,0 +1,346 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+
+import java.util.Arrays;
+
+/**
+ * Factorización LU dispersa (izquierda a derecha, Gilbert-Peierls) con pivoteo parcial por umbral.
+ * Se factoriza P·A·Q = L·U, donde Q viene del ordenamiento de grado mínimo.
+ *
+ * Si la matriz conserva su patrón y solo cambian los valores, {@link #refactorizar} reutiliza el
+ * ordenamiento, la secuencia de pivotes y los patrones de L y U, y recalcula únicamente los números.
+ *
+ * Con un {@link ControlSimulacion} se revisa la cancelación (y se informa el avance) cada cierto número
+ * de columnas; si se cancela a mitad de camino los factores quedan inválidos.
+ */
+public class FactorizacionLU {
+    // Se prefiere el pivote diagonal si no es mucho menor que el máximo de la columna
+    private static final double UMBRAL_PIVOTE = 0.1;
+    private static final int COLUMNAS_POR_CONTROL = 16; // Potencia de 2; las últimas columnas pueden ser densas
+
+    private final int n;
+    private final int[] q;     // Permutación de columnas
+    private final int[] pinv;  // pinv[filaOriginal] = fila pivotada
+
+    private int[] columnasL, filasL;
+    private double[] valoresL;
+    private int[] columnasU, filasU;
+    private double[] valoresU;
+    private double[] trabajo;
+
+    private FactorizacionLU(int n, int[] q) {
+        this.n = n;
+        this.q = q;
+        this.pinv = new int[n];
+    }
+
+    /**
+     * Ordena y factoriza la matriz
+     */
+    public static FactorizacionLU factorizar(MatrizDispersa matriz) {
+        return factorizar(matriz, ControlSimulacion.NINGUNO);
+    }
+
+    public static FactorizacionLU factorizar(MatrizDispersa matriz, ControlSimulacion control) {
+        control.verificar();
+        return factorizar(matriz, OrdenamientoMinimoGrado.ordenar(matriz, control), control);
+    }
+
+    /**
+     * Factoriza con un ordenamiento de columnas ya calculado (q[k] = columna eliminada en el paso k)
+     */
+    public static FactorizacionLU factorizar(MatrizDispersa matriz, int[] q) {
+        return factorizar(matriz, q, ControlSimulacion.NINGUNO);
+    }
+
+    public static FactorizacionLU factorizar(MatrizDispersa matriz, int[] q, ControlSimulacion control) {
+        FactorizacionLU lu = new FactorizacionLU(matriz.getDimension(), q);
+        lu.factorizarNumerica(matriz, control);
+        return lu;
+    }
+
+    /**
+     * Refactorización numérica para una matriz con el mismo patrón que la original.
+     * Devuelve false si algún pivote de la secuencia guardada deja de ser aceptable; en ese caso
+     * los factores quedan inválidos y hay que volver a factorizar.
+     */
+    public boolean refactorizar(MatrizDispersa matriz) {
+        return refactorizar(matriz, ControlSimulacion.NINGUNO);
+    }
+
+    public boolean refactorizar(MatrizDispersa matriz, ControlSimulacion control) {
+        int[] columnasA = matriz.getColumnas();
+        int[] filasA = matriz.getFilas();
+        double[] valoresA = matriz.getValores();
+        double[] x = new double[n]; // Indexado por fila pivotada
+
+        for (int k = 0; k < n; k++) {
+            if ((k & (COLUMNAS_POR_CONTROL - 1)) == 0) {
+                control.avanzar(Fase.RESOLVER, k, n);
+            }
+            int col = q[k];
+            for (int p = columnasA[col]; p < columnasA[col + 1]; p++) {
+                x[pinv[filasA[p]]] = valoresA[p];
+            }
+            // Las entradas de U fuera de la diagonal están guardadas en orden topológico
+            int finU = columnasU[k + 1] - 1;
+            for (int p = columnasU[k]; p < finU; p++) {
+                int j = filasU[p];
+                double xj = x[j];
+                valoresU[p] = xj;
+                x[j] = 0.0;
+                for (int pl = columnasL[j] + 1; pl < columnasL[j + 1]; pl++) {
+                    x[filasL[pl]] -= valoresL[pl] * xj;
+                }
+            }
+
+            double pivote = x[k];
+            x[k] = 0.0;
+            double maximo = Math.abs(pivote);
+            for (int p = columnasL[k] + 1; p < columnasL[k + 1]; p++) {
+                maximo = Math.max(maximo, Math.abs(x[filasL[p]]));
+            }
+            if (pivote == 0.0 || Math.abs(pivote) < maximo * UMBRAL_PIVOTE) {
+                return false;
+            }
+            valoresU[finU] = pivote;
+            for (int p = columnasL[k] + 1; p < columnasL[k + 1]; p++) {
+                int i = filasL[p];
+                valoresL[p] = x[i] / pivote;
+                x[i] = 0.0;
+            }
+        }
+        return true;
+    }
+
+    private void factorizarNumerica(MatrizDispersa matriz, ControlSimulacion control) {
+        int[] columnasA = matriz.getColumnas();
+        int[] filasA = matriz.getFilas();
+        double[] valoresA = matriz.getValores();
+
+        int capacidad = Math.max(4 * matriz.getNoCeros() + n, 16);
+        columnasL = new int[n + 1];
+        filasL = new int[capacidad];
+        valoresL = new double[capacidad];
+        columnasU = new int[n + 1];
+        filasU = new int[capacidad];
+        valoresU = new double[capacidad];
+
+        double[] x = new double[n];
+        int[] xi = new int[2 * n];
+        int[] marca = new int[n];
+        Arrays.fill(pinv, -1);
+        int lnz = 0;
+        int unz = 0;
+
+        for (int k = 0; k < n; k++) {
+            if ((k & (COLUMNAS_POR_CONTROL - 1)) == 0) {
+                control.avanzar(Fase.RESOLVER, k, n);
+            }
+            columnasL[k] = lnz;
+            columnasU[k] = unz;
+            if (lnz + n > filasL.length) {
+                int nuevaCapacidad = 2 * filasL.length + n;
+                filasL = Arrays.copyOf(filasL, nuevaCapacidad);
+                valoresL = Arrays.copyOf(valoresL, nuevaCapacidad);
+            }
+            if (unz + n > filasU.length) {
+                int nuevaCapacidad = 2 * filasU.length + n;
+                filasU = Arrays.copyOf(filasU, nuevaCapacidad);
+                valoresU = Arrays.copyOf(valoresU, nuevaCapacidad);
+            }
+
+            // x = L \ A(:, col) sobre el patrón alcanzable
+            int col = q[k];
+            int top = alcanzar(columnasA, filasA, col, xi, marca, k + 1);
+            for (int p = top; p < n; p++) {
+                x[xi[p]] = 0.0;
+            }
+            for (int p = columnasA[col]; p < columnasA[col + 1]; p++) {
+                x[filasA[p]] = valoresA[p];
+            }
+            for (int px = top; px < n; px++) {
+                int j = xi[px];
+                int jPivotada = pinv[j];
+                if (jPivotada < 0) continue;
+                double xj = x[j];
+                for (int p = columnasL[jPivotada] + 1; p < columnasL[jPivotada + 1]; p++) {
+                    x[filasL[p]] -= valoresL[p] * xj;
+                }
+            }
+
+            // Elegir pivote entre las filas aún no pivotadas
+            int filaPivote = -1;
+            double maximo = -1.0;
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    double t = Math.abs(x[i]);
+                    if (t > maximo) {
+                        maximo = t;
+                        filaPivote = i;
+                    }
+                } else {
+                    filasU[unz] = pinv[i];
+                    valoresU[unz++] = x[i];
+                }
+            }
+            if (filaPivote == -1 || maximo <= 0.0) {
+                throw new ArithmeticException("Matriz singular en la columna " + col);
+            }
+            if (pinv[col] < 0 && Math.abs(x[col]) >= maximo * UMBRAL_PIVOTE) {
+                filaPivote = col;
+            }
+            double pivote = x[filaPivote];
+            filasU[unz] = k;
+            valoresU[unz++] = pivote;
+            pinv[filaPivote] = k;
+            filasL[lnz] = filaPivote;
+            valoresL[lnz++] = 1.0;
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    filasL[lnz] = i;
+                    valoresL[lnz++] = x[i] / pivote;
+                }
+                x[i] = 0.0;
+            }
+        }
+        columnasL[n] = lnz;
+        columnasU[n] = unz;
+        for (int p = 0; p < lnz; p++) {
+            filasL[p] = pinv[filasL[p]];
+        }
+    }
+
+    /**
+     * Calcula en xi[top..n-1] los nodos alcanzables desde A(:, col) en el grafo de L, en orden topológico
+     */
+    private int alcanzar(int[] columnasA, int[] filasA, int col, int[] xi, int[] marca, int sello) {
+        int top = n;
+        for (int p = columnasA[col]; p < columnasA[col + 1]; p++) {
+            int i = filasA[p];
+            if (marca[i] != sello) {
+                top = profundidad(i, top, xi, marca, sello);
+            }
+        }
+        return top;
+    }
+
+    private int profundidad(int inicio, int top, int[] xi, int[] marca, int sello) {
+        // Pila explícita: xi[0..cabeza] contiene nodos, xi[n..] la posición de recorrido
+        int cabeza = 0;
+        xi[0] = inicio;
+        while (cabeza >= 0) {
+            int j = xi[cabeza];
+            int jPivotada = pinv[j];
+            if (marca[j] != sello) {
+                marca[j] = sello;
+                xi[n + cabeza] = jPivotada < 0 ? 0 : columnasL[jPivotada] + 1;
+            }
+            boolean terminado = true;
+            int fin = jPivotada < 0 ? 0 : columnasL[jPivotada + 1];
+            for (int p = xi[n + cabeza]; p < fin; p++) {
+                int i = filasL[p];
+                if (marca[i] == sello) continue;
+                xi[n + cabeza] = p;
+                xi[++cabeza] = i;
+                terminado = false;
+                break;
+            }
+            if (terminado) {
+                cabeza--;
+                xi[--top] = j;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Resuelve A·x = b
+     */
+    public double[] resolver(double[] b) {
+        double[] resultado = new double[n];
+        resolver(b, resultado);
+        return resultado;
+    }
+    
+    /**
+     * Resuelve A·x = b sobre un arreglo ya reservado, sin reservar memoria (usa un espacio de trabajo
+     * interno, así que una misma factorización no debe usarse desde varios hilos a la vez)
+     */
+    public void resolver(double[] b, double[] resultado) {
+        if (trabajo == null) {
+            trabajo = new double[n];
+        }
+        double[] x = trabajo;
+        for (int k = 0; k < n; k++) {
+            x[pinv[k]] = b[k];
+        }
+        // L·y = P·b (diagonal unitaria almacenada primero)
+        for (int j = 0; j < n; j++) {
+            double xj = x[j];
+            for (int p = columnasL[j] + 1; p < columnasL[j + 1]; p++) {
+                x[filasL[p]] -= valoresL[p] * xj;
+            }
+        }
+        // U·z = y (diagonal almacenada al final de cada columna)
+        for (int j = n - 1; j >= 0; j--) {
+            x[j] /= valoresU[columnasU[j + 1] - 1];
+            double xj = x[j];
+            for (int p = columnasU[j]; p < columnasU[j + 1] - 1; p++) {
+                x[filasU[p]] -= valoresU[p] * xj;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            resultado[q[k]] = x[k];
+        }
+    }
+    
+    /**
+     * Resuelve Aᵀ·x = b con los mismos factores (Aᵀ = Q·Uᵀ·Lᵀ·P): útil para problemas adjuntos
+     */
+    public double[] resolverTranspuesta(double[] b) {
+        double[] x = new double[n];
+        for (int k = 0; k < n; k++) {
+            x[k] = b[q[k]];
+        }
+        // Uᵀ·w = Qᵀ·b: cada columna de U es una fila de Uᵀ
+        for (int j = 0; j < n; j++) {
+            double suma = x[j];
+            int diagonal = columnasU[j + 1] - 1;
+            for (int p = columnasU[j]; p < diagonal; p++) {
+                suma -= valoresU[p] * x[filasU[p]];
+            }
+            x[j] = suma / valoresU[diagonal];
+        }
+        // Lᵀ·y = w (diagonal unitaria)
+        for (int j = n - 1; j >= 0; j--) {
+            double suma = x[j];
+            for (int p = columnasL[j] + 1; p < columnasL[j + 1]; p++) {
+                suma -= valoresL[p] * x[filasL[p]];
+            }
+            x[j] = suma;
+        }
+        double[] resultado = new double[n];
+        for (int i = 0; i < n; i++) {
+            resultado[i] = x[pinv[i]];
+        }
+        return resultado;
+    }
+    
+    // Getters
+    public int getDimension() { return n; }
+    public int[] getOrden() { return q; }
+    public int getNoCerosL() { return columnasL[n]; }
+    public int getNoCerosU() { return columnasU[n]; }
+
+    // Análisis simbólico, para refactorizaciones con otra aritmética (FactorizacionLUCompleja)
+    int[] getPinv() { return pinv; }
+    int[] getColumnasL() { return columnasL; }
+    int[] getFilasL() { return filasL; }
+    int[] getColumnasU() { return columnasU; }
+    int[] getFilasU() { return filasU; }
+    static double getUmbralPivote() { return UMBRAL_PIVOTE; }
+}
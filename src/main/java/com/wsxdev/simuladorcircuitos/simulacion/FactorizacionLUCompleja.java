@@ -0,0 +1,146 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Factorización LU de una matriz compleja (parte real e imaginaria sobre el mismo patrón CSC) que
+ * reutiliza el análisis simbólico de una {@link FactorizacionLU} real: ordenamiento de columnas,
+ * secuencia de pivotes y patrones de L y U. Solo se calculan los números.
+ *
+ * La factorización simbólica no se modifica, así que varios hilos pueden compartirla; cada hilo usa
+ * su propia FactorizacionLUCompleja, que guarda los valores y el espacio de trabajo.
+ */
+public class FactorizacionLUCompleja {
+    private final FactorizacionLU simbolica;
+    private final int n;
+    private final double[] realL, imagL;
+    private final double[] realU, imagU;
+    private final double[] xr, xi; // Trabajo, indexado por fila pivotada
+
+    public FactorizacionLUCompleja(FactorizacionLU simbolica) {
+        this.simbolica = simbolica;
+        this.n = simbolica.getDimension();
+        this.realL = new double[simbolica.getNoCerosL()];
+        this.imagL = new double[realL.length];
+        this.realU = new double[simbolica.getNoCerosU()];
+        this.imagU = new double[realU.length];
+        this.xr = new double[n];
+        this.xi = new double[n];
+    }
+
+    /**
+     * Factoriza A = real + j·imag, cuyo patrón debe ser el de la matriz con la que se hizo el análisis
+     * simbólico. Devuelve false si algún pivote de la secuencia guardada deja de ser aceptable.
+     */
+    public boolean factorizar(MatrizDispersa patron, double[] real, double[] imag) {
+        int[] columnasA = patron.getColumnas();
+        int[] filasA = patron.getFilas();
+        int[] q = simbolica.getOrden();
+        int[] pinv = simbolica.getPinv();
+        int[] columnasL = simbolica.getColumnasL();
+        int[] filasL = simbolica.getFilasL();
+        int[] columnasU = simbolica.getColumnasU();
+        int[] filasU = simbolica.getFilasU();
+        double umbral = FactorizacionLU.getUmbralPivote();
+
+        for (int k = 0; k < n; k++) {
+            int col = q[k];
+            for (int p = columnasA[col]; p < columnasA[col + 1]; p++) {
+                int fila = pinv[filasA[p]];
+                xr[fila] = real[p];
+                xi[fila] = imag[p];
+            }
+            int finU = columnasU[k + 1] - 1;
+            for (int p = columnasU[k]; p < finU; p++) {
+                int j = filasU[p];
+                double ar = xr[j];
+                double ai = xi[j];
+                realU[p] = ar;
+                imagU[p] = ai;
+                xr[j] = 0.0;
+                xi[j] = 0.0;
+                for (int pl = columnasL[j] + 1; pl < columnasL[j + 1]; pl++) {
+                    int i = filasL[pl];
+                    xr[i] -= realL[pl] * ar - imagL[pl] * ai;
+                    xi[i] -= realL[pl] * ai + imagL[pl] * ar;
+                }
+            }
+
+            double pr = xr[k];
+            double pi = xi[k];
+            xr[k] = 0.0;
+            xi[k] = 0.0;
+            double modulo = Math.hypot(pr, pi);
+            double maximo = modulo;
+            for (int p = columnasL[k] + 1; p < columnasL[k + 1]; p++) {
+                maximo = Math.max(maximo, Math.hypot(xr[filasL[p]], xi[filasL[p]]));
+            }
+            if (modulo == 0.0 || modulo < maximo * umbral) {
+                for (int p = columnasL[k] + 1; p < columnasL[k + 1]; p++) {
+                    xr[filasL[p]] = 0.0;
+                    xi[filasL[p]] = 0.0;
+                }
+                return false;
+            }
+            realU[finU] = pr;
+            imagU[finU] = pi;
+            // 1 / pivote
+            double cuadrado = pr * pr + pi * pi;
+            double ir = pr / cuadrado;
+            double ii = -pi / cuadrado;
+            for (int p = columnasL[k] + 1; p < columnasL[k + 1]; p++) {
+                int i = filasL[p];
+                realL[p] = xr[i] * ir - xi[i] * ii;
+                imagL[p] = xr[i] * ii + xi[i] * ir;
+                xr[i] = 0.0;
+                xi[i] = 0.0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resuelve A·x = b sin reservar memoria
+     */
+    public void resolver(double[] bReal, double[] bImag, double[] xReal, double[] xImag) {
+        int[] q = simbolica.getOrden();
+        int[] pinv = simbolica.getPinv();
+        int[] columnasL = simbolica.getColumnasL();
+        int[] filasL = simbolica.getFilasL();
+        int[] columnasU = simbolica.getColumnasU();
+        int[] filasU = simbolica.getFilasU();
+
+        for (int k = 0; k < n; k++) {
+            xr[pinv[k]] = bReal[k];
+            xi[pinv[k]] = bImag[k];
+        }
+        for (int j = 0; j < n; j++) {
+            double ar = xr[j];
+            double ai = xi[j];
+            for (int p = columnasL[j] + 1; p < columnasL[j + 1]; p++) {
+                int i = filasL[p];
+                xr[i] -= realL[p] * ar - imagL[p] * ai;
+                xi[i] -= realL[p] * ai + imagL[p] * ar;
+            }
+        }
+        for (int j = n - 1; j >= 0; j--) {
+            int diagonal = columnasU[j + 1] - 1;
+            double dr = realU[diagonal];
+            double di = imagU[diagonal];
+            double cuadrado = dr * dr + di * di;
+            double ar = (xr[j] * dr + xi[j] * di) / cuadrado;
+            double ai = (xi[j] * dr - xr[j] * di) / cuadrado;
+            xr[j] = ar;
+            xi[j] = ai;
+            for (int p = columnasU[j]; p < diagonal; p++) {
+                int i = filasU[p];
+                xr[i] -= realU[p] * ar - imagU[p] * ai;
+                xi[i] -= realU[p] * ai + imagU[p] * ar;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            xReal[q[k]] = xr[k];
+            xImag[q[k]] = xi[k];
+        }
+    }
+
+    public FactorizacionLU getSimbolica() { return simbolica; }
+}
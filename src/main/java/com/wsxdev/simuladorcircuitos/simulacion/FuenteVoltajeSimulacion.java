@@ -0,0 +1,83 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+
+/**
+ * Fuente de voltaje ideal: Va - Vb = V, con la corriente de rama como incógnita adicional
+ */
+public class FuenteVoltajeSimulacion extends ElementoCircuito {
+    private int rama = -1;
+    private int posAK = -1, posKA = -1, posBK = -1, posKB = -1;
+    
+    public FuenteVoltajeSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+    
+    @Override
+    public double leerValor() {
+        return ((FuenteVoltaje) origen).getVoltaje();
+    }
+    
+    @Override
+    public boolean usaRama() {
+        return true;
+    }
+    
+    @Override
+    public void asignarRama(int rama) {
+        this.rama = rama;
+    }
+    
+    @Override
+    public boolean valorSoloEnRhs() {
+        return true;
+    }
+    
+    @Override
+    public void reservar(MatrizDispersa.Tripletas patron) {
+        int i = incognita(nodoA);
+        int j = incognita(nodoB);
+        if (i >= 0) {
+            posAK = patron.agregar(i, rama, 0.0);
+            posKA = patron.agregar(rama, i, 0.0);
+        }
+        if (j >= 0) {
+            posBK = patron.agregar(j, rama, 0.0);
+            posKB = patron.agregar(rama, j, 0.0);
+        }
+    }
+    
+    @Override
+    public void ubicar(int[] posiciones) {
+        if (posAK >= 0) {
+            posAK = posiciones[posAK];
+            posKA = posiciones[posKA];
+        }
+        if (posBK >= 0) {
+            posBK = posiciones[posBK];
+            posKB = posiciones[posKB];
+        }
+    }
+    
+    @Override
+    public void estampar(double[] matriz, double[] rhs) {
+        if (posAK >= 0) {
+            matriz[posAK] += 1.0;
+            matriz[posKA] += 1.0;
+        }
+        if (posBK >= 0) {
+            matriz[posBK] -= 1.0;
+            matriz[posKB] -= 1.0;
+        }
+        rhs[rama] += valores[indice];
+    }
+    
+    @Override
+    public double calcularCorriente(double[] voltajesNodos, double[] solucion) {
+        // La incógnita de rama es la corriente que entra por el terminal positivo
+        return solucion[rama];
+    }
+    
+    public int getRama() { return rama; }
+}
@@ -0,0 +1,121 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * GMRES con reinicio cada {@code reinicio} iteraciones y precondicionamiento por la derecha.
+ * Más robusto que BiCGSTAB en sistemas MNA mal condicionados, a cambio de guardar la base de Krylov.
+ */
+public class GMRES extends SolucionadorIterativo {
+    private final int reinicio;
+    
+    public GMRES(double tolerancia, int maxIteraciones, int reinicio) {
+        super(tolerancia, maxIteraciones);
+        this.reinicio = Math.max(1, reinicio);
+    }
+    
+    @Override
+    public ResultadoIterativo resolver(MatrizDispersa a, double[] b, double[] x0, Precondicionador m) {
+        int n = b.length;
+        m = identidadSiNulo(m);
+        double[] x = inicial(x0, n);
+        double normaB = norma(b);
+        if (normaB == 0.0) {
+            return new ResultadoIterativo(new double[n], 0, 0.0, new double[0], true);
+        }
+        
+        int dim = Math.min(reinicio, maxIteraciones);
+        double[][] base = new double[dim + 1][];    // V: base ortonormal de Krylov
+        double[][] hessenberg = new double[dim + 1][dim];
+        double[] coseno = new double[dim];
+        double[] seno = new double[dim];
+        double[] g = new double[dim + 1];
+        double[] r = new double[n];
+        double[] w = new double[n];
+        double[] historial = new double[maxIteraciones];
+        
+        residuo(a, b, x, r);
+        double res = norma(r) / normaB;
+        int k = 0;
+        while (res > tolerancia && k < maxIteraciones) {
+            double beta = norma(r);
+            base[0] = new double[n];
+            for (int i = 0; i < n; i++) {
+                base[0][i] = r[i] / beta;
+            }
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+            
+            int j = 0;
+            for (; j < dim && k < maxIteraciones; j++) {
+                // w = A·M⁻¹·v_j, ortogonalizado por Gram-Schmidt modificado
+                m.aplicar(base[j], w);
+                double[] av = new double[n];
+                a.multiplicar(w, av);
+                for (int i = 0; i <= j; i++) {
+                    hessenberg[i][j] = producto(av, base[i]);
+                    for (int l = 0; l < n; l++) {
+                        av[l] -= hessenberg[i][j] * base[i][l];
+                    }
+                }
+                double normaAv = norma(av);
+                hessenberg[j + 1][j] = normaAv;
+                if (normaAv != 0.0) {
+                    for (int l = 0; l < n; l++) {
+                        av[l] /= normaAv;
+                    }
+                }
+                base[j + 1] = av;
+                
+                // Rotaciones de Givens para mantener H triangular
+                for (int i = 0; i < j; i++) {
+                    double temporal = coseno[i] * hessenberg[i][j] + seno[i] * hessenberg[i + 1][j];
+                    hessenberg[i + 1][j] = -seno[i] * hessenberg[i][j] + coseno[i] * hessenberg[i + 1][j];
+                    hessenberg[i][j] = temporal;
+                }
+                double radio = Math.hypot(hessenberg[j][j], hessenberg[j + 1][j]);
+                coseno[j] = radio != 0.0 ? hessenberg[j][j] / radio : 1.0;
+                seno[j] = radio != 0.0 ? hessenberg[j + 1][j] / radio : 0.0;
+                hessenberg[j][j] = radio;
+                hessenberg[j + 1][j] = 0.0;
+                g[j + 1] = -seno[j] * g[j];
+                g[j] = coseno[j] * g[j];
+                
+                res = Math.abs(g[j + 1]) / normaB;
+                historial[k++] = res;
+                if (res <= tolerancia || normaAv == 0.0) {
+                    j++;
+                    break;
+                }
+            }
+            
+            // y = H⁻¹·g, x += M⁻¹·(V·y)
+            double[] y = new double[j];
+            for (int i = j - 1; i >= 0; i--) {
+                double suma = g[i];
+                for (int l = i + 1; l < j; l++) {
+                    suma -= hessenberg[i][l] * y[l];
+                }
+                y[i] = hessenberg[i][i] != 0.0 ? suma / hessenberg[i][i] : 0.0;
+            }
+            double[] correccion = new double[n];
+            for (int i = 0; i < j; i++) {
+                for (int l = 0; l < n; l++) {
+                    correccion[l] += y[i] * base[i][l];
+                }
+            }
+            m.aplicar(correccion, w);
+            for (int l = 0; l < n; l++) {
+                x[l] += w[l];
+            }
+            
+            // Residuo verdadero al reiniciar
+            residuo(a, b, x, r);
+            res = norma(r) / normaB;
+            if (j == 0) break;
+        }
+        return new ResultadoIterativo(x, k, res, recortar(historial, k), res <= tolerancia);
+    }
+    
+    public int getReinicio() { return reinicio; }
+}
@@ -0,0 +1,59 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Gradiente conjugado precondicionado; requiere A y M simétricas definidas positivas
+ * (redes resistivas con los nodos de las fuentes eliminados)
+ */
+public class GradienteConjugado extends SolucionadorIterativo {
+    
+    public GradienteConjugado(double tolerancia, int maxIteraciones) {
+        super(tolerancia, maxIteraciones);
+    }
+    
+    @Override
+    public ResultadoIterativo resolver(MatrizDispersa a, double[] b, double[] x0, Precondicionador m) {
+        int n = b.length;
+        m = identidadSiNulo(m);
+        double[] x = inicial(x0, n);
+        double normaB = norma(b);
+        if (normaB == 0.0) {
+            return new ResultadoIterativo(new double[n], 0, 0.0, new double[0], true);
+        }
+        
+        double[] r = new double[n];
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] q = new double[n];
+        double[] historial = new double[maxIteraciones];
+        residuo(a, b, x, r);
+        double res = norma(r) / normaB;
+        if (res <= tolerancia) {
+            return new ResultadoIterativo(x, 0, res, new double[0], true);
+        }
+        m.aplicar(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = producto(r, z);
+        
+        int k = 0;
+        while (k < maxIteraciones) {
+            a.multiplicar(p, q);
+            double alfa = rz / producto(p, q);
+            for (int i = 0; i < n; i++) {
+                x[i] += alfa * p[i];
+                r[i] -= alfa * q[i];
+            }
+            res = norma(r) / normaB;
+            historial[k++] = res;
+            if (res <= tolerancia || !Double.isFinite(res)) break;
+            
+            m.aplicar(r, z);
+            double rzNuevo = producto(r, z);
+            double beta = rzNuevo / rz;
+            rz = rzNuevo;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return new ResultadoIterativo(x, k, res, recortar(historial, k), res <= tolerancia);
+    }
+}
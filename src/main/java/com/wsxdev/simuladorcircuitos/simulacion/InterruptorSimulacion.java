@@ -0,0 +1,40 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Interruptor;
+
+/**
+ * Interruptor: conductancia 1/R con el contacto cerrado y una mínima abierto (para que no queden nodos
+ * flotantes). Abrir o cerrar cambia la conectividad del circuito, no un ajuste pequeño, así que no se
+ * corrige con Woodbury: {@link SistemaMNA} guarda una factorización por combinación de estados.
+ */
+public class InterruptorSimulacion extends ResistenciaSimulacion {
+    static final double CONDUCTANCIA_ABIERTO = 1e-12;
+
+    public InterruptorSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+
+    @Override
+    public double leerValor() {
+        Interruptor interruptor = (Interruptor) origen;
+        return interruptor.isCerrado() ? 1.0 / interruptor.getResistenciaCerrado() : CONDUCTANCIA_ABIERTO;
+    }
+
+    @Override
+    public boolean esConductancia() {
+        return false;
+    }
+
+    /**
+     * Estado según el valor del arreglo compartido (que es el que se estampa)
+     */
+    public boolean estaCerrado() {
+        return valores[indice] > CONDUCTANCIA_ABIERTO;
+    }
+
+    @Override
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+        ((Interruptor) origen).actualizarCorriente(corriente);
+    }
+}
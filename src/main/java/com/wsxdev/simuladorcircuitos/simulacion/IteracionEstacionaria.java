@@ -0,0 +1,41 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Iteración estacionaria precondicionada x ← x + M⁻¹·(b − A·x).
+ * Con {@link MultimallaAlgebraica} como M cada paso es un ciclo V completo (multimalla sin Krylov).
+ */
+public class IteracionEstacionaria extends SolucionadorIterativo {
+
+    public IteracionEstacionaria(double tolerancia, int maxIteraciones) {
+        super(tolerancia, maxIteraciones);
+    }
+
+    @Override
+    public ResultadoIterativo resolver(MatrizDispersa a, double[] b, double[] x0, Precondicionador m) {
+        int n = b.length;
+        m = identidadSiNulo(m);
+        double[] x = inicial(x0, n);
+        double normaB = norma(b);
+        if (normaB == 0.0) {
+            return new ResultadoIterativo(new double[n], 0, 0.0, new double[0], true);
+        }
+
+        double[] r = new double[n];
+        double[] z = new double[n];
+        double[] historial = new double[maxIteraciones];
+        residuo(a, b, x, r);
+        double res = norma(r) / normaB;
+        int k = 0;
+        while (res > tolerancia && k < maxIteraciones) {
+            m.aplicar(r, z);
+            for (int i = 0; i < n; i++) {
+                x[i] += z[i];
+            }
+            residuo(a, b, x, r);
+            res = norma(r) / normaB;
+            historial[k++] = res;
+            if (!Double.isFinite(res)) break;
+        }
+        return new ResultadoIterativo(x, k, res, recortar(historial, k), res <= tolerancia);
+    }
+}
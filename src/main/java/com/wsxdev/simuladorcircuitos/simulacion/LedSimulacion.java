@@ -0,0 +1,133 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Led;
+
+/**
+ * LED con el modelo de Shockley I = Is·(e^(V/(n·Vt)) − 1) entre ánodo y cátodo.
+ * El valor guardado es Is; en cada iteración de Newton el diodo se reemplaza por su modelo
+ * compañero: conductancia gd = dI/dV en paralelo con la fuente de corriente I(vd) − gd·vd.
+ */
+public class LedSimulacion extends ResistenciaSimulacion {
+    private static final double CONDUCTANCIA_MINIMA = 1e-12; // En paralelo, para que el LED en inversa no deje nodos flotantes
+    private static final double EXPONENTE_MAXIMO = 80.0;     // Por encima la exponencial sigue como recta
+
+    private final double nVt;
+    private double vd;   // Tensión de la última linealización
+    private double gd;
+    private double ieq;
+
+    public LedSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+        this.nVt = Led.COEFICIENTE_EMISION * Led.VOLTAJE_TERMICO;
+    }
+
+    @Override
+    public double leerValor() {
+        return ((Led) origen).getCorrienteSaturacion();
+    }
+
+    @Override
+    public boolean esConductancia() {
+        return false; // La matriz depende del punto de operación, no del valor guardado
+    }
+
+    @Override
+    public boolean esNoLineal() {
+        return true;
+    }
+
+    /**
+     * Arranque en la tensión crítica, como si el LED estuviera conduciendo
+     */
+    @Override
+    public void iniciarPuntoOperacion() {
+        actualizarModelo(tensionCritica());
+    }
+
+    @Override
+    public void linealizar(double[] solucion) {
+        actualizarModelo(tension(solucion));
+    }
+
+    @Override
+    public double getConductanciaLinealizada() {
+        return gd + CONDUCTANCIA_MINIMA;
+    }
+
+    /**
+     * Limitación de la tensión de unión (pnjlim): lejos de la tensión crítica el cambio se acota
+     * de forma logarítmica para que la exponencial no se dispare
+     */
+    @Override
+    public double limitarPaso(double[] solucion, double[] paso) {
+        double vViejo = tension(solucion);
+        double delta = tension(paso);
+        double vNuevo = vViejo + delta;
+        double vCritica = tensionCritica();
+        if (vNuevo <= vCritica || Math.abs(delta) <= 2.0 * nVt) {
+            return 1.0;
+        }
+        double limitada;
+        if (vViejo > 0.0) {
+            double argumento = 1.0 + delta / nVt;
+            limitada = argumento > 0.0 ? vViejo + nVt * Math.log(argumento) : vCritica;
+        } else {
+            limitada = nVt * Math.log(vNuevo / nVt);
+        }
+        return Math.max(0.0, Math.min(1.0, (limitada - vViejo) / delta));
+    }
+
+    @Override
+    public void estampar(double[] matriz, double[] rhs) {
+        double g = gd + CONDUCTANCIA_MINIMA;
+        if (posAA >= 0) matriz[posAA] += g;
+        if (posBB >= 0) matriz[posBB] += g;
+        if (posAB >= 0) {
+            matriz[posAB] -= g;
+            matriz[posBA] -= g;
+        }
+        int i = incognita(nodoA);
+        int j = incognita(nodoB);
+        if (i >= 0) rhs[i] -= ieq;
+        if (j >= 0) rhs[j] += ieq;
+    }
+
+    @Override
+    public double calcularCorriente(double[] voltajesNodos, double[] solucion) {
+        double v = voltajesNodos[nodoA] - voltajesNodos[nodoB];
+        return corriente(v) + CONDUCTANCIA_MINIMA * v;
+    }
+
+    @Override
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+        ((Led) origen).actualizarEstado(corriente);
+    }
+
+    private void actualizarModelo(double v) {
+        vd = v;
+        gd = valores[indice] / nVt * exponencial(v / nVt, true);
+        ieq = corriente(v) - gd * v;
+    }
+
+    private double corriente(double v) {
+        return valores[indice] * (exponencial(v / nVt, false) - 1.0);
+    }
+
+    /**
+     * e^x, o su derivada, prolongada como recta por encima de EXPONENTE_MAXIMO
+     */
+    private static double exponencial(double x, boolean derivada) {
+        if (x <= EXPONENTE_MAXIMO) {
+            return Math.exp(x);
+        }
+        double tope = Math.exp(EXPONENTE_MAXIMO);
+        return derivada ? tope : tope * (1.0 + x - EXPONENTE_MAXIMO);
+    }
+
+    private double tensionCritica() {
+        return nVt * Math.log(nVt / (Math.sqrt(2.0) * valores[indice]));
+    }
+
+    public double getTensionOperacion() { return vd; }
+}
@@ -0,0 +1,191 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Matriz dispersa cuadrada en formato de columnas comprimidas (CSC)
+ */
+public class MatrizDispersa {
+    private final int n;
+    private final int[] columnas; // Inicio de cada columna en filas/valores (n + 1 entradas)
+    private final int[] filas;
+    private final double[] valores;
+
+    public MatrizDispersa(int n, int[] columnas, int[] filas, double[] valores) {
+        this.n = n;
+        this.columnas = columnas;
+        this.filas = filas;
+        this.valores = valores;
+    }
+
+    /**
+     * Calcula y = A·x
+     */
+    public double[] multiplicar(double[] x) {
+        double[] y = new double[n];
+        multiplicar(x, y);
+        return y;
+    }
+
+    /**
+     * Calcula y = A·x sobre un arreglo ya reservado (se sobrescribe)
+     */
+    public void multiplicar(double[] x, double[] y) {
+        Arrays.fill(y, 0.0);
+        for (int j = 0; j < n; j++) {
+            double xj = x[j];
+            if (xj == 0.0) continue;
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                y[filas[p]] += valores[p] * xj;
+            }
+        }
+    }
+
+    /**
+     * Obtiene la transpuesta de la matriz
+     */
+    public MatrizDispersa transpuesta() {
+        int nnz = getNoCeros();
+        int[] conteo = new int[n + 1];
+        for (int p = 0; p < nnz; p++) {
+            conteo[filas[p] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            conteo[i + 1] += conteo[i];
+        }
+        int[] columnasT = Arrays.copyOf(conteo, n + 1);
+        int[] filasT = new int[nnz];
+        double[] valoresT = new double[nnz];
+        for (int j = 0; j < n; j++) {
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                int q = conteo[filas[p]]++;
+                filasT[q] = j;
+                valoresT[q] = valores[p];
+            }
+        }
+        return new MatrizDispersa(n, columnasT, filasT, valoresT);
+    }
+
+    // Getters
+    public int getDimension() { return n; }
+    public int getNoCeros() { return columnas[n]; }
+    public int[] getColumnas() { return columnas; }
+    public int[] getFilas() { return filas; }
+    public double[] getValores() { return valores; }
+
+    /**
+     * Acumulador de entradas (i, j, valor) que se comprime a CSC sumando duplicados
+     */
+    public static class Tripletas {
+        private final int n;
+        private int[] filas;
+        private int[] columnas;
+        private double[] valores;
+        private int cantidad;
+
+        public Tripletas(int n, int capacidadInicial) {
+            this.n = n;
+            int capacidad = Math.max(4, capacidadInicial);
+            this.filas = new int[capacidad];
+            this.columnas = new int[capacidad];
+            this.valores = new double[capacidad];
+            this.cantidad = 0;
+        }
+
+        /**
+         * Suma un valor en la posición (fila, columna) y devuelve el índice de la tripleta
+         */
+        public int agregar(int fila, int columna, double valor) {
+            if (cantidad == filas.length) {
+                int capacidad = filas.length * 2;
+                filas = Arrays.copyOf(filas, capacidad);
+                columnas = Arrays.copyOf(columnas, capacidad);
+                valores = Arrays.copyOf(valores, capacidad);
+            }
+            filas[cantidad] = fila;
+            columnas[cantidad] = columna;
+            valores[cantidad] = valor;
+            return cantidad++;
+        }
+
+        /**
+         * Comprime las tripletas a formato CSC con filas ordenadas y sin duplicados
+         */
+        public MatrizDispersa comprimir() {
+            return comprimir(null);
+        }
+
+        /**
+         * Comprime a CSC; si se indica, posiciones[k] recibe la entrada CSC donde cayó la tripleta k
+         */
+        public MatrizDispersa comprimir(int[] posiciones) {
+            // Agrupar por columna (conteo) y luego ordenar por fila dentro de cada columna
+            int[] inicio = new int[n + 1];
+            for (int k = 0; k < cantidad; k++) {
+                inicio[columnas[k] + 1]++;
+            }
+            for (int j = 0; j < n; j++) {
+                inicio[j + 1] += inicio[j];
+            }
+            int[] siguiente = Arrays.copyOf(inicio, n);
+            int[] orden = new int[cantidad];
+            for (int k = 0; k < cantidad; k++) {
+                orden[siguiente[columnas[k]]++] = k;
+            }
+
+            int[] columnasCsc = new int[n + 1];
+            int[] filasCsc = new int[cantidad];
+            double[] valoresCsc = new double[cantidad];
+            int nnz = 0;
+            for (int j = 0; j < n; j++) {
+                columnasCsc[j] = nnz;
+                ordenarPorFila(orden, inicio[j], inicio[j + 1]);
+                int ultimaFila = -1;
+                for (int p = inicio[j]; p < inicio[j + 1]; p++) {
+                    int k = orden[p];
+                    if (filas[k] == ultimaFila) {
+                        valoresCsc[nnz - 1] += valores[k];
+                    } else {
+                        ultimaFila = filas[k];
+                        filasCsc[nnz] = ultimaFila;
+                        valoresCsc[nnz] = valores[k];
+                        nnz++;
+                    }
+                    if (posiciones != null) {
+                        posiciones[k] = nnz - 1;
+                    }
+                }
+            }
+            columnasCsc[n] = nnz;
+            return new MatrizDispersa(n, columnasCsc,
+                    Arrays.copyOf(filasCsc, nnz), Arrays.copyOf(valoresCsc, nnz));
+        }
+
+        private void ordenarPorFila(int[] orden, int desde, int hasta) {
+            if (hasta - desde <= 32) {
+                // Inserción: casi todas las columnas MNA tienen muy pocas entradas
+                for (int a = desde + 1; a < hasta; a++) {
+                    int k = orden[a];
+                    int b = a - 1;
+                    while (b >= desde && filas[orden[b]] > filas[k]) {
+                        orden[b + 1] = orden[b];
+                        b--;
+                    }
+                    orden[b + 1] = k;
+                }
+            } else {
+                long[] claves = new long[hasta - desde];
+                for (int a = desde; a < hasta; a++) {
+                    claves[a - desde] = ((long) filas[orden[a]] << 32) | orden[a];
+                }
+                Arrays.sort(claves);
+                for (int a = desde; a < hasta; a++) {
+                    orden[a] = (int) claves[a - desde];
+                }
+            }
+        }
+
+        public int getDimension() { return n; }
+        public int getCantidad() { return cantidad; }
+    }
+}
@@ -0,0 +1,391 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.metricas.CronometroFases;
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Análisis transitorio (dominio del tiempo).
+ *
+ * En cada paso los condensadores se sustituyen por su modelo compañero (Backward Euler o trapezoidal)
+ * y el circuito resultante se resuelve como en DC; si hay LEDs, con Newton-Raphson en cada paso.
+ * Las fuentes marcadas como AC entregan V·sen(2π·f·t).
+ *
+ * El paso se controla con el error de truncamiento local de los condensadores y se redondea a
+ * potencias de dos del paso inicial: los tamaños se repiten, y la factorización de cada tamaño se
+ * calcula una vez y se guarda. Con paso fijo el sistema se factoriza una sola vez y cada paso solo
+ * re-estampa y hace una sustitución hacia adelante y hacia atrás, sin reservar memoria.
+ * Con un {@link ControlSimulacion} se revisa la cancelación en cada paso (y dentro de Newton).
+ */
+public class MotorSimulacion {
+
+    public enum MetodoIntegracion {
+        BACKWARD_EULER,
+        TRAPEZOIDAL
+    }
+
+    private static final double SEGURIDAD = 0.9;
+    private static final double CRECIMIENTO_MAXIMO = 2.0;
+    private static final double REDUCCION_MAXIMA = 0.25;
+    private static final int FACTORIZACIONES_GUARDADAS = 16;
+    private static final double PASOS_POR_PERIODO = 40.0; // Paso máximo con fuentes AC
+    private static final int MUESTRAS_INICIALES = 16;    // Cada muestra ocupa numNodos voltajes; crece al doble
+
+    private MetodoIntegracion metodo;
+    private boolean pasoAdaptativo;
+    private double pasoInicial;   // 0 = tiempo final / 1000
+    private double pasoMaximo;    // 0 = tiempo final / 50
+    private double pasoMinimo;    // 0 = paso inicial · 1e-9
+    private double toleranciaRelativa;
+    private double toleranciaAbsoluta; // V
+    private int maxMuestras;
+
+    public MotorSimulacion() {
+        this.metodo = MetodoIntegracion.TRAPEZOIDAL;
+        this.pasoAdaptativo = true;
+        this.toleranciaRelativa = 1e-3;
+        this.toleranciaAbsoluta = 1e-6;
+        this.maxMuestras = 10_000;
+    }
+
+    /**
+     * Simula el circuito desde t = 0 (condensadores con su voltaje inicial) hasta tiempoFinal segundos
+     */
+    public ResultadoTransitorio simular(Circuito circuito, double tiempoFinal) {
+        return simular(circuito, tiempoFinal, ControlSimulacion.NINGUNO);
+    }
+
+    /**
+     * Simula revisando el control en cada paso: si se cancela o vence su plazo, el resultado no es exitoso
+     */
+    public ResultadoTransitorio simular(Circuito circuito, double tiempoFinal, ControlSimulacion control) {
+        if (!(tiempoFinal > 0.0)) {
+            return new ResultadoTransitorio(false, "El tiempo final debe ser positivo");
+        }
+        try {
+            NetlistCircuito[] islas = NetlistCircuito.compilar(circuito, new CronometroFases(), control);
+            if (Arrays.stream(islas).allMatch(isla -> isla.getNumNodos() < 2)) {
+                return new ResultadoTransitorio(false, "El circuito necesita al menos 2 nodos conectados");
+            }
+            return integrar(islas, tiempoFinal, control);
+        } catch (SimulacionCancelada e) {
+            return new ResultadoTransitorio(false, e.getMessage());
+        } catch (Exception e) {
+            return new ResultadoTransitorio(false, "Error en simulación transitoria: " + e.getMessage());
+        }
+    }
+
+    private ResultadoTransitorio integrar(NetlistCircuito[] islas, double tiempoFinal, ControlSimulacion control) {
+        IslaTransitoria[] estados = new IslaTransitoria[islas.length];
+        int numNodos = 0;
+        double frecuenciaMaxima = 0.0;
+        for (int i = 0; i < islas.length; i++) {
+            estados[i] = new IslaTransitoria(islas[i], numNodos, control);
+            numNodos += islas[i].getNumNodos();
+            for (double f : estados[i].frecuencias) {
+                frecuenciaMaxima = Math.max(frecuenciaMaxima, f);
+            }
+        }
+
+        double h0 = pasoInicial > 0.0 ? pasoInicial : tiempoFinal / 1000.0;
+        double hMax = pasoMaximo > 0.0 ? pasoMaximo : tiempoFinal / 50.0;
+        if (frecuenciaMaxima > 0.0) {
+            hMax = Math.min(hMax, 1.0 / (PASOS_POR_PERIODO * frecuenciaMaxima));
+        }
+        if (pasoAdaptativo) {
+            h0 = Math.min(h0, hMax);
+            hMax = Math.scalb(h0, Math.getExponent(hMax / h0)); // Sobre la rejilla h0·2^k
+        } else {
+            hMax = h0;
+        }
+        double hMin = pasoMinimo > 0.0 ? Math.min(pasoMinimo, h0) : h0 * 1e-9;
+
+        Muestras muestras = new Muestras(numNodos, Math.min(maxMuestras, MUESTRAS_INICIALES));
+        double intervaloMuestreo = tiempoFinal / Math.max(1, maxMuestras);
+        for (IslaTransitoria estado : estados) {
+            estado.resolverInicial(hMin);
+        }
+        muestras.registrar(0.0, estados);
+        double proximaMuestra = intervaloMuestreo;
+
+        double t = 0.0;
+        double compensacion = 0.0; // Suma de Kahan: millones de pasos sin acumular redondeo en t
+        double h = h0;
+        double h1 = 0.0;
+        double h2 = 0.0;
+        int aceptados = 0;
+        int rechazados = 0;
+        while (tiempoFinal - t > 1e-6 * h) { // Sin un último paso residual por redondeo
+            control.verificar();
+            double paso = tiempoFinal - t > h * (1.0 - 1e-6) ? h : tiempoFinal - t;
+            boolean trapezoidal = metodo == MetodoIntegracion.TRAPEZOIDAL && aceptados > 0; // Arranque con BE
+            int orden = trapezoidal ? 2 : 1;
+
+            boolean resuelto = true;
+            for (IslaTransitoria estado : estados) {
+                resuelto &= estado.resolverPaso(t + paso, paso, trapezoidal);
+            }
+            if (!resuelto) {
+                // Newton no convergió: paso más corto
+                if (paso <= hMin) {
+                    throw new ArithmeticException("Newton-Raphson no convergió con el paso mínimo en t = " + (t + paso));
+                }
+                rechazados++;
+                h = Math.max(hMin, cuantizar(paso * REDUCCION_MAXIMA, h0));
+                continue;
+            }
+
+            boolean estimar = pasoAdaptativo && aceptados >= orden;
+            double error = 0.0;
+            if (estimar) {
+                for (IslaTransitoria estado : estados) {
+                    error = Math.max(error, estado.errorRelativo(paso, h1, h2, trapezoidal,
+                            toleranciaRelativa, toleranciaAbsoluta));
+                }
+                if (error > 1.0 && paso > hMin) {
+                    rechazados++;
+                    double factor = Math.max(REDUCCION_MAXIMA, SEGURIDAD * Math.pow(error, -1.0 / (orden + 1)));
+                    h = Math.max(hMin, cuantizar(paso * factor, h0));
+                    continue;
+                }
+            }
+
+            for (IslaTransitoria estado : estados) {
+                estado.aceptarPaso();
+            }
+            double incremento = paso - compensacion;
+            double suma = t + incremento;
+            compensacion = (suma - t) - incremento;
+            t = suma;
+            aceptados++;
+            h2 = h1;
+            h1 = paso;
+            if (t >= proximaMuestra || tiempoFinal - t <= 1e-6 * h) {
+                muestras.registrar(t, estados);
+                proximaMuestra = t + intervaloMuestreo;
+            }
+            if (estimar) {
+                double factor = error == 0.0 ? CRECIMIENTO_MAXIMO
+                        : Math.min(CRECIMIENTO_MAXIMO, SEGURIDAD * Math.pow(error, -1.0 / (orden + 1)));
+                h = Math.min(hMax, Math.max(hMin, cuantizar(paso * factor, h0)));
+            }
+        }
+
+        int factorizaciones = 0;
+        for (IslaTransitoria estado : estados) {
+            estado.publicar();
+            factorizaciones += estado.factorizacionesRealizadas;
+        }
+        String mensaje = String.format("Simulación transitoria exitosa (%d pasos, %d rechazados, %d factorizaciones)",
+                aceptados, rechazados, factorizaciones);
+        return new ResultadoTransitorio(true, mensaje, muestras.tiempos(), muestras.voltajes(), numNodos, islas,
+                aceptados, rechazados, factorizaciones);
+    }
+
+    /**
+     * Redondea hacia abajo a la rejilla h0·2^k
+     */
+    private static double cuantizar(double h, double h0) {
+        return Math.scalb(h0, Math.getExponent(h / h0));
+    }
+
+    /**
+     * Estado de integración de una isla
+     */
+    private static class IslaTransitoria {
+        final NetlistCircuito netlist;
+        final SistemaMNA sistema;
+        final int desplazamiento; // Primer nodo de la isla en el resultado
+        final CondensadorSimulacion[] condensadores;
+        final int[] fuentesAC;    // Índices de los valores de las fuentes AC
+        final double[] amplitudes;
+        final double[] frecuencias;
+        final double[] solucion;
+
+        // Factorizaciones por tamaño de paso (clave negativa para Backward Euler), la menos usada sale primero
+        final Map<Double, FactorizacionLU> factorizaciones = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Double, FactorizacionLU> mayor) {
+                return size() > FACTORIZACIONES_GUARDADAS;
+            }
+        };
+        int[] orden;
+        double ultimaClave = Double.NaN;
+        FactorizacionLU ultimaFactorizacion;
+        int factorizacionesRealizadas;
+
+        IslaTransitoria(NetlistCircuito netlist, int desplazamiento, ControlSimulacion control) {
+            this.netlist = netlist;
+            this.sistema = new SistemaMNA(netlist);
+            this.sistema.setControl(control);
+            this.desplazamiento = desplazamiento;
+            this.solucion = new double[sistema.getDimension()];
+
+            List<CondensadorSimulacion> listaCondensadores = new ArrayList<>();
+            List<ElementoCircuito> listaAC = new ArrayList<>();
+            for (ElementoCircuito elemento : netlist.getElementos()) {
+                if (elemento instanceof CondensadorSimulacion) {
+                    CondensadorSimulacion condensador = (CondensadorSimulacion) elemento;
+                    condensador.iniciarEstado();
+                    listaCondensadores.add(condensador);
+                } else if (elemento instanceof FuenteVoltajeSimulacion
+                        && ((FuenteVoltaje) elemento.getOrigen()).isEsAC()) {
+                    listaAC.add(elemento);
+                }
+            }
+            this.condensadores = listaCondensadores.toArray(new CondensadorSimulacion[0]);
+            this.fuentesAC = new int[listaAC.size()];
+            this.amplitudes = new double[listaAC.size()];
+            this.frecuencias = new double[listaAC.size()];
+            for (int k = 0; k < fuentesAC.length; k++) {
+                FuenteVoltaje fuente = (FuenteVoltaje) listaAC.get(k).getOrigen();
+                fuentesAC[k] = listaAC.get(k).getIndice();
+                amplitudes[k] = fuente.getVoltaje();
+                frecuencias[k] = fuente.getFrecuencia();
+            }
+        }
+
+        /**
+         * Resuelve el circuito en t con el modelo compañero de un paso h; false si Newton no convergió
+         */
+        boolean resolverPaso(double t, double h, boolean trapezoidal) {
+            if (solucion.length == 0) return true;
+            for (CondensadorSimulacion condensador : condensadores) {
+                condensador.prepararPaso(h, trapezoidal);
+            }
+            double[] valores = netlist.getValores();
+            for (int k = 0; k < fuentesAC.length; k++) {
+                valores[fuentesAC[k]] = amplitudes[k] * Math.sin(2.0 * Math.PI * frecuencias[k] * t);
+            }
+            sistema.estampar();
+
+            if (sistema.esNoLineal()) {
+                try {
+                    System.arraycopy(sistema.resolver(), 0, solucion, 0, solucion.length);
+                    return true;
+                } catch (ArithmeticException e) {
+                    return false;
+                } finally {
+                    EstadisticasNewton estadisticas = sistema.getUltimasEstadisticasNewton();
+                    if (estadisticas != null) {
+                        factorizacionesRealizadas += estadisticas.getFactorizaciones();
+                    }
+                }
+            }
+
+            double clave = trapezoidal ? h : -h;
+            if (clave != ultimaClave) {
+                ultimaFactorizacion = factorizaciones.get(clave);
+                if (ultimaFactorizacion == null) {
+                    MatrizDispersa matriz = sistema.getMatriz();
+                    if (orden == null) {
+                        orden = OrdenamientoMinimoGrado.ordenar(matriz);
+                    }
+                    ultimaFactorizacion = FactorizacionLU.factorizar(matriz, orden);
+                    factorizaciones.put(clave, ultimaFactorizacion);
+                    factorizacionesRealizadas++;
+                }
+                ultimaClave = clave;
+            }
+            ultimaFactorizacion.resolver(sistema.getRhs(), solucion);
+            return true;
+        }
+
+        /**
+         * Punto de operación en t = 0: un paso Backward Euler de tamaño hMin deja cada condensador
+         * prácticamente fijo en su voltaje inicial (conductancia C/hMin)
+         */
+        void resolverInicial(double hMin) {
+            if (!resolverPaso(0.0, hMin, false)) {
+                throw new ArithmeticException("Newton-Raphson no convergió en el punto inicial");
+            }
+        }
+
+        /**
+         * Mayor cociente error local / tolerancia entre los condensadores de la isla
+         */
+        double errorRelativo(double h, double h1, double h2, boolean trapezoidal,
+                             double toleranciaRelativa, double toleranciaAbsoluta) {
+            double error = 0.0;
+            for (CondensadorSimulacion condensador : condensadores) {
+                double tolerancia = toleranciaRelativa * condensador.magnitud(solucion) + toleranciaAbsoluta;
+                error = Math.max(error, condensador.errorLocal(solucion, h, h1, h2, trapezoidal) / tolerancia);
+            }
+            return error;
+        }
+
+        void aceptarPaso() {
+            for (CondensadorSimulacion condensador : condensadores) {
+                condensador.aceptarPaso(solucion);
+            }
+        }
+
+        /**
+         * Publica en los componentes el estado del último paso
+         */
+        void publicar() {
+            double[] voltajesNodos = netlist.voltajesNodos(solucion);
+            double[] corrientes = SimuladorCircuito.calcularCorrientesElementos(netlist, voltajesNodos, solucion);
+            SimuladorCircuito.actualizarEstadoVisual(netlist, voltajesNodos, corrientes);
+        }
+    }
+
+    /**
+     * Muestras registradas, en arreglos que crecen al doble
+     */
+    private static class Muestras {
+        private final int numNodos;
+        private double[] tiempos;
+        private double[] voltajes;
+        private int cantidad;
+
+        Muestras(int numNodos, int capacidad) {
+            this.numNodos = numNodos;
+            this.tiempos = new double[Math.max(1, capacidad)];
+            this.voltajes = new double[tiempos.length * numNodos];
+        }
+
+        void registrar(double t, IslaTransitoria[] estados) {
+            if (cantidad == tiempos.length) {
+                tiempos = Arrays.copyOf(tiempos, 2 * cantidad);
+                voltajes = Arrays.copyOf(voltajes, tiempos.length * numNodos);
+            }
+            tiempos[cantidad] = t;
+            int fila = cantidad * numNodos;
+            for (IslaTransitoria estado : estados) {
+                // Nodo 0 de cada isla = tierra; la incógnita k es el nodo k + 1
+                int base = fila + estado.desplazamiento;
+                voltajes[base] = 0.0;
+                System.arraycopy(estado.solucion, 0, voltajes, base + 1, estado.netlist.getNumNodos() - 1);
+            }
+            cantidad++;
+        }
+
+        double[] tiempos() { return Arrays.copyOf(tiempos, cantidad); }
+        double[] voltajes() { return Arrays.copyOf(voltajes, cantidad * numNodos); }
+    }
+
+    // Getters y setters
+    public MetodoIntegracion getMetodo() { return metodo; }
+    public void setMetodo(MetodoIntegracion metodo) { this.metodo = metodo; }
+    public boolean isPasoAdaptativo() { return pasoAdaptativo; }
+    public void setPasoAdaptativo(boolean pasoAdaptativo) { this.pasoAdaptativo = pasoAdaptativo; }
+    public double getPasoInicial() { return pasoInicial; }
+    public void setPasoInicial(double pasoInicial) { this.pasoInicial = pasoInicial; }
+    public double getPasoMaximo() { return pasoMaximo; }
+    public void setPasoMaximo(double pasoMaximo) { this.pasoMaximo = pasoMaximo; }
+    public double getPasoMinimo() { return pasoMinimo; }
+    public void setPasoMinimo(double pasoMinimo) { this.pasoMinimo = pasoMinimo; }
+    public double getToleranciaRelativa() { return toleranciaRelativa; }
+    public void setToleranciaRelativa(double toleranciaRelativa) { this.toleranciaRelativa = toleranciaRelativa; }
+    public double getToleranciaAbsoluta() { return toleranciaAbsoluta; }
+    public void setToleranciaAbsoluta(double toleranciaAbsoluta) { this.toleranciaAbsoluta = toleranciaAbsoluta; }
+    public int getMaxMuestras() { return maxMuestras; }
+    public void setMaxMuestras(int maxMuestras) { this.maxMuestras = maxMuestras; }
+}
@@ -0,0 +1,394 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multimalla algebraica por agregación suavizada para sistemas simétricos definidos positivos
+ * (la red resistiva que queda tras {@link ReduccionNodal}).
+ *
+ * En la preparación los nodos fuertemente acoplados se agrupan en agregados, el interpolador
+ * constante por agregado se suaviza con un paso de Jacobi y el operador grueso se forma como
+ * Pᵀ·A·P, nivel tras nivel, hasta llegar a un sistema pequeño que se factoriza con LU.
+ * Cada aplicación es un ciclo V con Gauss-Seidel simétrico como suavizador: sirve como
+ * precondicionador del gradiente conjugado o, repetido, como solucionador por sí mismo.
+ * Preparación y ciclo cuestan O(n), y el número de ciclos casi no crece con el tamaño de la malla.
+ */
+public class MultimallaAlgebraica implements Precondicionador {
+    private static final double UMBRAL_FUERZA = 0.08;   // |a_ij| ≥ θ·√(a_ii·a_jj)
+    private static final int DIMENSION_GRUESA = 100;    // Por debajo se resuelve directo
+    private static final int MAX_NIVELES = 25;
+    private static final double ENGROSAMIENTO_MINIMO = 0.85; // Se detiene si n_grueso > 0.85·n
+
+    private final Nivel[] niveles;
+    private final FactorizacionLU grueso;
+
+    public MultimallaAlgebraica(MatrizDispersa matriz) {
+        List<Nivel> lista = new ArrayList<>();
+        MatrizFilas a = MatrizFilas.desde(matriz.transpuesta()); // CSC de Aᵀ = CSR de A
+        while (true) {
+            Nivel nivel = new Nivel(a);
+            lista.add(nivel);
+            if (a.filas <= DIMENSION_GRUESA || lista.size() == MAX_NIVELES) break;
+            MatrizFilas p = interpolacion(a, nivel.diagonal);
+            if (p.columnas > ENGROSAMIENTO_MINIMO * a.filas) break;
+            nivel.p = p;
+            a = p.transpuesta().multiplicar(a.multiplicar(p));
+        }
+        this.niveles = lista.toArray(new Nivel[0]);
+        this.grueso = FactorizacionLU.factorizar(a.comoDispersa());
+    }
+
+    /**
+     * Un ciclo V partiendo de z = 0
+     */
+    @Override
+    public void aplicar(double[] r, double[] z) {
+        Arrays.fill(z, 0.0);
+        ciclo(0, r, z);
+    }
+
+    private void ciclo(int l, double[] b, double[] x) {
+        if (l == niveles.length - 1) {
+            System.arraycopy(grueso.resolver(b), 0, x, 0, b.length);
+            return;
+        }
+        Nivel nivel = niveles[l];
+        Nivel siguiente = niveles[l + 1];
+        gaussSeidel(nivel, b, x, true);
+        nivel.a.multiplicar(x, nivel.r);
+        for (int i = 0; i < nivel.r.length; i++) {
+            nivel.r[i] = b[i] - nivel.r[i];
+        }
+        nivel.p.multiplicarTranspuesta(nivel.r, siguiente.b);
+        Arrays.fill(siguiente.x, 0.0);
+        ciclo(l + 1, siguiente.b, siguiente.x);
+        nivel.p.sumarProducto(siguiente.x, x);
+        gaussSeidel(nivel, b, x, false);
+    }
+
+    private static void gaussSeidel(Nivel nivel, double[] b, double[] x, boolean haciaAdelante) {
+        MatrizFilas a = nivel.a;
+        int n = a.filas;
+        for (int paso = 0; paso < n; paso++) {
+            int i = haciaAdelante ? paso : n - 1 - paso;
+            double suma = b[i];
+            for (int p = a.inicio[i]; p < a.inicio[i + 1]; p++) {
+                int j = a.indices[p];
+                if (j != i) {
+                    suma -= a.valores[p] * x[j];
+                }
+            }
+            x[i] = suma / nivel.diagonal[i];
+        }
+    }
+
+    /**
+     * Interpolación por agregación suavizada: P = (I − ω·D_F⁻¹·A_F)·P₀, con A_F la matriz filtrada
+     * (acoples débiles sumados a la diagonal) y P₀ constante en cada agregado
+     */
+    private static MatrizFilas interpolacion(MatrizFilas a, double[] diagonal) {
+        int n = a.filas;
+        boolean[] fuerte = new boolean[a.indices.length];
+        double[] diagonalFiltrada = new double[n];
+        double radio = 0.0; // Cota de Gershgorin del radio espectral de D_F⁻¹·A_F
+        for (int i = 0; i < n; i++) {
+            double d = diagonal[i];
+            double sumaFuerte = 0.0;
+            for (int p = a.inicio[i]; p < a.inicio[i + 1]; p++) {
+                int j = a.indices[p];
+                if (j == i) continue;
+                double v = a.valores[p];
+                if (Math.abs(v) >= UMBRAL_FUERZA * Math.sqrt(Math.abs(diagonal[i] * diagonal[j]))) {
+                    fuerte[p] = true;
+                    sumaFuerte += Math.abs(v);
+                } else {
+                    d += v;
+                }
+            }
+            diagonalFiltrada[i] = d != 0.0 ? d : diagonal[i];
+            radio = Math.max(radio, 1.0 + sumaFuerte / Math.abs(diagonalFiltrada[i]));
+        }
+        double omega = 4.0 / (3.0 * radio);
+
+        // Suavizador S = I − ω·D_F⁻¹·A_F con el patrón de los acoples fuertes
+        int[] inicio = new int[n + 1];
+        int[] indices = new int[a.indices.length + n];
+        double[] valores = new double[indices.length];
+        int nnz = 0;
+        for (int i = 0; i < n; i++) {
+            double factor = -omega / diagonalFiltrada[i];
+            indices[nnz] = i;
+            valores[nnz++] = 1.0 - omega;
+            for (int p = a.inicio[i]; p < a.inicio[i + 1]; p++) {
+                if (fuerte[p]) {
+                    indices[nnz] = a.indices[p];
+                    valores[nnz++] = factor * a.valores[p];
+                }
+            }
+            inicio[i + 1] = nnz;
+        }
+        MatrizFilas suavizador = new MatrizFilas(n, n, inicio, indices, valores);
+
+        // P₀: cada nodo interpola el valor constante de su agregado
+        int[] agregado = agregar(a, fuerte);
+        int numAgregados = 0;
+        for (int g : agregado) {
+            numAgregados = Math.max(numAgregados, g + 1);
+        }
+        int[] inicioTentativa = new int[n + 1];
+        double[] unos = new double[n];
+        for (int i = 0; i < n; i++) {
+            inicioTentativa[i + 1] = i + 1;
+            unos[i] = 1.0;
+        }
+        MatrizFilas tentativa = new MatrizFilas(n, numAgregados, inicioTentativa, agregado, unos);
+        return suavizador.multiplicar(tentativa);
+    }
+
+    /**
+     * Agregación en tres fases: vecindarios fuertes completos, luego cada nodo suelto se une al
+     * agregado de su vecino más fuerte, y lo que quede forma agregados propios
+     */
+    private static int[] agregar(MatrizFilas a, boolean[] fuerte) {
+        int n = a.filas;
+        int[] agregado = new int[n];
+        Arrays.fill(agregado, -1);
+        int numAgregados = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (agregado[i] != -1) continue;
+            boolean libre = true;
+            boolean conVecinos = false;
+            for (int p = a.inicio[i]; p < a.inicio[i + 1] && libre; p++) {
+                if (fuerte[p]) {
+                    conVecinos = true;
+                    libre = agregado[a.indices[p]] == -1;
+                }
+            }
+            if (!libre || !conVecinos) continue;
+            agregado[i] = numAgregados;
+            for (int p = a.inicio[i]; p < a.inicio[i + 1]; p++) {
+                if (fuerte[p]) {
+                    agregado[a.indices[p]] = numAgregados;
+                }
+            }
+            numAgregados++;
+        }
+
+        int[] primeraFase = agregado.clone();
+        for (int i = 0; i < n; i++) {
+            if (agregado[i] != -1) continue;
+            double maximo = 0.0;
+            for (int p = a.inicio[i]; p < a.inicio[i + 1]; p++) {
+                int g = primeraFase[a.indices[p]];
+                if (fuerte[p] && g != -1 && Math.abs(a.valores[p]) > maximo) {
+                    maximo = Math.abs(a.valores[p]);
+                    agregado[i] = g;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (agregado[i] != -1) continue;
+            agregado[i] = numAgregados;
+            for (int p = a.inicio[i]; p < a.inicio[i + 1]; p++) {
+                if (fuerte[p] && agregado[a.indices[p]] == -1) {
+                    agregado[a.indices[p]] = numAgregados;
+                }
+            }
+            numAgregados++;
+        }
+        return agregado;
+    }
+
+    // Getters
+    public int getNumNiveles() { return niveles.length; }
+
+    /**
+     * Incógnitas de cada nivel, del más fino al más grueso
+     */
+    public int[] getDimensiones() {
+        int[] dimensiones = new int[niveles.length];
+        for (int l = 0; l < niveles.length; l++) {
+            dimensiones[l] = niveles[l].a.filas;
+        }
+        return dimensiones;
+    }
+
+    /**
+     * Complejidad de operador: no ceros de todos los niveles sobre los del nivel fino
+     */
+    public double getComplejidadOperador() {
+        long total = 0;
+        for (Nivel nivel : niveles) {
+            total += nivel.a.inicio[nivel.a.filas];
+        }
+        return (double) total / Math.max(1, niveles[0].a.inicio[niveles[0].a.filas]);
+    }
+
+    /**
+     * Operador de un nivel con su espacio de trabajo
+     */
+    private static class Nivel {
+        final MatrizFilas a;
+        final double[] diagonal;
+        final double[] x, b, r;
+        MatrizFilas p; // Interpolación desde el nivel siguiente (null en el más grueso)
+
+        Nivel(MatrizFilas a) {
+            this.a = a;
+            int n = a.filas;
+            this.diagonal = new double[n];
+            for (int i = 0; i < n; i++) {
+                for (int q = a.inicio[i]; q < a.inicio[i + 1]; q++) {
+                    if (a.indices[q] == i) {
+                        diagonal[i] = a.valores[q];
+                    }
+                }
+                if (diagonal[i] == 0.0) {
+                    diagonal[i] = 1.0;
+                }
+            }
+            this.x = new double[n];
+            this.b = new double[n];
+            this.r = new double[n];
+        }
+    }
+
+    /**
+     * Matriz rectangular por filas (CSR), para la interpolación y los productos de la preparación
+     */
+    private static class MatrizFilas {
+        final int filas;
+        final int columnas;
+        final int[] inicio;
+        final int[] indices;
+        final double[] valores;
+
+        MatrizFilas(int filas, int columnas, int[] inicio, int[] indices, double[] valores) {
+            this.filas = filas;
+            this.columnas = columnas;
+            this.inicio = inicio;
+            this.indices = indices;
+            this.valores = valores;
+        }
+
+        /**
+         * Interpreta una matriz CSC como CSR de su transpuesta
+         */
+        static MatrizFilas desde(MatrizDispersa m) {
+            int n = m.getDimension();
+            return new MatrizFilas(n, n, m.getColumnas(), m.getFilas(), m.getValores());
+        }
+
+        MatrizDispersa comoDispersa() {
+            return new MatrizDispersa(filas, inicio, indices, valores).transpuesta();
+        }
+
+        /**
+         * y = M·x
+         */
+        void multiplicar(double[] x, double[] y) {
+            for (int i = 0; i < filas; i++) {
+                double suma = 0.0;
+                for (int p = inicio[i]; p < inicio[i + 1]; p++) {
+                    suma += valores[p] * x[indices[p]];
+                }
+                y[i] = suma;
+            }
+        }
+
+        /**
+         * y += M·x
+         */
+        void sumarProducto(double[] x, double[] y) {
+            for (int i = 0; i < filas; i++) {
+                double suma = 0.0;
+                for (int p = inicio[i]; p < inicio[i + 1]; p++) {
+                    suma += valores[p] * x[indices[p]];
+                }
+                y[i] += suma;
+            }
+        }
+
+        /**
+         * y = Mᵀ·x
+         */
+        void multiplicarTranspuesta(double[] x, double[] y) {
+            Arrays.fill(y, 0.0);
+            for (int i = 0; i < filas; i++) {
+                double xi = x[i];
+                for (int p = inicio[i]; p < inicio[i + 1]; p++) {
+                    y[indices[p]] += valores[p] * xi;
+                }
+            }
+        }
+
+        MatrizFilas transpuesta() {
+            int nnz = inicio[filas];
+            int[] conteo = new int[columnas + 1];
+            for (int p = 0; p < nnz; p++) {
+                conteo[indices[p] + 1]++;
+            }
+            for (int j = 0; j < columnas; j++) {
+                conteo[j + 1] += conteo[j];
+            }
+            int[] inicioT = Arrays.copyOf(conteo, columnas + 1);
+            int[] indicesT = new int[nnz];
+            double[] valoresT = new double[nnz];
+            for (int i = 0; i < filas; i++) {
+                for (int p = inicio[i]; p < inicio[i + 1]; p++) {
+                    int q = conteo[indices[p]]++;
+                    indicesT[q] = i;
+                    valoresT[q] = valores[p];
+                }
+            }
+            return new MatrizFilas(columnas, filas, inicioT, indicesT, valoresT);
+        }
+
+        /**
+         * Producto disperso M·B fila por fila (Gustavson)
+         */
+        MatrizFilas multiplicar(MatrizFilas otra) {
+            int[] marca = new int[otra.columnas];
+            Arrays.fill(marca, -1);
+            double[] acumulado = new double[otra.columnas];
+            int[] fila = new int[otra.columnas];
+            int[] inicioC = new int[filas + 1];
+            int[] indicesC = new int[Math.max(16, inicio[filas] + otra.inicio[otra.filas])];
+            double[] valoresC = new double[indicesC.length];
+            int nnz = 0;
+            for (int i = 0; i < filas; i++) {
+                int cantidad = 0;
+                for (int p = inicio[i]; p < inicio[i + 1]; p++) {
+                    int k = indices[p];
+                    double v = valores[p];
+                    for (int q = otra.inicio[k]; q < otra.inicio[k + 1]; q++) {
+                        int c = otra.indices[q];
+                        if (marca[c] != i) {
+                            marca[c] = i;
+                            acumulado[c] = 0.0;
+                            fila[cantidad++] = c;
+                        }
+                        acumulado[c] += v * otra.valores[q];
+                    }
+                }
+                if (nnz + cantidad > indicesC.length) {
+                    int capacidad = Math.max(2 * indicesC.length, nnz + cantidad);
+                    indicesC = Arrays.copyOf(indicesC, capacidad);
+                    valoresC = Arrays.copyOf(valoresC, capacidad);
+                }
+                Arrays.sort(fila, 0, cantidad);
+                for (int t = 0; t < cantidad; t++) {
+                    indicesC[nnz] = fila[t];
+                    valoresC[nnz++] = acumulado[fila[t]];
+                }
+                inicioC[i + 1] = nnz;
+            }
+            return new MatrizFilas(filas, otra.columnas, inicioC,
+                    Arrays.copyOf(indicesC, nnz), Arrays.copyOf(valoresC, nnz));
+        }
+    }
+}
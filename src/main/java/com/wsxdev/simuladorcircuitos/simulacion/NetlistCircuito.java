@@ -0,0 +1,421 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.metricas.CronometroFases;
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+import com.wsxdev.simuladorcircuitos.modelo.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Netlist compilado de un subcircuito independiente (isla) de un Circuito, con topología inmutable.
+ * Cada isla tiene su propia tierra, de modo que varios circuitos de prueba en el mismo lienzo no
+ * vuelven singular el sistema y se pueden resolver en paralelo.
+ * Los nodos se numeran de forma densa (tierra = 0) y los elementos se guardan en arreglos primitivos,
+ * de modo que las resoluciones repetidas no necesitan claves de texto ni mapas.
+ *
+ * Las conexiones son cables ideales: los puntos unidos por ellas se fusionan en un solo nodo
+ * (union-find) y sus corrientes se recuperan después por KCL sobre un bosque generador.
+ *
+ * Incógnitas del sistema MNA: voltajes de los nodos 1..N-1 seguidos de las corrientes de rama de las fuentes.
+ */
+public class NetlistCircuito {
+    private static final int OBJETOS_POR_CONTROL = 4096; // Componentes y cables entre puntos de control; potencia de 2
+
+    private final Nodo[] nodos;
+    private final ElementoCircuito[] elementos;
+    private final int[] terminalA;
+    private final int[] terminalB;
+    private final double[] valores;  // Compartido con los elementos
+    private final int numIncognitas;
+    
+    // Recuperación de corrientes de las conexiones
+    private final Conexion[] conexiones;
+    private final int numPuntos;
+    private final int[] puntoA;          // Punto de conexión del terminal A de cada elemento
+    private final int[] puntoB;
+    private final int[] ordenPuntos;     // Recorrido en anchura del bosque de cables
+    private final int[] padrePunto;
+    private final int[] conexionPadre;   // Conexión hacia el padre (-1 en las raíces)
+    private final int[] inicioConexion;  // Punto de inicio de cada conexión
+
+    private NetlistCircuito(Nodo[] nodos, ElementoCircuito[] elementos, double[] valores,
+                            int[] puntoA, int[] puntoB, Conexion[] conexiones, int numPuntos,
+                            int[] ordenPuntos, int[] padrePunto, int[] conexionPadre, int[] inicioConexion) {
+        this.nodos = nodos;
+        this.elementos = elementos;
+        this.valores = valores;
+        int m = elementos.length;
+        this.terminalA = new int[m];
+        this.terminalB = new int[m];
+
+        int siguienteRama = nodos.length - 1;
+        for (int e = 0; e < m; e++) {
+            terminalA[e] = elementos[e].getNodoA();
+            terminalB[e] = elementos[e].getNodoB();
+            if (elementos[e].usaRama()) {
+                elementos[e].asignarRama(siguienteRama++);
+            }
+            valores[e] = elementos[e].leerValor();
+        }
+        this.numIncognitas = siguienteRama;
+        
+        this.puntoA = puntoA;
+        this.puntoB = puntoB;
+        this.conexiones = conexiones;
+        this.numPuntos = numPuntos;
+        this.ordenPuntos = ordenPuntos;
+        this.padrePunto = padrePunto;
+        this.conexionPadre = conexionPadre;
+        this.inicioConexion = inicioConexion;
+    }
+
+    /**
+     * Compila el circuito a un netlist indexado por enteros por cada isla.
+     * Dos puntos están en la misma isla si los une un cable o si pertenecen al mismo componente.
+     */
+    public static NetlistCircuito[] compilar(Circuito circuito) {
+        return compilar(circuito, new CronometroFases());
+    }
+
+    /**
+     * Compila el circuito marcando en el cronómetro la separación en islas (descubrir nodos) y la
+     * compilación de cada isla (asignar índices)
+     */
+    public static NetlistCircuito[] compilar(Circuito circuito, CronometroFases fases) {
+        return compilar(circuito, fases, ControlSimulacion.NINGUNO);
+    }
+
+    /**
+     * Igual que {@link #compilar(Circuito, CronometroFases)}, revisando el control de cancelación y
+     * avisando el avance por isla
+     */
+    public static NetlistCircuito[] compilar(Circuito circuito, CronometroFases fases, ControlSimulacion control) {
+        // Solo participan los componentes con al menos un terminal conectado
+        List<Componente> conectados = new ArrayList<>();
+        Map<PuntoConexion, Integer> indicePunto = new IdentityHashMap<>();
+        int revisados = 0;
+        for (Componente componente : circuito.getComponentes()) {
+            if ((++revisados & (OBJETOS_POR_CONTROL - 1)) == 0) {
+                control.verificar();
+            }
+            if (!estaConectado(componente)) continue;
+            conectados.add(componente);
+            for (PuntoConexion punto : componente.getPuntosConexion()) {
+                indicePunto.putIfAbsent(punto, indicePunto.size());
+            }
+        }
+        ConjuntosDisjuntos islas = new ConjuntosDisjuntos(indicePunto.size());
+        List<Conexion> conexiones = new ArrayList<>();
+        for (Conexion conexion : circuito.getConexiones()) {
+            if ((++revisados & (OBJETOS_POR_CONTROL - 1)) == 0) {
+                control.verificar();
+            }
+            Integer inicio = indicePunto.get(conexion.getPuntoInicio());
+            Integer fin = indicePunto.get(conexion.getPuntoFin());
+            if (inicio == null || fin == null) continue; // Cable hacia un componente que no está en el circuito
+            islas.unir(inicio, fin);
+            conexiones.add(conexion);
+        }
+        for (Componente componente : conectados) {
+            int primero = indicePunto.get(componente.getPuntosConexion().get(0));
+            for (PuntoConexion punto : componente.getPuntosConexion()) {
+                islas.unir(primero, indicePunto.get(punto));
+            }
+        }
+
+        // Repartir componentes y cables por isla, en el orden del circuito
+        int[] islaDeRaiz = new int[indicePunto.size()];
+        Arrays.fill(islaDeRaiz, -1);
+        List<List<Componente>> componentesIsla = new ArrayList<>();
+        List<List<Conexion>> conexionesIsla = new ArrayList<>();
+        for (Componente componente : conectados) {
+            int raiz = islas.buscar(indicePunto.get(componente.getPuntosConexion().get(0)));
+            if (islaDeRaiz[raiz] < 0) {
+                islaDeRaiz[raiz] = componentesIsla.size();
+                componentesIsla.add(new ArrayList<>());
+                conexionesIsla.add(new ArrayList<>());
+            }
+            componentesIsla.get(islaDeRaiz[raiz]).add(componente);
+        }
+        for (Conexion conexion : conexiones) {
+            int raiz = islas.buscar(indicePunto.get(conexion.getPuntoInicio()));
+            conexionesIsla.get(islaDeRaiz[raiz]).add(conexion);
+        }
+        fases.marcar(Fase.DESCUBRIR_NODOS);
+
+        NetlistCircuito[] resultado = new NetlistCircuito[componentesIsla.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            control.avanzar(Fase.ASIGNAR_INDICES, i, resultado.length);
+            resultado[i] = compilarIsla(componentesIsla.get(i), conexionesIsla.get(i), control);
+        }
+        fases.marcar(Fase.ASIGNAR_INDICES);
+        return resultado;
+    }
+
+    /**
+     * Compila una isla; todos los componentes recibidos están conectados
+     */
+    private static NetlistCircuito compilarIsla(List<Componente> componentes, List<Conexion> listaConexiones,
+                                                ControlSimulacion control) {
+        Map<PuntoConexion, Integer> indicePunto = new IdentityHashMap<>();
+        List<PuntoConexion> puntos = new ArrayList<>();
+
+        // La tierra es el terminal negativo de la primera fuente; sin fuentes, el nodo del primer punto
+        PuntoConexion tierra = null;
+        for (Componente componente : componentes) {
+            if (tierra == null && componente instanceof FuenteVoltaje) {
+                tierra = ((FuenteVoltaje) componente).getTerminalNegativo();
+            }
+            for (PuntoConexion punto : componente.getPuntosConexion()) {
+                if (!indicePunto.containsKey(punto)) {
+                    indicePunto.put(punto, puntos.size());
+                    puntos.add(punto);
+                }
+            }
+        }
+        int numPuntos = puntos.size();
+        control.verificar();
+
+        // Fusionar los puntos unidos por cables ideales
+        Conexion[] conexiones = listaConexiones.toArray(new Conexion[0]);
+        int[] inicioConexion = new int[conexiones.length];
+        int[] finConexion = new int[conexiones.length];
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(numPuntos);
+        for (int c = 0; c < conexiones.length; c++) {
+            inicioConexion[c] = indicePunto.get(conexiones[c].getPuntoInicio());
+            finConexion[c] = indicePunto.get(conexiones[c].getPuntoFin());
+            conjuntos.unir(inicioConexion[c], finConexion[c]);
+        }
+
+        control.verificar();
+
+        // Numerar los nodos eléctricos: primero el de tierra
+        int[] nodoDeRaiz = new int[numPuntos];
+        Arrays.fill(nodoDeRaiz, -1);
+        int numNodos = 0;
+        if (tierra != null) {
+            nodoDeRaiz[conjuntos.buscar(indicePunto.get(tierra))] = numNodos++;
+        }
+        int[] nodoDePunto = new int[numPuntos];
+        int[] puntosPorNodo = new int[numPuntos];
+        for (int p = 0; p < numPuntos; p++) {
+            int raiz = conjuntos.buscar(p);
+            if (nodoDeRaiz[raiz] < 0) {
+                nodoDeRaiz[raiz] = numNodos++;
+            }
+            nodoDePunto[p] = nodoDeRaiz[raiz];
+            puntosPorNodo[nodoDePunto[p]]++;
+        }
+        PuntoConexion[][] puntosNodo = new PuntoConexion[numNodos][];
+        for (int n = 0; n < numNodos; n++) {
+            puntosNodo[n] = new PuntoConexion[puntosPorNodo[n]];
+            puntosPorNodo[n] = 0;
+        }
+        for (int p = 0; p < numPuntos; p++) {
+            int n = nodoDePunto[p];
+            puntosNodo[n][puntosPorNodo[n]++] = puntos.get(p);
+        }
+        Nodo[] nodos = new Nodo[numNodos];
+        for (int n = 0; n < numNodos; n++) {
+            nodos[n] = new Nodo(n, puntosNodo[n]);
+        }
+
+        control.verificar();
+
+        // Un elemento de simulación por componente con modelo
+        List<Componente> modelados = new ArrayList<>();
+        List<PuntoConexion[]> terminalesModelados = new ArrayList<>();
+        for (Componente componente : componentes) {
+            PuntoConexion[] terminales = terminalesDe(componente);
+            if (terminales == null) continue;
+            modelados.add(componente);
+            terminalesModelados.add(terminales);
+        }
+        int m = modelados.size();
+        ElementoCircuito[] elementos = new ElementoCircuito[m];
+        double[] valores = new double[m];
+        int[] puntoA = new int[m];
+        int[] puntoB = new int[m];
+        for (int e = 0; e < m; e++) {
+            puntoA[e] = indicePunto.get(terminalesModelados.get(e)[0]);
+            puntoB[e] = indicePunto.get(terminalesModelados.get(e)[1]);
+            elementos[e] = crearElemento(e, modelados.get(e), nodoDePunto[puntoA[e]], nodoDePunto[puntoB[e]], valores);
+        }
+
+        control.verificar();
+
+        // Bosque generador de los cables para repartir las corrientes por KCL
+        int[] inicioAdy = new int[numPuntos + 1];
+        for (int c = 0; c < conexiones.length; c++) {
+            inicioAdy[inicioConexion[c] + 1]++;
+            inicioAdy[finConexion[c] + 1]++;
+        }
+        for (int p = 0; p < numPuntos; p++) {
+            inicioAdy[p + 1] += inicioAdy[p];
+        }
+        int[] adyacentes = new int[2 * conexiones.length];
+        int[] posicion = Arrays.copyOf(inicioAdy, numPuntos);
+        for (int c = 0; c < conexiones.length; c++) {
+            adyacentes[posicion[inicioConexion[c]]++] = c;
+            adyacentes[posicion[finConexion[c]]++] = c;
+        }
+        int[] ordenPuntos = new int[numPuntos];
+        int[] padrePunto = new int[numPuntos];
+        int[] conexionPadre = new int[numPuntos];
+        boolean[] visitado = new boolean[numPuntos];
+        int cola = 0;
+        for (int raiz = 0; raiz < numPuntos; raiz++) {
+            if (visitado[raiz]) continue;
+            visitado[raiz] = true;
+            padrePunto[raiz] = -1;
+            conexionPadre[raiz] = -1;
+            int frente = cola;
+            ordenPuntos[cola++] = raiz;
+            while (frente < cola) {
+                int p = ordenPuntos[frente++];
+                for (int a = inicioAdy[p]; a < inicioAdy[p + 1]; a++) {
+                    int c = adyacentes[a];
+                    int otro = inicioConexion[c] == p ? finConexion[c] : inicioConexion[c];
+                    if (!visitado[otro]) {
+                        visitado[otro] = true;
+                        padrePunto[otro] = p;
+                        conexionPadre[otro] = c;
+                        ordenPuntos[cola++] = otro;
+                    }
+                }
+            }
+        }
+
+        return new NetlistCircuito(nodos, elementos, valores, puntoA, puntoB, conexiones, numPuntos,
+                ordenPuntos, padrePunto, conexionPadre, inicioConexion);
+    }
+
+    private static boolean estaConectado(Componente componente) {
+        for (PuntoConexion punto : componente.getPuntosConexion()) {
+            if (punto.isConectado()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Terminales (A, B) del componente en el sentido de referencia de su corriente
+     */
+    private static PuntoConexion[] terminalesDe(Componente componente) {
+        if (componente instanceof Resistencia) {
+            Resistencia r = (Resistencia) componente;
+            return new PuntoConexion[]{r.getTerminal1(), r.getTerminal2()};
+        } else if (componente instanceof FuenteVoltaje) {
+            FuenteVoltaje f = (FuenteVoltaje) componente;
+            return new PuntoConexion[]{f.getTerminalPositivo(), f.getTerminalNegativo()};
+        } else if (componente instanceof Led) {
+            Led led = (Led) componente;
+            return new PuntoConexion[]{led.getAnodo(), led.getCatodo()};
+        } else if (componente instanceof Voltimetro) {
+            Voltimetro v = (Voltimetro) componente;
+            return new PuntoConexion[]{v.getTerminalPositivo(), v.getTerminalNegativo()};
+        } else if (componente instanceof Amperimetro) {
+            Amperimetro a = (Amperimetro) componente;
+            return new PuntoConexion[]{a.getTerminalEntrada(), a.getTerminalSalida()};
+        } else if (componente instanceof Cable) {
+            Cable c = (Cable) componente;
+            return new PuntoConexion[]{c.getExtremo1(), c.getExtremo2()};
+        } else if (componente instanceof Condensador) {
+            Condensador c = (Condensador) componente;
+            return new PuntoConexion[]{c.getTerminal1(), c.getTerminal2()};
+        } else if (componente instanceof Interruptor) {
+            Interruptor i = (Interruptor) componente;
+            return new PuntoConexion[]{i.getTerminal1(), i.getTerminal2()};
+        }
+        return null;
+    }
+
+    /**
+     * Crea el elemento de simulación que corresponde al componente
+     */
+    private static ElementoCircuito crearElemento(int e, Componente componente, int nodoA, int nodoB, double[] valores) {
+        if (componente instanceof FuenteVoltaje) {
+            return new FuenteVoltajeSimulacion(e, nodoA, nodoB, componente, valores);
+        } else if (componente instanceof Led) {
+            return new LedSimulacion(e, nodoA, nodoB, componente, valores);
+        } else if (componente instanceof Voltimetro) {
+            return new VoltimetroSimulacion(e, nodoA, nodoB, componente, valores);
+        } else if (componente instanceof Amperimetro) {
+            return new AmperimetroSimulacion(e, nodoA, nodoB, componente, valores);
+        } else if (componente instanceof Cable) {
+            return new CableSimulacion(e, nodoA, nodoB, componente, valores);
+        } else if (componente instanceof Condensador) {
+            return new CondensadorSimulacion(e, nodoA, nodoB, componente, valores);
+        } else if (componente instanceof Interruptor) {
+            return new InterruptorSimulacion(e, nodoA, nodoB, componente, valores);
+        }
+        return new ResistenciaSimulacion(e, nodoA, nodoB, componente, valores);
+    }
+
+    /**
+     * Vuelve a leer los valores de los componentes sin recompilar la topología
+     */
+    public void actualizarValores() {
+        for (int e = 0; e < elementos.length; e++) {
+            valores[e] = elementos[e].leerValor();
+        }
+    }
+
+    /**
+     * Voltajes de todos los nodos (tierra incluida) a partir de la solución del sistema
+     */
+    public double[] voltajesNodos(double[] solucion) {
+        double[] voltajes = new double[nodos.length];
+        System.arraycopy(solucion, 0, voltajes, 1, nodos.length - 1);
+        return voltajes;
+    }
+
+    /**
+     * Corriente de cada conexión (sentido inicio → fin) a partir de las corrientes de los elementos.
+     * En cada nodo la corriente que entregan los elementos se reparte por el árbol de cables desde
+     * las hojas hacia la raíz; las conexiones que cierran lazos de cables ideales quedan en cero.
+     */
+    public double[] corrientesConexiones(double[] corrientesElementos) {
+        double[] inyeccion = new double[numPuntos];
+        for (int e = 0; e < puntoA.length; e++) {
+            inyeccion[puntoA[e]] -= corrientesElementos[e];
+            inyeccion[puntoB[e]] += corrientesElementos[e];
+        }
+        double[] corrientes = new double[conexiones.length];
+        for (int k = numPuntos - 1; k >= 0; k--) {
+            int p = ordenPuntos[k];
+            int c = conexionPadre[p];
+            if (c < 0) continue;
+            double subarbol = inyeccion[p];
+            corrientes[c] = inicioConexion[c] == p ? subarbol : -subarbol;
+            inyeccion[padrePunto[p]] += subarbol;
+        }
+        return corrientes;
+    }
+
+    /**
+     * Agrega al mapa clave de punto → índice de nodo (formato de la interfaz anterior) los nodos
+     * de esta isla, desplazados para que no choquen con los de otras islas
+     */
+    public void construirIndicesNodos(Map<String, Integer> indices, int desplazamiento) {
+        for (Nodo nodo : nodos) {
+            for (PuntoConexion punto : nodo.getPuntos()) {
+                indices.put(Nodo.claveDe(punto), desplazamiento + nodo.getIndice());
+            }
+        }
+    }
+
+    // Getters
+    public int getNumNodos() { return nodos.length; }
+    public int getNumElementos() { return elementos.length; }
+    public int getNumIncognitas() { return numIncognitas; }
+    public Nodo[] getNodos() { return nodos; }
+    public ElementoCircuito[] getElementos() { return elementos; }
+    public Conexion[] getConexiones() { return conexiones; }
+    public int[] getTerminalA() { return terminalA; }
+    public int[] getTerminalB() { return terminalB; }
+    public double[] getValores() { return valores; }
+}
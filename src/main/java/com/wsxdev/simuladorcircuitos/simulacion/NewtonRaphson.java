@@ -0,0 +1,196 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Newton-Raphson amortiguado para el punto de operación DC de un sistema con elementos no lineales.
+ *
+ * En cada iteración los elementos no lineales se linealizan en x, se estampa J(x) y b(x), y el residuo
+ * de KCL es F(x) = J(x)·x − b(x). El paso Δx = −J⁻¹·F se acota con la limitación de tensión de cada
+ * elemento y, si ‖F‖ no baja, se reduce a la mitad (búsqueda lineal). Si ni con el jacobiano recién
+ * factorizado se encuentra un paso que baje ‖F‖, la resolución se detiene sin convergencia.
+ *
+ * Se usa Newton modificado: la factorización del jacobiano se conserva entre iteraciones mientras
+ * ‖F‖ baje al menos a la mitad y la conductancia de ningún elemento no lineal se haya alejado mucho de
+ * la factorizada; se refactoriza (reutilizando el ordenamiento) cuando eso deja de cumplirse o la
+ * búsqueda lineal tuvo que recortar el paso.
+ */
+public class NewtonRaphson {
+    private static final int MAX_ITERACIONES = 200;
+    private static final int MAX_REDUCCIONES = 12;
+    private static final double CONTRACCION_MAXIMA = 0.5;    // Con un jacobiano viejo, ‖F‖ debe caer a la mitad
+    private static final double DERIVA_CONDUCTANCIA = 8.0;   // Factor máximo entre la conductancia factorizada y la actual
+    private static final double TOLERANCIA_RESIDUO = 1e-9;   // A (V en las filas de rama)
+    private static final double TOLERANCIA_ABSOLUTA = 1e-9;  // V
+    private static final double TOLERANCIA_RELATIVA = 1e-9;
+
+    private final SistemaMNA sistema;
+    private final ElementoCircuito[] noLineales;
+    private EstadisticasNewton estadisticas;
+
+    public NewtonRaphson(SistemaMNA sistema, ElementoCircuito[] noLineales) {
+        this.sistema = sistema;
+        this.noLineales = noLineales;
+    }
+
+    /**
+     * Busca el punto de operación partiendo de x0 (null para arrancar desde el punto inicial de cada elemento).
+     * Lanza ArithmeticException si no converge.
+     */
+    public double[] resolver(double[] x0) {
+        int n = sistema.getDimension();
+        double[] x = x0 != null && x0.length == n ? x0.clone() : new double[n];
+        double[] f = new double[n];
+        double[] paso = new double[n];
+        double[] prueba = new double[n];
+        double[] fPrueba = new double[n];
+        double[] historial = new double[MAX_ITERACIONES];
+        double[] conductancias = new double[noLineales.length];
+
+        // El primer paso parte de la linealización inicial (sin búsqueda lineal ni límite de tensión)
+        boolean primera = x0 == null || x0.length != n;
+        for (ElementoCircuito elemento : noLineales) {
+            if (primera) {
+                elemento.iniciarPuntoOperacion();
+            } else {
+                elemento.linealizar(x);
+            }
+        }
+        double normaF = evaluar(x, f);
+        FactorizacionLU jacobiano = sistema.factorizarMatriz();
+        guardarConductancias(conductancias);
+        boolean jacobianoActual = true;
+        int factorizaciones = 1;
+        int reducciones = 0;
+
+        int k = 0;
+        boolean convergio = false;
+        while (k < MAX_ITERACIONES) {
+            sistema.getControl().verificar();
+            double[] delta = jacobiano.resolver(f);
+            double lambda = 1.0;
+            for (int i = 0; i < n; i++) {
+                paso[i] = -delta[i];
+            }
+            if (!primera) {
+                for (ElementoCircuito elemento : noLineales) {
+                    lambda = Math.min(lambda, elemento.limitarPaso(x, paso));
+                }
+            }
+
+            // Búsqueda lineal sobre ‖F‖∞
+            double normaPrueba = Double.POSITIVE_INFINITY;
+            boolean aceptado = false;
+            int reduccionesPaso = 0;
+            for (int r = 0; r <= MAX_REDUCCIONES; r++) {
+                for (int i = 0; i < n; i++) {
+                    prueba[i] = x[i] + lambda * paso[i];
+                }
+                for (ElementoCircuito elemento : noLineales) {
+                    elemento.linealizar(prueba);
+                }
+                normaPrueba = evaluar(prueba, fPrueba);
+                if (primera || normaPrueba < normaF) {
+                    aceptado = true;
+                    break;
+                }
+                if (!jacobianoActual) break; // Con un jacobiano viejo conviene refactorizar antes de amortiguar
+                lambda *= 0.5;
+                reduccionesPaso++;
+            }
+            reducciones += reduccionesPaso;
+            if (!aceptado) {
+                // Se deja el sistema estampado en x, que es el punto que se devuelve
+                for (ElementoCircuito elemento : noLineales) {
+                    elemento.linealizar(x);
+                }
+                evaluar(x, f);
+                if (jacobianoActual) {
+                    // Ni el jacobiano de x baja ‖F‖: solo vale si ya se está en el piso del redondeo
+                    convergio = normaF <= TOLERANCIA_RESIDUO;
+                    break;
+                }
+                jacobiano = sistema.factorizarMatriz();
+                guardarConductancias(conductancias);
+                jacobianoActual = true;
+                factorizaciones++;
+                continue;
+            }
+
+            double cambio = 0.0;
+            double escala = 0.0;
+            for (int i = 0; i < n; i++) {
+                cambio = Math.max(cambio, Math.abs(prueba[i] - x[i]));
+                escala = Math.max(escala, Math.abs(prueba[i]));
+            }
+            double contraccion = normaPrueba / normaF;
+            double[] temporal = x;
+            x = prueba;
+            prueba = temporal;
+            temporal = f;
+            f = fPrueba;
+            fPrueba = temporal;
+            normaF = normaPrueba;
+            historial[k++] = normaF;
+            primera = false;
+
+            if (!Double.isFinite(normaF)) break;
+            if (normaF <= TOLERANCIA_RESIDUO && cambio <= TOLERANCIA_ABSOLUTA + TOLERANCIA_RELATIVA * escala) {
+                convergio = true;
+                break;
+            }
+            // La matriz estampada ya es J(x): refactorizar solo si la convergencia se frenó o J se alejó
+            if (reduccionesPaso > 0 || contraccion > CONTRACCION_MAXIMA || conductanciasAlejadas(conductancias)) {
+                jacobiano = sistema.factorizarMatriz();
+                guardarConductancias(conductancias);
+                jacobianoActual = true;
+                factorizaciones++;
+            } else {
+                jacobianoActual = false;
+            }
+        }
+
+        estadisticas = new EstadisticasNewton(k, factorizaciones, reducciones, normaF,
+                Arrays.copyOf(historial, k), convergio);
+        if (!convergio) {
+            throw new ArithmeticException("Newton-Raphson no convergió: " + estadisticas);
+        }
+        return x;
+    }
+
+    private void guardarConductancias(double[] conductancias) {
+        for (int e = 0; e < noLineales.length; e++) {
+            conductancias[e] = noLineales[e].getConductanciaLinealizada();
+        }
+    }
+
+    /**
+     * Indica si la conductancia de algún elemento cambió más que DERIVA_CONDUCTANCIA desde la factorización
+     */
+    private boolean conductanciasAlejadas(double[] conductancias) {
+        for (int e = 0; e < noLineales.length; e++) {
+            double actual = noLineales[e].getConductanciaLinealizada();
+            if (actual > DERIVA_CONDUCTANCIA * conductancias[e] || conductancias[e] > DERIVA_CONDUCTANCIA * actual) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estampa el sistema linealizado y calcula F = J·x − b; devuelve ‖F‖∞
+     */
+    private double evaluar(double[] x, double[] f) {
+        sistema.estampar();
+        sistema.getMatriz().multiplicar(x, f);
+        double[] rhs = sistema.getRhs();
+        double norma = 0.0;
+        for (int i = 0; i < f.length; i++) {
+            f[i] -= rhs[i];
+            norma = Math.max(norma, Math.abs(f[i]));
+        }
+        return norma;
+    }
+    
+    public EstadisticasNewton getEstadisticas() { return estadisticas; }
+}
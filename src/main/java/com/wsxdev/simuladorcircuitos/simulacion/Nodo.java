@@ -0,0 +1,37 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.PuntoConexion;
+
+/**
+ * Nodo eléctrico del netlist compilado, identificado por un índice denso (tierra = 0)
+ */
+public final class Nodo {
+    private final int indice;
+    private final PuntoConexion[] puntos;
+    
+    public Nodo(int indice, PuntoConexion[] puntos) {
+        this.indice = indice;
+        this.puntos = puntos;
+    }
+    
+    /**
+     * Clave textual usada por la interfaz anterior: idComponente_nombrePunto
+     */
+    public static String claveDe(PuntoConexion punto) {
+        return punto.getComponentePadre().getId() + "_" + punto.getNombre();
+    }
+    
+    public boolean esTierra() {
+        return indice == 0;
+    }
+    
+    // Getters
+    public int getIndice() { return indice; }
+    public PuntoConexion[] getPuntos() { return puntos; }
+    public String getId() { return claveDe(puntos[0]); }
+    
+    @Override
+    public String toString() {
+        return String.format("Nodo{%d, %d puntos}", indice, puntos.length);
+    }
+}
@@ -0,0 +1,226 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Ordenamiento de grado mínimo aproximado (estilo AMD) sobre el patrón simétrico A + Aᵀ.
+ * Trabaja con el grafo cociente: cada variable eliminada se convierte en un elemento que agrupa
+ * a sus vecinos, de modo que el relleno nunca se forma de manera explícita.
+ */
+public class OrdenamientoMinimoGrado {
+    private static final int PASOS_POR_CONTROL = 256; // Potencia de 2
+
+    private OrdenamientoMinimoGrado() {
+    }
+
+    /**
+     * Calcula la permutación q: q[k] es la columna que se elimina en el paso k
+     */
+    public static int[] ordenar(MatrizDispersa matriz) {
+        return ordenar(matriz, ControlSimulacion.NINGUNO);
+    }
+
+    /**
+     * Igual que {@link #ordenar(MatrizDispersa)}, revisando la cancelación cada cierto número de pasos
+     */
+    public static int[] ordenar(MatrizDispersa matriz, ControlSimulacion control) {
+        int n = matriz.getDimension();
+        int[][] variables = construirGrafoSimetrico(matriz); // A_i: variables adyacentes
+        int[] numVariables = new int[n];
+        int[][] elementos = new int[n][];                      // E_i: elementos adyacentes
+        int[] numElementos = new int[n];
+        int[][] miembros = new int[n][];                       // L_e: variables de cada elemento
+        int[] numMiembros = new int[n];
+        boolean[] eliminada = new boolean[n];
+        boolean[] absorbido = new boolean[n];
+
+        int[] grado = new int[n];
+        int[] cabeza = new int[n + 1];
+        int[] siguiente = new int[n];
+        int[] anterior = new int[n];
+        Arrays.fill(cabeza, -1);
+        for (int v = 0; v < n; v++) {
+            numVariables[v] = variables[v].length;
+            elementos[v] = new int[2];
+            grado[v] = numVariables[v];
+            insertar(v, grado[v], cabeza, siguiente, anterior);
+        }
+
+        int[] marca = new int[n];
+        int[] marcaPeso = new int[n];
+        int[] peso = new int[n];
+        int sello = 0;
+        int[] buffer = new int[Math.max(1, n)];
+        int[] orden = new int[n];
+        int gradoMinimo = 0;
+
+        for (int k = 0; k < n; k++) {
+            if ((k & (PASOS_POR_CONTROL - 1)) == 0) {
+                control.verificar();
+            }
+            while (cabeza[gradoMinimo] == -1) {
+                gradoMinimo++;
+            }
+            int p = cabeza[gradoMinimo];
+            quitar(p, grado[p], cabeza, siguiente, anterior);
+            orden[k] = p;
+
+            // L_p = (A_p ∪ L_e para e ∈ E_p) \ {p}; los elementos de E_p quedan absorbidos
+            sello++;
+            marca[p] = sello;
+            int tam = 0;
+            for (int a = 0; a < numVariables[p]; a++) {
+                int v = variables[p][a];
+                if (!eliminada[v] && marca[v] != sello) {
+                    marca[v] = sello;
+                    buffer[tam++] = v;
+                }
+            }
+            for (int a = 0; a < numElementos[p]; a++) {
+                int e = elementos[p][a];
+                if (absorbido[e]) continue;
+                for (int b = 0; b < numMiembros[e]; b++) {
+                    int v = miembros[e][b];
+                    if (!eliminada[v] && marca[v] != sello) {
+                        marca[v] = sello;
+                        buffer[tam++] = v;
+                    }
+                }
+                absorbido[e] = true;
+                miembros[e] = null;
+            }
+            eliminada[p] = true;
+            variables[p] = null;
+            elementos[p] = null;
+            int[] lp = Arrays.copyOf(buffer, tam);
+            miembros[p] = lp;
+            numMiembros[p] = tam;
+
+            // peso[e] = |L_e \ L_p| para cada elemento vecino de L_p
+            for (int i : lp) {
+                for (int a = 0; a < numElementos[i]; a++) {
+                    int e = elementos[i][a];
+                    if (absorbido[e]) continue;
+                    if (marcaPeso[e] != sello) {
+                        marcaPeso[e] = sello;
+                        peso[e] = numMiembros[e];
+                    }
+                    peso[e]--;
+                }
+            }
+
+            int restantes = n - k - 1;
+            for (int i : lp) {
+                quitar(i, grado[i], cabeza, siguiente, anterior);
+
+                // E_i: quitar elementos absorbidos (o contenidos en L_p) y agregar p
+                int grad = 0;
+                int ne = 0;
+                int[] lista = elementos[i];
+                for (int a = 0; a < numElementos[i]; a++) {
+                    int e = lista[a];
+                    if (absorbido[e]) continue;
+                    if (peso[e] == 0) {
+                        absorbido[e] = true; // Absorción agresiva
+                        miembros[e] = null;
+                        continue;
+                    }
+                    lista[ne++] = e;
+                    grad += peso[e];
+                }
+                if (ne == lista.length) {
+                    lista = Arrays.copyOf(lista, 2 * lista.length);
+                    elementos[i] = lista;
+                }
+                lista[ne++] = p;
+                numElementos[i] = ne;
+
+                // A_i: quitar variables eliminadas o ya cubiertas por el elemento p
+                int na = 0;
+                int[] vecinos = variables[i];
+                for (int a = 0; a < numVariables[i]; a++) {
+                    int v = vecinos[a];
+                    if (!eliminada[v] && marca[v] != sello) {
+                        vecinos[na++] = v;
+                    }
+                }
+                numVariables[i] = na;
+
+                grad += na + tam - 1;
+                grad = Math.min(grad, Math.min(restantes, grado[i] + tam - 1));
+                grado[i] = Math.max(grad, 0);
+                insertar(i, grado[i], cabeza, siguiente, anterior);
+                gradoMinimo = Math.min(gradoMinimo, grado[i]);
+            }
+        }
+        return orden;
+    }
+
+    private static int[][] construirGrafoSimetrico(MatrizDispersa matriz) {
+        int n = matriz.getDimension();
+        int[] columnas = matriz.getColumnas();
+        int[] filas = matriz.getFilas();
+
+        int[] conteo = new int[n];
+        for (int j = 0; j < n; j++) {
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                int i = filas[p];
+                if (i != j) {
+                    conteo[i]++;
+                    conteo[j]++;
+                }
+            }
+        }
+        int[][] provisional = new int[n][];
+        for (int v = 0; v < n; v++) {
+            provisional[v] = new int[conteo[v]];
+        }
+        Arrays.fill(conteo, 0);
+        for (int j = 0; j < n; j++) {
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                int i = filas[p];
+                if (i != j) {
+                    provisional[i][conteo[i]++] = j;
+                    provisional[j][conteo[j]++] = i;
+                }
+            }
+        }
+
+        // Quitar duplicados (entradas simétricas aparecen dos veces)
+        int[] marca = new int[n];
+        Arrays.fill(marca, -1);
+        int[][] adyacencia = new int[n][];
+        for (int v = 0; v < n; v++) {
+            int tam = 0;
+            int[] lista = provisional[v];
+            for (int w : lista) {
+                if (marca[w] != v) {
+                    marca[w] = v;
+                    lista[tam++] = w;
+                }
+            }
+            adyacencia[v] = Arrays.copyOf(lista, tam);
+        }
+        return adyacencia;
+    }
+
+    private static void insertar(int v, int g, int[] cabeza, int[] siguiente, int[] anterior) {
+        siguiente[v] = cabeza[g];
+        anterior[v] = -1;
+        if (cabeza[g] != -1) {
+            anterior[cabeza[g]] = v;
+        }
+        cabeza[g] = v;
+    }
+
+    private static void quitar(int v, int g, int[] cabeza, int[] siguiente, int[] anterior) {
+        if (anterior[v] != -1) {
+            siguiente[anterior[v]] = siguiente[v];
+        } else {
+            cabeza[g] = siguiente[v];
+        }
+        if (siguiente[v] != -1) {
+            anterior[siguiente[v]] = anterior[v];
+        }
+    }
+}
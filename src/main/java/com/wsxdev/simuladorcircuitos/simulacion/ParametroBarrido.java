@@ -0,0 +1,56 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Condensador;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+import com.wsxdev.simuladorcircuitos.modelo.Led;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+
+/**
+ * Parámetros de componente que se pueden barrer
+ */
+public enum ParametroBarrido {
+    RESISTENCIA("Resistencia", "Ω"),
+    VOLTAJE("Voltaje", "V"),
+    CAPACITANCIA("Capacitancia", "F"),
+    VOLTAJE_DIRECTO("Voltaje directo", "V"),
+    CORRIENTE_MAXIMA("Corriente máxima", "A");
+
+    private final String nombre;
+    private final String unidad;
+
+    ParametroBarrido(String nombre, String unidad) {
+        this.nombre = nombre;
+        this.unidad = unidad;
+    }
+
+    /**
+     * Indica si el componente tiene este parámetro
+     */
+    public boolean aplicaA(Componente componente) {
+        switch (this) {
+            case RESISTENCIA: return componente instanceof Resistencia;
+            case VOLTAJE: return componente instanceof FuenteVoltaje;
+            case CAPACITANCIA: return componente instanceof Condensador;
+            case VOLTAJE_DIRECTO:
+            case CORRIENTE_MAXIMA: return componente instanceof Led;
+            default: return false;
+        }
+    }
+
+    /**
+     * Asigna el valor al componente
+     */
+    public void aplicar(Componente componente, double valor) {
+        switch (this) {
+            case RESISTENCIA: ((Resistencia) componente).setResistencia(valor); break;
+            case VOLTAJE: ((FuenteVoltaje) componente).setVoltaje(valor); break;
+            case CAPACITANCIA: ((Condensador) componente).setCapacitancia(valor); break;
+            case VOLTAJE_DIRECTO: ((Led) componente).setVoltajeDirecto(valor); break;
+            case CORRIENTE_MAXIMA: ((Led) componente).setCorrienteMaxima(valor); break;
+        }
+    }
+
+    public String getNombre() { return nombre; }
+    public String getUnidad() { return unidad; }
+}
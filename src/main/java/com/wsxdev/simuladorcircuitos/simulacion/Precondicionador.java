@@ -0,0 +1,13 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Aproximación M ≈ A que se aplica como z = M⁻¹·r en cada iteración de un método de Krylov
+ */
+@FunctionalInterface
+public interface Precondicionador {
+    
+    /**
+     * Calcula z = M⁻¹·r; z ya está reservado y se sobrescribe
+     */
+    void aplicar(double[] r, double[] z);
+}
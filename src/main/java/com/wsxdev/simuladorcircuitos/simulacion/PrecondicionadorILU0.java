@@ -0,0 +1,120 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Factorización LU incompleta sin relleno: L y U conservan el patrón de A (más la diagonal,
+ * que en las filas de rama MNA no existe y se agrega). Se calcula por filas con el algoritmo IKJ.
+ */
+public class PrecondicionadorILU0 implements Precondicionador {
+    private static final double PIVOTE_MINIMO = 1e-12;
+    
+    private final int n;
+    private final int[] inicioFila;
+    private final int[] columnas;
+    private final double[] valores;   // L (sin la diagonal unitaria) y U en el mismo arreglo
+    private final int[] posicionDiagonal;
+    
+    public PrecondicionadorILU0(MatrizDispersa matriz) {
+        MatrizDispersa filas = matriz.transpuesta(); // CSR de A, columnas ordenadas en cada fila
+        this.n = matriz.getDimension();
+        int[] inicioA = filas.getColumnas();
+        int[] columnasA = filas.getFilas();
+        double[] valoresA = filas.getValores();
+        
+        // Copiar el patrón asegurando una entrada diagonal en cada fila
+        int faltantes = 0;
+        for (int i = 0; i < n; i++) {
+            if (!tieneDiagonal(inicioA, columnasA, i)) faltantes++;
+        }
+        inicioFila = new int[n + 1];
+        columnas = new int[inicioA[n] + faltantes];
+        valores = new double[columnas.length];
+        posicionDiagonal = new int[n];
+        int q = 0;
+        double maximo = 0.0;
+        for (int i = 0; i < n; i++) {
+            inicioFila[i] = q;
+            boolean diagonalPuesta = false;
+            for (int p = inicioA[i]; p < inicioA[i + 1]; p++) {
+                int j = columnasA[p];
+                if (!diagonalPuesta && j >= i) {
+                    if (j > i) {
+                        columnas[q] = i;
+                        valores[q] = 0.0;
+                        posicionDiagonal[i] = q++;
+                    } else {
+                        posicionDiagonal[i] = q;
+                    }
+                    diagonalPuesta = true;
+                }
+                columnas[q] = j;
+                valores[q++] = valoresA[p];
+                maximo = Math.max(maximo, Math.abs(valoresA[p]));
+            }
+            if (!diagonalPuesta) {
+                columnas[q] = i;
+                valores[q] = 0.0;
+                posicionDiagonal[i] = q++;
+            }
+        }
+        inicioFila[n] = q;
+        factorizar(Math.max(maximo, 1.0) * PIVOTE_MINIMO);
+    }
+    
+    private static boolean tieneDiagonal(int[] inicio, int[] columnas, int i) {
+        for (int p = inicio[i]; p < inicio[i + 1]; p++) {
+            if (columnas[p] == i) return true;
+        }
+        return false;
+    }
+    
+    private void factorizar(double pivoteMinimo) {
+        int[] posicion = new int[n];
+        Arrays.fill(posicion, -1);
+        for (int i = 0; i < n; i++) {
+            for (int p = inicioFila[i]; p < inicioFila[i + 1]; p++) {
+                posicion[columnas[p]] = p;
+            }
+            for (int p = inicioFila[i]; p < posicionDiagonal[i]; p++) {
+                int k = columnas[p];
+                double lik = valores[p] / valores[posicionDiagonal[k]];
+                valores[p] = lik;
+                for (int pk = posicionDiagonal[k] + 1; pk < inicioFila[k + 1]; pk++) {
+                    int destino = posicion[columnas[pk]];
+                    if (destino >= 0) {
+                        valores[destino] -= lik * valores[pk];
+                    }
+                }
+            }
+            // Un pivote nulo se reemplaza para que el precondicionador siga siendo aplicable
+            double pivote = valores[posicionDiagonal[i]];
+            if (Math.abs(pivote) < pivoteMinimo) {
+                valores[posicionDiagonal[i]] = pivote < 0 ? -pivoteMinimo : pivoteMinimo;
+            }
+            for (int p = inicioFila[i]; p < inicioFila[i + 1]; p++) {
+                posicion[columnas[p]] = -1;
+            }
+        }
+    }
+    
+    @Override
+    public void aplicar(double[] r, double[] z) {
+        // L·y = r (diagonal unitaria)
+        for (int i = 0; i < n; i++) {
+            double suma = r[i];
+            for (int p = inicioFila[i]; p < posicionDiagonal[i]; p++) {
+                suma -= valores[p] * z[columnas[p]];
+            }
+            z[i] = suma;
+        }
+        // U·z = y
+        for (int i = n - 1; i >= 0; i--) {
+            double suma = z[i];
+            for (int p = posicionDiagonal[i] + 1; p < inicioFila[i + 1]; p++) {
+                suma -= valores[p] * z[columnas[p]];
+            }
+            z[i] = suma / valores[posicionDiagonal[i]];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Precondicionador diagonal: M = diag(A). Las filas sin diagonal (ramas de fuentes) usan 1.
+ */
+public class PrecondicionadorJacobi implements Precondicionador {
+    private final double[] inversaDiagonal;
+    
+    public PrecondicionadorJacobi(MatrizDispersa matriz) {
+        int n = matriz.getDimension();
+        int[] columnas = matriz.getColumnas();
+        int[] filas = matriz.getFilas();
+        double[] valores = matriz.getValores();
+        inversaDiagonal = new double[n];
+        for (int j = 0; j < n; j++) {
+            double diagonal = 0.0;
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                if (filas[p] == j) {
+                    diagonal = valores[p];
+                }
+            }
+            inversaDiagonal[j] = diagonal != 0.0 ? 1.0 / diagonal : 1.0;
+        }
+    }
+    
+    @Override
+    public void aplicar(double[] r, double[] z) {
+        for (int i = 0; i < r.length; i++) {
+            z[i] = r[i] * inversaDiagonal[i];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Sobre-relajación sucesiva simétrica:
+ *   M = ω/(2−ω) · (D/ω + L) · (D/ω)⁻¹ · (D/ω + U)
+ * Trabaja por filas sobre la transpuesta en CSC (equivale a A en CSR).
+ */
+public class PrecondicionadorSSOR implements Precondicionador {
+    private final int n;
+    private final int[] inicioFila;
+    private final int[] columnas;
+    private final double[] valores;
+    private final double[] diagonal;   // D/ω
+    private final double escala;       // (2−ω)/ω
+    private final double[] y;
+    
+    public PrecondicionadorSSOR(MatrizDispersa matriz, double omega) {
+        if (omega <= 0.0 || omega >= 2.0) {
+            throw new IllegalArgumentException("El factor de relajación debe estar en (0, 2): " + omega);
+        }
+        MatrizDispersa filas = matriz.transpuesta();
+        this.n = matriz.getDimension();
+        this.inicioFila = filas.getColumnas();
+        this.columnas = filas.getFilas();
+        this.valores = filas.getValores();
+        this.diagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            double d = 0.0;
+            for (int p = inicioFila[i]; p < inicioFila[i + 1]; p++) {
+                if (columnas[p] == i) {
+                    d = valores[p];
+                }
+            }
+            diagonal[i] = (d != 0.0 ? d : 1.0) / omega;
+        }
+        this.escala = (2.0 - omega) / omega;
+        this.y = new double[n];
+    }
+    
+    @Override
+    public void aplicar(double[] r, double[] z) {
+        // (D/ω + L)·y = r
+        for (int i = 0; i < n; i++) {
+            double suma = r[i];
+            for (int p = inicioFila[i]; p < inicioFila[i + 1]; p++) {
+                int j = columnas[p];
+                if (j < i) {
+                    suma -= valores[p] * y[j];
+                }
+            }
+            y[i] = suma / diagonal[i];
+        }
+        for (int i = 0; i < n; i++) {
+            y[i] *= diagonal[i] * escala;
+        }
+        // (D/ω + U)·z = y
+        for (int i = n - 1; i >= 0; i--) {
+            double suma = y[i];
+            for (int p = inicioFila[i]; p < inicioFila[i + 1]; p++) {
+                int j = columnas[p];
+                if (j > i) {
+                    suma -= valores[p] * z[j];
+                }
+            }
+            z[i] = suma / diagonal[i];
+        }
+    }
+}
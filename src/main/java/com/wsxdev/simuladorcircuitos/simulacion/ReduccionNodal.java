@@ -0,0 +1,228 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Eliminación de los nodos fijados por fuentes de voltaje.
+ * Si las fuentes forman un bosque que cuelga de tierra y el resto de los elementos son conductancias,
+ * los voltajes de los nodos de las fuentes se conocen de antemano y el sistema MNA se reduce a
+ *   G_ll · v_l = b_l − G_lf · v_f
+ * sobre los nodos libres, que es simétrico definido positivo (apto para gradiente conjugado y multimalla).
+ * Las corrientes de rama se recuperan después por KCL en los nodos fijos.
+ */
+public class ReduccionNodal {
+    private final int numNodos;          // Incógnitas de voltaje del sistema completo
+    private final int[] indiceLibre;     // Incógnita de nodo → fila reducida (-1 si el nodo es fijo)
+    private final int numLibres;
+    
+    // Árbol de fuentes desde tierra, en orden de recorrido
+    private final int[] nodosFijos;      // Nodos (índice de netlist) fijados, en orden BFS
+    private final int[] fuenteDeNodo;    // Fuente que fija cada nodo de nodosFijos
+    private final FuenteVoltajeSimulacion[] fuentes;
+    
+    // Extracción de valores desde la matriz completa
+    private final MatrizDispersa completa;
+    private final MatrizDispersa matriz;
+    private final int[] origenValor;     // Posición en la matriz completa de cada entrada reducida
+    private final int[] acoplePosicion;  // Entradas G_lf: posición, fila reducida y nodo fijo
+    private final int[] acopleFila;
+    private final int[] acopleNodo;
+    private final double[] voltajes;     // Voltajes por nodo del netlist (tierra incluida)
+    
+    private ReduccionNodal(int numNodos, int[] indiceLibre, int numLibres, int[] nodosFijos, int[] fuenteDeNodo,
+                           FuenteVoltajeSimulacion[] fuentes, MatrizDispersa completa) {
+        this.numNodos = numNodos;
+        this.indiceLibre = indiceLibre;
+        this.numLibres = numLibres;
+        this.nodosFijos = nodosFijos;
+        this.fuenteDeNodo = fuenteDeNodo;
+        this.fuentes = fuentes;
+        this.completa = completa;
+        this.voltajes = new double[numNodos + 1];
+        
+        int[] columnas = completa.getColumnas();
+        int[] filas = completa.getFilas();
+        int[] columnasReducidas = new int[numLibres + 1];
+        List<Integer> filasReducidas = new ArrayList<>();
+        List<Integer> origen = new ArrayList<>();
+        List<int[]> acoples = new ArrayList<>();
+        for (int j = 0; j < numNodos; j++) {
+            int libreJ = indiceLibre[j];
+            if (libreJ >= 0) {
+                columnasReducidas[libreJ] = origen.size();
+            }
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                int i = filas[p];
+                if (i >= numNodos || indiceLibre[i] < 0) continue;
+                if (libreJ >= 0) {
+                    filasReducidas.add(indiceLibre[i]);
+                    origen.add(p);
+                } else {
+                    acoples.add(new int[]{p, indiceLibre[i], j + 1});
+                }
+            }
+        }
+        columnasReducidas[numLibres] = origen.size();
+        this.origenValor = origen.stream().mapToInt(Integer::intValue).toArray();
+        this.matriz = new MatrizDispersa(numLibres, columnasReducidas,
+                filasReducidas.stream().mapToInt(Integer::intValue).toArray(), new double[origenValor.length]);
+        this.acoplePosicion = new int[acoples.size()];
+        this.acopleFila = new int[acoples.size()];
+        this.acopleNodo = new int[acoples.size()];
+        for (int k = 0; k < acoples.size(); k++) {
+            acoplePosicion[k] = acoples.get(k)[0];
+            acopleFila[k] = acoples.get(k)[1];
+            acopleNodo[k] = acoples.get(k)[2];
+        }
+    }
+    
+    /**
+     * Analiza el netlist; devuelve null si no se puede reducir (fuentes flotantes o en lazo,
+     * o elementos que no son conductancias simples)
+     */
+    public static ReduccionNodal crear(NetlistCircuito netlist, MatrizDispersa completa) {
+        int n = netlist.getNumNodos();
+        List<FuenteVoltajeSimulacion> listaFuentes = new ArrayList<>();
+        for (ElementoCircuito elemento : netlist.getElementos()) {
+            if (elemento instanceof FuenteVoltajeSimulacion) {
+                listaFuentes.add((FuenteVoltajeSimulacion) elemento);
+            } else if (!elemento.esConductancia()) {
+                return null;
+            }
+        }
+        FuenteVoltajeSimulacion[] fuentes = listaFuentes.toArray(new FuenteVoltajeSimulacion[0]);
+        
+        // Fuentes incidentes en cada nodo
+        int[] inicio = new int[n + 1];
+        for (FuenteVoltajeSimulacion f : fuentes) {
+            inicio[f.getNodoA() + 1]++;
+            inicio[f.getNodoB() + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inicio[v + 1] += inicio[v];
+        }
+        int[] incidentes = new int[2 * fuentes.length];
+        int[] siguiente = Arrays.copyOf(inicio, n);
+        for (int k = 0; k < fuentes.length; k++) {
+            incidentes[siguiente[fuentes[k].getNodoA()]++] = k;
+            incidentes[siguiente[fuentes[k].getNodoB()]++] = k;
+        }
+        
+        // Recorrido desde tierra por las fuentes; cada fuente debe fijar exactamente un nodo nuevo
+        boolean[] fijo = new boolean[n];
+        boolean[] usada = new boolean[fuentes.length];
+        int[] cola = new int[n];
+        int[] fuenteDe = new int[n];
+        int tam = 0;
+        fijo[0] = true;
+        cola[tam++] = 0;
+        for (int frente = 0; frente < tam; frente++) {
+            int u = cola[frente];
+            for (int a = inicio[u]; a < inicio[u + 1]; a++) {
+                int k = incidentes[a];
+                if (usada[k]) continue;
+                int w = fuentes[k].getNodoA() == u ? fuentes[k].getNodoB() : fuentes[k].getNodoA();
+                if (fijo[w]) return null; // Lazo de fuentes
+                usada[k] = true;
+                fijo[w] = true;
+                fuenteDe[w] = k;
+                cola[tam++] = w;
+            }
+        }
+        for (boolean u : usada) {
+            if (!u) return null; // Fuente flotante
+        }
+        
+        int[] indiceLibre = new int[n - 1];
+        int numLibres = 0;
+        for (int v = 1; v < n; v++) {
+            indiceLibre[v - 1] = fijo[v] ? -1 : numLibres++;
+        }
+        int[] nodosFijos = Arrays.copyOfRange(cola, 1, tam);
+        int[] fuenteDeNodo = new int[nodosFijos.length];
+        for (int k = 0; k < nodosFijos.length; k++) {
+            fuenteDeNodo[k] = fuenteDe[nodosFijos[k]];
+        }
+        return new ReduccionNodal(n - 1, indiceLibre, numLibres, nodosFijos, fuenteDeNodo, fuentes, completa);
+    }
+    
+    /**
+     * Copia los valores de la matriz reducida y calcula su lado derecho a partir del sistema completo
+     */
+    public void reducir(double[] b, double[] bReducido) {
+        double[] valoresA = completa.getValores();
+        double[] valoresR = matriz.getValores();
+        for (int k = 0; k < origenValor.length; k++) {
+            valoresR[k] = valoresA[origenValor[k]];
+        }
+        
+        // Voltajes de los nodos fijos, bajando por el árbol de fuentes
+        voltajes[0] = 0.0;
+        for (int k = 0; k < nodosFijos.length; k++) {
+            int w = nodosFijos[k];
+            FuenteVoltajeSimulacion f = fuentes[fuenteDeNodo[k]];
+            double v = b[f.getRama()];
+            voltajes[w] = w == f.getNodoA() ? voltajes[f.getNodoB()] + v : voltajes[f.getNodoA()] - v;
+        }
+        
+        for (int i = 0; i < numNodos; i++) {
+            if (indiceLibre[i] >= 0) {
+                bReducido[indiceLibre[i]] = b[i];
+            }
+        }
+        for (int k = 0; k < acoplePosicion.length; k++) {
+            bReducido[acopleFila[k]] -= valoresA[acoplePosicion[k]] * voltajes[acopleNodo[k]];
+        }
+    }
+    
+    /**
+     * Arma la solución del sistema completo (voltajes y corrientes de rama) a partir de la reducida.
+     * Debe llamarse después de {@link #reducir} con el mismo b.
+     */
+    public double[] expandir(double[] xLibre, double[] b) {
+        double[] solucion = new double[completa.getDimension()];
+        for (int i = 0; i < numNodos; i++) {
+            if (indiceLibre[i] >= 0) {
+                voltajes[i + 1] = xLibre[indiceLibre[i]];
+            }
+            solucion[i] = voltajes[i + 1];
+        }
+        
+        // Corriente que deben aportar las fuentes en cada nodo fijo: b_i − Σ G_ij·v_j
+        double[] resto = new double[numNodos + 1];
+        for (int w : nodosFijos) {
+            resto[w] = b[w - 1];
+        }
+        int[] columnas = completa.getColumnas();
+        int[] filas = completa.getFilas();
+        double[] valoresA = completa.getValores();
+        for (int j = 0; j < numNodos; j++) {
+            double vj = voltajes[j + 1];
+            if (vj == 0.0) continue;
+            for (int p = columnas[j]; p < columnas[j + 1]; p++) {
+                int i = filas[p];
+                if (i < numNodos && indiceLibre[i] < 0) {
+                    resto[i + 1] -= valoresA[p] * vj;
+                }
+            }
+        }
+        
+        // Desde las hojas del árbol de fuentes hacia tierra
+        for (int k = nodosFijos.length - 1; k >= 0; k--) {
+            int w = nodosFijos[k];
+            FuenteVoltajeSimulacion f = fuentes[fuenteDeNodo[k]];
+            double signo = w == f.getNodoA() ? 1.0 : -1.0;
+            double corriente = signo * resto[w];
+            solucion[f.getRama()] = corriente;
+            int u = w == f.getNodoA() ? f.getNodoB() : f.getNodoA();
+            resto[u] += signo * corriente;
+        }
+        return solucion;
+    }
+    
+    // Getters
+    public MatrizDispersa getMatriz() { return matriz; }
+    public int getNumLibres() { return numLibres; }
+}
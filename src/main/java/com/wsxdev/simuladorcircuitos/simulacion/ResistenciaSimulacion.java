@@ -0,0 +1,66 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+
+/**
+ * Conductancia entre dos nodos; el valor guardado es la conductancia (S)
+ */
+public class ResistenciaSimulacion extends ElementoCircuito {
+    // Posiciones en el arreglo de valores CSC (-1 si la entrada cae en tierra)
+    protected int posAA = -1, posBB = -1, posAB = -1, posBA = -1;
+    
+    public ResistenciaSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+    
+    @Override
+    public double leerValor() {
+        return 1.0 / ((Resistencia) origen).getResistencia();
+    }
+    
+    @Override
+    public boolean esConductancia() {
+        return true;
+    }
+    
+    @Override
+    public void reservar(MatrizDispersa.Tripletas patron) {
+        int i = incognita(nodoA);
+        int j = incognita(nodoB);
+        if (i >= 0) {
+            posAA = patron.agregar(i, i, 0.0);
+        }
+        if (j >= 0) {
+            posBB = patron.agregar(j, j, 0.0);
+        }
+        if (i >= 0 && j >= 0) {
+            posAB = patron.agregar(i, j, 0.0);
+            posBA = patron.agregar(j, i, 0.0);
+        }
+    }
+    
+    @Override
+    public void ubicar(int[] posiciones) {
+        if (posAA >= 0) posAA = posiciones[posAA];
+        if (posBB >= 0) posBB = posiciones[posBB];
+        if (posAB >= 0) posAB = posiciones[posAB];
+        if (posBA >= 0) posBA = posiciones[posBA];
+    }
+    
+    @Override
+    public void estampar(double[] matriz, double[] rhs) {
+        double g = valores[indice];
+        if (posAA >= 0) matriz[posAA] += g;
+        if (posBB >= 0) matriz[posBB] += g;
+        if (posAB >= 0) {
+            matriz[posAB] -= g;
+            matriz[posBA] -= g;
+        }
+    }
+    
+    @Override
+    public double calcularCorriente(double[] voltajesNodos, double[] solucion) {
+        return (voltajesNodos[nodoA] - voltajesNodos[nodoB]) * valores[indice];
+    }
+}
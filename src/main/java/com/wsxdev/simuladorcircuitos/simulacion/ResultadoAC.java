@@ -0,0 +1,80 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resultado de un barrido AC: magnitud (V) y fase (grados) de cada nodo en cada frecuencia, listos
+ * para un diagrama de Bode. Los nodos usan los mismos índices que {@link SimuladorCircuito.ResultadosSimulacion}.
+ */
+public class ResultadoAC {
+    private final boolean exitoso;
+    private final String mensaje;
+    private final double[] frecuencias;
+    private final double[][] magnitudes; // [nodo][punto]
+    private final double[][] fases;      // [nodo][punto], grados
+    private final NetlistCircuito[] islas;
+    private Map<String, Integer> nodoIndices;
+    private final int factorizacionesSimbolicas;
+
+    public ResultadoAC(boolean exitoso, String mensaje) {
+        this(exitoso, mensaje, new double[0], new double[0][], new double[0][], null, 0);
+    }
+
+    ResultadoAC(boolean exitoso, String mensaje, double[] frecuencias, double[][] magnitudes, double[][] fases,
+                NetlistCircuito[] islas, int factorizacionesSimbolicas) {
+        this.exitoso = exitoso;
+        this.mensaje = mensaje;
+        this.frecuencias = frecuencias;
+        this.magnitudes = magnitudes;
+        this.fases = fases;
+        this.islas = islas;
+        this.factorizacionesSimbolicas = factorizacionesSimbolicas;
+    }
+
+    /**
+     * Magnitud del voltaje de un nodo en cada frecuencia
+     */
+    public double[] getMagnitudes(int nodo) {
+        return magnitudes[nodo];
+    }
+
+    /**
+     * Fase del voltaje de un nodo en cada frecuencia, en grados
+     */
+    public double[] getFases(int nodo) {
+        return fases[nodo];
+    }
+
+    /**
+     * Magnitud en decibeles (20·log10 |V|)
+     */
+    public double[] getMagnitudesDb(int nodo) {
+        double[] db = new double[frecuencias.length];
+        for (int k = 0; k < db.length; k++) {
+            db[k] = 20.0 * Math.log10(magnitudes[nodo][k]);
+        }
+        return db;
+    }
+
+    public Map<String, Integer> getNodoIndices() {
+        if (nodoIndices == null && islas != null) {
+            Map<String, Integer> indices = new HashMap<>();
+            int desplazamiento = 0;
+            for (NetlistCircuito isla : islas) {
+                isla.construirIndicesNodos(indices, desplazamiento);
+                desplazamiento += isla.getNumNodos();
+            }
+            nodoIndices = indices;
+        }
+        return nodoIndices;
+    }
+
+    // Getters
+    public boolean isExitoso() { return exitoso; }
+    public String getMensaje() { return mensaje; }
+    public double[] getFrecuencias() { return frecuencias; }
+    public int getNumPuntos() { return frecuencias.length; }
+    public int getNumNodos() { return magnitudes.length; }
+    public int getFactorizacionesSimbolicas() { return factorizacionesSimbolicas; }
+}
@@ -0,0 +1,110 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabla de resultados de un barrido de parámetro: por cada valor, los voltajes de todos los nodos
+ * (mismos índices que {@link SimuladorCircuito.ResultadosSimulacion}) y la corriente de cada elemento.
+ * Las filas de los puntos que no convergieron quedan en NaN.
+ */
+public class ResultadoBarrido {
+    private final boolean exitoso;
+    private final String mensaje;
+    private final double[] valores;
+    private final double[] voltajes;    // Una fila de numNodos valores por punto
+    private final double[] corrientes;  // Una fila de numElementos valores por punto
+    private final int numNodos;
+    private final String[] idsElementos; // Componente de cada columna de corriente
+    private final NetlistCircuito[] islas;
+    private Map<String, Integer> nodoIndices;
+    private final int puntosFallidos;
+
+    public ResultadoBarrido(boolean exitoso, String mensaje) {
+        this(exitoso, mensaje, new double[0], new double[0], new double[0], 0, new String[0], null, 0);
+    }
+
+    ResultadoBarrido(boolean exitoso, String mensaje, double[] valores, double[] voltajes, double[] corrientes,
+                     int numNodos, String[] idsElementos, NetlistCircuito[] islas, int puntosFallidos) {
+        this.exitoso = exitoso;
+        this.mensaje = mensaje;
+        this.valores = valores;
+        this.voltajes = voltajes;
+        this.corrientes = corrientes;
+        this.numNodos = numNodos;
+        this.idsElementos = idsElementos;
+        this.islas = islas;
+        this.puntosFallidos = puntosFallidos;
+    }
+
+    /**
+     * Voltaje de un nodo en un punto del barrido
+     */
+    public double getVoltaje(int punto, int nodo) {
+        return voltajes[punto * numNodos + nodo];
+    }
+
+    /**
+     * Corriente de un elemento (columna de {@link #getIdsElementos()}) en un punto del barrido
+     */
+    public double getCorriente(int punto, int elemento) {
+        return corrientes[punto * idsElementos.length + elemento];
+    }
+
+    /**
+     * Voltaje de un nodo a lo largo del barrido
+     */
+    public double[] getSerieVoltaje(int nodo) {
+        double[] serie = new double[valores.length];
+        for (int k = 0; k < serie.length; k++) {
+            serie[k] = voltajes[k * numNodos + nodo];
+        }
+        return serie;
+    }
+
+    /**
+     * Corriente de un elemento a lo largo del barrido
+     */
+    public double[] getSerieCorriente(int elemento) {
+        double[] serie = new double[valores.length];
+        for (int k = 0; k < serie.length; k++) {
+            serie[k] = corrientes[k * idsElementos.length + elemento];
+        }
+        return serie;
+    }
+
+    /**
+     * Columna de corriente del componente con ese id, o -1
+     */
+    public int indiceElemento(String idComponente) {
+        for (int e = 0; e < idsElementos.length; e++) {
+            if (idsElementos[e].equals(idComponente)) return e;
+        }
+        return -1;
+    }
+
+    public Map<String, Integer> getNodoIndices() {
+        if (nodoIndices == null && islas != null) {
+            Map<String, Integer> indices = new HashMap<>();
+            int desplazamiento = 0;
+            for (NetlistCircuito isla : islas) {
+                isla.construirIndicesNodos(indices, desplazamiento);
+                desplazamiento += isla.getNumNodos();
+            }
+            nodoIndices = indices;
+        }
+        return nodoIndices;
+    }
+
+    // Getters
+    public boolean isExitoso() { return exitoso; }
+    public String getMensaje() { return mensaje; }
+    public double[] getValores() { return valores; }
+    public int getNumPuntos() { return valores.length; }
+    public int getNumNodos() { return numNodos; }
+    public int getNumElementos() { return idsElementos.length; }
+    public String[] getIdsElementos() { return idsElementos; }
+    public double[] getVoltajes() { return voltajes; }
+    public double[] getCorrientes() { return corrientes; }
+    public int getPuntosFallidos() { return puntosFallidos; }
+}
@@ -0,0 +1,33 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * Resultado de un método iterativo: solución, iteraciones y residuos relativos ‖b − A·x‖ / ‖b‖
+ */
+public class ResultadoIterativo {
+    private final double[] solucion;
+    private final int iteraciones;
+    private final double residuo;
+    private final double[] historialResiduos;
+    private final boolean convergio;
+    
+    public ResultadoIterativo(double[] solucion, int iteraciones, double residuo,
+                              double[] historialResiduos, boolean convergio) {
+        this.solucion = solucion;
+        this.iteraciones = iteraciones;
+        this.residuo = residuo;
+        this.historialResiduos = historialResiduos;
+        this.convergio = convergio;
+    }
+    
+    // Getters
+    public double[] getSolucion() { return solucion; }
+    public int getIteraciones() { return iteraciones; }
+    public double getResiduo() { return residuo; }
+    public double[] getHistorialResiduos() { return historialResiduos; }
+    public boolean isConvergio() { return convergio; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d iteraciones, residuo %.2e%s", iteraciones, residuo, convergio ? "" : " (sin convergencia)");
+    }
+}
@@ -0,0 +1,52 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resultado de un análisis de Monte Carlo: estadísticas del voltaje de cada nodo (mismos índices que
+ * {@link SimuladorCircuito.ResultadosSimulacion}) sobre todas las muestras que convergieron
+ */
+public class ResultadoMonteCarlo {
+    private final boolean exitoso;
+    private final String mensaje;
+    private final EstadisticasNodos estadisticas;
+    private final int variables;       // Resistencias con tolerancia
+    private final long muestrasFallidas;
+    private final NetlistCircuito[] islas;
+    private Map<String, Integer> nodoIndices;
+
+    public ResultadoMonteCarlo(boolean exitoso, String mensaje) {
+        this(exitoso, mensaje, null, 0, 0, null);
+    }
+
+    ResultadoMonteCarlo(boolean exitoso, String mensaje, EstadisticasNodos estadisticas, int variables,
+                        long muestrasFallidas, NetlistCircuito[] islas) {
+        this.exitoso = exitoso;
+        this.mensaje = mensaje;
+        this.estadisticas = estadisticas;
+        this.variables = variables;
+        this.muestrasFallidas = muestrasFallidas;
+        this.islas = islas;
+    }
+
+    public Map<String, Integer> getNodoIndices() {
+        if (nodoIndices == null && islas != null) {
+            Map<String, Integer> indices = new HashMap<>();
+            int desplazamiento = 0;
+            for (NetlistCircuito isla : islas) {
+                isla.construirIndicesNodos(indices, desplazamiento);
+                desplazamiento += isla.getNumNodos();
+            }
+            nodoIndices = indices;
+        }
+        return nodoIndices;
+    }
+
+    // Getters
+    public boolean isExitoso() { return exitoso; }
+    public String getMensaje() { return mensaje; }
+    public EstadisticasNodos getEstadisticas() { return estadisticas; }
+    public int getVariables() { return variables; }
+    public long getMuestrasFallidas() { return muestrasFallidas; }
+}
@@ -0,0 +1,63 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sensibilidades de una salida (lectura de un medidor) respecto de los valores de los componentes,
+ * ordenadas de mayor a menor influencia
+ */
+public class ResultadoSensibilidad {
+    private final boolean exitoso;
+    private final String mensaje;
+    private final double valorSalida;
+    private final String unidadSalida;
+    private final List<Sensibilidad> sensibilidades;
+
+    public ResultadoSensibilidad(boolean exitoso, String mensaje) {
+        this(exitoso, mensaje, 0.0, "", Collections.emptyList());
+    }
+
+    ResultadoSensibilidad(boolean exitoso, String mensaje, double valorSalida, String unidadSalida,
+                          List<Sensibilidad> sensibilidades) {
+        this.exitoso = exitoso;
+        this.mensaje = mensaje;
+        this.valorSalida = valorSalida;
+        this.unidadSalida = unidadSalida;
+        this.sensibilidades = sensibilidades;
+    }
+
+    /**
+     * Derivada de la salida respecto de un parámetro de un componente
+     */
+    public static class Sensibilidad {
+        private final Componente componente;
+        private final String parametro;
+        private final double valor;
+        private final double derivada;  // dSalida / dValor
+        private final double relativa;  // (dSalida / Salida) / (dValor / Valor)
+
+        Sensibilidad(Componente componente, String parametro, double valor, double derivada, double relativa) {
+            this.componente = componente;
+            this.parametro = parametro;
+            this.valor = valor;
+            this.derivada = derivada;
+            this.relativa = relativa;
+        }
+
+        public Componente getComponente() { return componente; }
+        public String getParametro() { return parametro; }
+        public double getValor() { return valor; }
+        public double getDerivada() { return derivada; }
+        public double getRelativa() { return relativa; }
+    }
+
+    // Getters
+    public boolean isExitoso() { return exitoso; }
+    public String getMensaje() { return mensaje; }
+    public double getValorSalida() { return valorSalida; }
+    public String getUnidadSalida() { return unidadSalida; }
+    public List<Sensibilidad> getSensibilidades() { return sensibilidades; }
+}
@@ -0,0 +1,80 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resultado de un análisis transitorio: voltajes de todos los nodos (islas concatenadas, con los
+ * mismos índices que {@link SimuladorCircuito.ResultadosSimulacion}) en los instantes muestreados,
+ * más las estadísticas del control de paso
+ */
+public class ResultadoTransitorio {
+    private final boolean exitoso;
+    private final String mensaje;
+    private final double[] tiempos;
+    private final double[] voltajes; // Una fila de numNodos valores por muestra
+    private final int numNodos;
+    private final NetlistCircuito[] islas;
+    private Map<String, Integer> nodoIndices;
+    private final int pasosAceptados;
+    private final int pasosRechazados;
+    private final int factorizaciones;
+
+    public ResultadoTransitorio(boolean exitoso, String mensaje) {
+        this(exitoso, mensaje, new double[0], new double[0], 0, null, 0, 0, 0);
+    }
+
+    ResultadoTransitorio(boolean exitoso, String mensaje, double[] tiempos, double[] voltajes, int numNodos,
+                         NetlistCircuito[] islas, int pasosAceptados, int pasosRechazados, int factorizaciones) {
+        this.exitoso = exitoso;
+        this.mensaje = mensaje;
+        this.tiempos = tiempos;
+        this.voltajes = voltajes;
+        this.numNodos = numNodos;
+        this.islas = islas;
+        this.pasosAceptados = pasosAceptados;
+        this.pasosRechazados = pasosRechazados;
+        this.factorizaciones = factorizaciones;
+    }
+
+    /**
+     * Voltaje de un nodo en una muestra
+     */
+    public double getVoltaje(int muestra, int nodo) {
+        return voltajes[muestra * numNodos + nodo];
+    }
+
+    /**
+     * Forma de onda de un nodo en todas las muestras
+     */
+    public double[] getSerie(int nodo) {
+        double[] serie = new double[tiempos.length];
+        for (int m = 0; m < serie.length; m++) {
+            serie[m] = voltajes[m * numNodos + nodo];
+        }
+        return serie;
+    }
+
+    public Map<String, Integer> getNodoIndices() {
+        if (nodoIndices == null && islas != null) {
+            Map<String, Integer> indices = new HashMap<>();
+            int desplazamiento = 0;
+            for (NetlistCircuito isla : islas) {
+                isla.construirIndicesNodos(indices, desplazamiento);
+                desplazamiento += isla.getNumNodos();
+            }
+            nodoIndices = indices;
+        }
+        return nodoIndices;
+    }
+
+    // Getters
+    public boolean isExitoso() { return exitoso; }
+    public String getMensaje() { return mensaje; }
+    public double[] getTiempos() { return tiempos; }
+    public int getNumMuestras() { return tiempos.length; }
+    public int getNumNodos() { return numNodos; }
+    public int getPasosAceptados() { return pasosAceptados; }
+    public int getPasosRechazados() { return pasosRechazados; }
+    public int getFactorizaciones() { return factorizaciones; }
+}
@@ -0,0 +1,12 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+/**
+ * La simulación se detuvo en un punto de control porque se canceló o venció su tiempo límite
+ */
+public class SimulacionCancelada extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SimulacionCancelada(String mensaje) {
+        super(mensaje);
+    }
+}
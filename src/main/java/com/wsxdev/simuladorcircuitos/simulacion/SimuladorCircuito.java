@@ -1,27 +1,49 @@
 package com.wsxdev.simuladorcircuitos.simulacion;
 
+import com.wsxdev.simuladorcircuitos.metricas.CronometroFases;
+import com.wsxdev.simuladorcircuitos.metricas.EventoSimulacion;
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+import com.wsxdev.simuladorcircuitos.metricas.MedicionSimulacion;
+import com.wsxdev.simuladorcircuitos.metricas.RegistroMetricas;
 import com.wsxdev.simuladorcircuitos.modelo.*;
-import org.apache.commons.math3.linear.*;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealVector;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 /**
- * Motor de simulación de circuitos usando análisis nodal
+ * Motor de simulación de circuitos usando análisis nodal.
+ * Cada isla del circuito (subcircuito sin conexión con los demás) se resuelve como un sistema
+ * independiente con su propia tierra; si hay varias, se reparten en el ForkJoinPool común.
+ * Cada simulación mide sus fases ({@link Fase}) y publica la medición en el resultado y en
+ * {@link RegistroMetricas#getGlobal()}, y con una grabación de JFR activa emite un {@link EventoSimulacion}.
+ * Con un {@link ControlSimulacion} la simulación se puede cancelar o limitar en tiempo; si se detiene,
+ * se descarta todo lo compilado y factorizado.
  */
 public class SimuladorCircuito {
     private Circuito circuito;
-    private Map<String, Integer> nodoIndices;
+    private NetlistCircuito[] islas;
+    private SistemaMNA[] sistemas;
+    private ConfiguracionIterativa configuracionIterativa; // null = factorización LU directa
     private boolean simulacionActiva;
     
+    // Versiones del circuito con las que se compiló el netlist y se obtuvo el último resultado
+    private Circuito circuitoCompilado;
+    private long versionTopologiaCompilada;
+    private long versionValoresResuelta;
+    private ResultadosSimulacion ultimosResultados;
+    
     public SimuladorCircuito(Circuito circuito) {
         this.circuito = circuito;
-        this.nodoIndices = new HashMap<>();
         this.simulacionActiva = false;
     }
     
     // Constructor sin parámetros para compatibilidad con el controlador
     public SimuladorCircuito() {
-        this.nodoIndices = new HashMap<>();
         this.simulacionActiva = false;
     }
     
@@ -29,38 +51,259 @@ public class SimuladorCircuito {
      * Ejecuta la simulación del circuito
      */
     public ResultadosSimulacion simular() {
+        return simular(ControlSimulacion.NINGUNO);
+    }
+    
+    /**
+     * Ejecuta la simulación revisando el control: si se cancela o vence su plazo, el resultado no es
+     * exitoso y se liberan netlist, sistemas y factorizaciones
+     */
+    public ResultadosSimulacion simular(ControlSimulacion control) {
+        EventoSimulacion evento = new EventoSimulacion();
+        evento.begin();
+        ResultadosSimulacion anteriores = ultimosResultados;
+        ResultadosSimulacion resultados = simularFases(control);
+        evento.end();
+        // Devolver el resultado guardado no es una simulación nueva
+        if (resultados != anteriores && evento.shouldCommit()) {
+            evento.componentes = circuito != null ? circuito.getComponentes().size() : 0;
+            evento.exitosa = resultados.isExitoso();
+            evento.mensaje = resultados.getMensaje();
+            evento.setMedicion(resultados.getMedicion());
+            evento.commit();
+        }
+        return resultados;
+    }
+    
+    private ResultadosSimulacion simularFases(ControlSimulacion control) {
+        CronometroFases fases = new CronometroFases();
         try {
-            // 1. Identificar nodos únicos
-            Set<String> nodos = identificarNodos();
-            if (nodos.size() < 2) {
-                return new ResultadosSimulacion(false, "El circuito necesita al menos 2 nodos conectados");
+            long versionTopologia = circuito.getVersionTopologia();
+            long versionValores = circuito.getVersionValores();
+            boolean mismaTopologia = islas != null && circuitoCompilado == circuito
+                    && versionTopologia == versionTopologiaCompilada;
+            if (mismaTopologia && ultimosResultados != null && versionValores == versionValoresResuelta) {
+                // Nada eléctrico cambió (por ejemplo, solo se movieron componentes)
+                return ultimosResultados;
             }
             
-            // 2. Asignar índices a los nodos (tierra = 0)
-            asignarIndicesNodos(nodos);
-            
-            // 3. Construir matriz de conductancias
-            RealMatrix matrizConductancias = construirMatrizConductancias();
-            
-            // 4. Construir vector de corrientes
-            RealVector vectorCorrientes = construirVectorCorrientes();
+            // 1-2. Separar islas, identificar nodos y asignar índices densos (tierra = 0 en cada isla)
+            if (mismaTopologia) {
+                // Solo cambiaron valores: se conservan nodos, patrón, ordenamiento y pivotes
+                for (NetlistCircuito isla : islas) {
+                    isla.actualizarValores();
+                }
+                fases.marcar(Fase.ESTAMPAR);
+            } else {
+                islas = NetlistCircuito.compilar(circuito, fases, control);
+                circuitoCompilado = circuito;
+                versionTopologiaCompilada = versionTopologia;
+            }
+            ultimosResultados = null;
+            if (Arrays.stream(islas).allMatch(isla -> isla.getNumNodos() < 2)) {
+                return new ResultadosSimulacion(false, "El circuito necesita al menos 2 nodos conectados");
+            }
             
-            // 5. Resolver sistema de ecuaciones
-            DecompositionSolver solver = new LUDecomposition(matrizConductancias).getSolver();
-            RealVector voltajesNodos = solver.solve(vectorCorrientes);
+            ResultadosSimulacion resultados = resolver(islas, fases, control);
+            if (resultados.isExitoso()) {
+                ultimosResultados = resultados;
+                versionValoresResuelta = versionValores;
+            }
+            return resultados;
             
-            // 6. Calcular corrientes en cada conexión
-            calcularCorrientesConexiones(voltajesNodos);
+        } catch (SimulacionCancelada e) {
+            return cancelada(e);
+        } catch (Exception e) {
+            simulacionActiva = false;
+            return new ResultadosSimulacion(false, "Error en simulación: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Resuelve las islas ya compiladas; solo trabaja con arreglos primitivos
+     */
+    public ResultadosSimulacion resolver(NetlistCircuito[] islas) {
+        return resolver(islas, new CronometroFases(), ControlSimulacion.NINGUNO);
+    }
+    
+    private ResultadosSimulacion resolver(NetlistCircuito[] islas, CronometroFases fases, ControlSimulacion control) {
+        try {
+            if (sistemas == null || sistemas.length != islas.length) {
+                sistemas = new SistemaMNA[islas.length];
+            }
+            this.islas = islas;
             
-            // 7. Actualizar estado visual de las conexiones
-            actualizarEstadoVisual();
+            double[][] voltajes = new double[islas.length][];
+            double[][] corrientes = new double[islas.length][];
+            // Cada isla mide en su propio cronómetro: los bytes reservados se leen por hilo
+            CronometroFases[] fasesIslas = new CronometroFases[islas.length];
+            if (islas.length == 1) {
+                fasesIslas[0] = fases;
+                voltajes[0] = resolverIsla(0, corrientes, fases, control);
+            } else {
+                // Las islas no comparten incógnitas: cada una es una tarea independiente.
+                // El avance se cuenta por islas terminadas, no por el de cada factorización
+                ControlSimulacion controlIslas = control.sinProgreso();
+                AtomicInteger terminadas = new AtomicInteger();
+                ForkJoinPool.commonPool().submit(() ->
+                        IntStream.range(0, islas.length).parallel().forEach(i -> {
+                            fasesIslas[i] = new CronometroFases();
+                            voltajes[i] = resolverIsla(i, corrientes, fasesIslas[i], controlIslas);
+                            control.avanzar(Fase.RESOLVER, terminadas.incrementAndGet(), islas.length);
+                        })
+                ).get();
+                for (CronometroFases fasesIsla : fasesIslas) {
+                    fases.sumar(fasesIsla);
+                }
+            }
             
             simulacionActiva = true;
-            return new ResultadosSimulacion(true, "Simulación exitosa", voltajesNodos, nodoIndices);
+            MedicionSimulacion medicion = medir(fases);
+            RegistroMetricas.getGlobal().registrar(medicion);
+            return new ResultadosSimulacion(true, "Simulación exitosa" + resumenNewton() + resumenIterativo(),
+                    voltajes, corrientes, islas, medicion);
             
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SimulacionCancelada cancelacion) {
+                return cancelada(cancelacion);
+            }
+            simulacionActiva = false;
+            return new ResultadosSimulacion(false, "Error en simulación: " + e.getCause().getMessage());
+        } catch (SimulacionCancelada e) {
+            return cancelada(e);
         } catch (Exception e) {
             simulacionActiva = false;
             return new ResultadosSimulacion(false, "Error en simulación: " + e.getMessage());
+        } finally {
+            // El control (y su plazo) es solo de esta simulación; la sensibilidad, por ejemplo, refactoriza después
+            if (sistemas != null) {
+                for (SistemaMNA sistema : sistemas) {
+                    if (sistema != null) {
+                        sistema.setControl(ControlSimulacion.NINGUNO);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Descarta netlist, sistemas y factorizaciones: pueden haber quedado a medio calcular, y así la
+     * memoria de una simulación detenida se libera enseguida
+     */
+    private ResultadosSimulacion cancelada(SimulacionCancelada e) {
+        simulacionActiva = false;
+        islas = null;
+        sistemas = null;
+        circuitoCompilado = null;
+        ultimosResultados = null;
+        return new ResultadosSimulacion(false, e.getMessage());
+    }
+    
+    /**
+     * Resuelve una isla y publica sus resultados; devuelve los voltajes de sus nodos y deja en
+     * corrientes[i] las de sus elementos
+     */
+    private double[] resolverIsla(int i, double[][] corrientesIslas, CronometroFases fases, ControlSimulacion control) {
+        NetlistCircuito isla = islas[i];
+        // El patrón del sistema solo se construye cuando cambia el netlist
+        if (sistemas[i] == null || sistemas[i].getNetlist() != isla) {
+            sistemas[i] = new SistemaMNA(isla);
+        }
+        SistemaMNA sistema = sistemas[i];
+        sistema.setConfiguracionIterativa(configuracionIterativa);
+        sistema.setControl(control);
+        control.verificar();
+        
+        // 3-4. Estampar matriz de conductancias y vector de corrientes (sin la fila/columna de tierra)
+        sistema.estampar();
+        fases.marcar(Fase.ESTAMPAR);
+        
+        // 5. Resolver sistema de ecuaciones
+        double[] solucion = sistema.getDimension() > 0 ? sistema.resolver() : new double[0];
+        double[] voltajesNodos = isla.voltajesNodos(solucion);
+        fases.marcar(Fase.RESOLVER);
+        control.verificar();
+        
+        // 6. Calcular corrientes en cada elemento
+        double[] corrientes = calcularCorrientesElementos(isla, voltajesNodos, solucion);
+        corrientesIslas[i] = corrientes;
+        fases.marcar(Fase.CALCULAR_CORRIENTES);
+        
+        // 7. Actualizar estado visual de las conexiones e instrumentos
+        actualizarEstadoVisual(isla, voltajesNodos, corrientes);
+        fases.marcar(Fase.ACTUALIZAR_VISTA);
+        return voltajesNodos;
+    }
+    
+    /**
+     * Medición de la simulación con el tamaño de los sistemas de todas las islas
+     */
+    private MedicionSimulacion medir(CronometroFases fases) {
+        int dimension = 0;
+        long noCeros = 0;
+        long noCerosFactores = 0;
+        for (SistemaMNA sistema : sistemas) {
+            dimension += sistema.getDimension();
+            noCeros += sistema.getMatriz().getNoCeros();
+            FactorizacionLU factorizacion = sistema.getFactorizacion();
+            if (factorizacion != null) {
+                noCerosFactores += factorizacion.getNoCerosL() + factorizacion.getNoCerosU();
+            }
+        }
+        return new MedicionSimulacion(fases, fases.getNanosDesdeCreacion(), sistemas.length, dimension,
+                noCeros, noCerosFactores);
+    }
+    
+    /**
+     * Iteraciones y factorizaciones de Newton-Raphson (las de la isla más difícil), si hubo elementos no lineales
+     */
+    private String resumenNewton() {
+        EstadisticasNewton peor = null;
+        for (SistemaMNA sistema : sistemas) {
+            EstadisticasNewton estadisticas = sistema.esNoLineal() ? sistema.getUltimasEstadisticasNewton() : null;
+            if (estadisticas != null && (peor == null || estadisticas.getIteraciones() > peor.getIteraciones())) {
+                peor = estadisticas;
+            }
+        }
+        return peor == null ? "" : " (Newton: " + peor + ")";
+    }
+    
+    /**
+     * Iteraciones y residuo del modo iterativo (el peor de todas las islas), para el mensaje del resultado
+     */
+    private String resumenIterativo() {
+        if (configuracionIterativa == null) {
+            return "";
+        }
+        int iteraciones = 0;
+        double residuo = 0.0;
+        for (SistemaMNA sistema : sistemas) {
+            ResultadoIterativo resultado = sistema.getUltimoResultadoIterativo();
+            if (resultado != null) {
+                iteraciones = Math.max(iteraciones, resultado.getIteraciones());
+                residuo = Math.max(residuo, resultado.getResiduo());
+            }
+        }
+        return String.format(" (iterativo: %d iteraciones, residuo %.2e)", iteraciones, residuo);
+    }
+    
+    /**
+     * Sensibilidad de la lectura de un medidor respecto de cada resistencia y fuente, con el método
+     * adjunto: una sola resolución transpuesta que reutiliza los factores de la última simulación
+     */
+    public ResultadoSensibilidad calcularSensibilidades(Componente medidor) {
+        return calcularSensibilidades(medidor, ControlSimulacion.NINGUNO);
+    }
+    
+    public ResultadoSensibilidad calcularSensibilidades(Componente medidor, ControlSimulacion control) {
+        ResultadosSimulacion resultados = simular(control);
+        if (!resultados.isExitoso()) {
+            return new ResultadoSensibilidad(false, resultados.getMensaje());
+        }
+        try {
+            return AnalisisSensibilidad.calcular(islas, sistemas, resultados.getVoltajesNodos().toArray(), medidor);
+        } catch (Exception e) {
+            return new ResultadoSensibilidad(false, "Error en sensibilidad: " + e.getMessage());
         }
     }
     
@@ -68,8 +311,18 @@ public class SimuladorCircuito {
      * Simula un circuito específico (sobrecarga para el controlador)
      */
     public void simular(Circuito circuito) throws Exception {
+        simular(circuito, ControlSimulacion.NINGUNO);
+    }
+    
+    /**
+     * Simula un circuito específico con un control de cancelación; si se detiene lanza {@link SimulacionCancelada}
+     */
+    public void simular(Circuito circuito, ControlSimulacion control) throws Exception {
         this.circuito = circuito;
-        ResultadosSimulacion resultados = simular();
+        ResultadosSimulacion resultados = simular(control);
+        if (!resultados.isExitoso() && control.isCancelada()) {
+            throw new SimulacionCancelada(resultados.getMensaje());
+        }
         if (!resultados.isExitoso()) {
             throw new Exception(resultados.getMensaje());
         }
@@ -123,139 +376,37 @@ public class SimuladorCircuito {
         return sb.toString();
     }
     
-    private Set<String> identificarNodos() {
-        Set<String> nodos = new HashSet<>();
-        
-        for (Conexion conexion : circuito.getConexiones()) {
-            String nodoInicio = obtenerIdNodo(conexion.getPuntoInicio());
-            String nodoFin = obtenerIdNodo(conexion.getPuntoFin());
-            nodos.add(nodoInicio);
-            nodos.add(nodoFin);
+    /**
+     * Corriente de cada elemento en el sentido terminal A → terminal B
+     */
+    static double[] calcularCorrientesElementos(NetlistCircuito netlist, double[] voltajesNodos, double[] solucion) {
+        ElementoCircuito[] elementos = netlist.getElementos();
+        double[] corrientes = new double[elementos.length];
+        for (int e = 0; e < elementos.length; e++) {
+            corrientes[e] = elementos[e].calcularCorriente(voltajesNodos, solucion);
         }
-        
-        return nodos;
-    }
-    
-    private String obtenerIdNodo(PuntoConexion punto) {
-        return punto.getComponentePadre().getId() + "_" + punto.getNombre();
+        return corrientes;
     }
     
-    private void asignarIndicesNodos(Set<String> nodos) {
-        nodoIndices.clear();
-        int indice = 0;
-        
-        // Buscar un nodo de tierra (terminal negativo de fuente de voltaje)
-        String nodoTierra = null;
-        for (Componente componente : circuito.getComponentes()) {
-            if (componente instanceof FuenteVoltaje) {
-                FuenteVoltaje fuente = (FuenteVoltaje) componente;
-                nodoTierra = componente.getId() + "_negativo";
-                break;
-            }
+    static void actualizarEstadoVisual(NetlistCircuito netlist, double[] voltajesNodos, double[] corrientes) {
+        for (ElementoCircuito elemento : netlist.getElementos()) {
+            double diferenciaPotencial = voltajesNodos[elemento.getNodoA()] - voltajesNodos[elemento.getNodoB()];
+            elemento.publicarResultado(corrientes[elemento.getIndice()], diferenciaPotencial);
         }
         
-        // Asignar tierra como índice 0
-        if (nodoTierra != null && nodos.contains(nodoTierra)) {
-            nodoIndices.put(nodoTierra, 0);
-            nodos.remove(nodoTierra);
-        }
-        
-        // Asignar índices al resto de nodos
-        for (String nodo : nodos) {
-            nodoIndices.put(nodo, ++indice);
-        }
-    }
-    
-    private RealMatrix construirMatrizConductancias() {
-        int numNodos = nodoIndices.size();
-        RealMatrix matriz = new Array2DRowRealMatrix(numNodos, numNodos);
-        
-        // Para cada conexión, agregar conductancia
-        for (Conexion conexion : circuito.getConexiones()) {
-            String nodoI = obtenerIdNodo(conexion.getPuntoInicio());
-            String nodoJ = obtenerIdNodo(conexion.getPuntoFin());
-            
-            int i = nodoIndices.get(nodoI);
-            int j = nodoIndices.get(nodoJ);
-            
-            // Calcular conductancia basada en el componente
-            double conductancia = calcularConductancia(conexion);
-            
-            if (i > 0) { // No modificar fila de tierra
-                matriz.addToEntry(i, i, conductancia);
-                if (j > 0) {
-                    matriz.addToEntry(i, j, -conductancia);
-                }
-            }
-            
-            if (j > 0) { // No modificar fila de tierra
-                matriz.addToEntry(j, j, conductancia);
-                if (i > 0) {
-                    matriz.addToEntry(j, i, -conductancia);
-                }
-            }
-        }
-        
-        return matriz;
-    }
-    
-    private double calcularConductancia(Conexion conexion) {
-        // Para cables, conductancia muy alta (resistencia muy baja)
-        return 1000.0; // 1/0.001 Ω
-    }
-    
-    private RealVector construirVectorCorrientes() {
-        int numNodos = nodoIndices.size();
-        RealVector vector = new ArrayRealVector(numNodos);
-        
-        // Para cada fuente de voltaje, agregar corriente
-        for (Componente componente : circuito.getComponentes()) {
-            if (componente instanceof FuenteVoltaje) {
-                FuenteVoltaje fuente = (FuenteVoltaje) componente;
-                String nodoPos = componente.getId() + "_positivo";
-                String nodoNeg = componente.getId() + "_negativo";
-                
-                if (nodoIndices.containsKey(nodoPos)) {
-                    int indicePos = nodoIndices.get(nodoPos);
-                    if (indicePos > 0) {
-                        // Método simplificado: inyectar corriente proporcional al voltaje
-                        double corriente = fuente.getVoltaje() / 1.0; // Asumiendo resistencia interna de 1Ω
-                        vector.setEntry(indicePos, corriente);
-                    }
-                }
-            }
-        }
-        
-        return vector;
-    }
-    
-    private void calcularCorrientesConexiones(RealVector voltajesNodos) {
-        for (Conexion conexion : circuito.getConexiones()) {
-            String nodoI = obtenerIdNodo(conexion.getPuntoInicio());
-            String nodoJ = obtenerIdNodo(conexion.getPuntoFin());
-            
-            double voltajeI = nodoIndices.containsKey(nodoI) ? 
-                (nodoIndices.get(nodoI) > 0 ? voltajesNodos.getEntry(nodoIndices.get(nodoI)) : 0.0) : 0.0;
-            double voltajeJ = nodoIndices.containsKey(nodoJ) ? 
-                (nodoIndices.get(nodoJ) > 0 ? voltajesNodos.getEntry(nodoIndices.get(nodoJ)) : 0.0) : 0.0;
-            
-            double diferenciaPotencial = voltajeI - voltajeJ;
-            double conductancia = calcularConductancia(conexion);
-            double corriente = diferenciaPotencial * conductancia;
-            
-            conexion.setCorriente(corriente);
-            conexion.setVoltaje(Math.abs(diferenciaPotencial));
-        }
-    }
-    
-    private void actualizarEstadoVisual() {
-        for (Conexion conexion : circuito.getConexiones()) {
-            conexion.setActiva(Math.abs(conexion.getCorriente()) > 0.001);
+        // Los cables son ideales: sin caída de voltaje, corriente recuperada por KCL
+        Conexion[] conexiones = netlist.getConexiones();
+        double[] corrientesConexiones = netlist.corrientesConexiones(corrientes);
+        for (int c = 0; c < conexiones.length; c++) {
+            conexiones[c].setCorriente(corrientesConexiones[c]);
+            conexiones[c].setVoltaje(0.0);
+            conexiones[c].setActiva(Math.abs(corrientesConexiones[c]) > 0.001);
         }
     }
     
     public void detenerSimulacion() {
         simulacionActiva = false;
+        ultimosResultados = null;
         // Resetear corrientes y voltajes
         for (Conexion conexion : circuito.getConexiones()) {
             conexion.setCorriente(0);
@@ -268,6 +419,26 @@ public class SimuladorCircuito {
         return simulacionActiva;
     }
     
+    public NetlistCircuito[] getIslas() {
+        return islas;
+    }
+    
+    public SistemaMNA[] getSistemas() {
+        return sistemas;
+    }
+    
+    public ConfiguracionIterativa getConfiguracionIterativa() {
+        return configuracionIterativa;
+    }
+    
+    /**
+     * Elige el motor de solución: null para factorización LU directa, o las opciones del modo iterativo
+     */
+    public void setConfiguracionIterativa(ConfiguracionIterativa configuracionIterativa) {
+        this.configuracionIterativa = configuracionIterativa;
+        this.ultimosResultados = null;
+    }
+    
     /**
      * Clase para encapsular los resultados de la simulación
      */
@@ -275,10 +446,14 @@ public class SimuladorCircuito {
         private final boolean exitoso;
         private final String mensaje;
         private final RealVector voltajesNodos;
-        private final Map<String, Integer> nodoIndices;
+        private Map<String, Integer> nodoIndices;
+        private final NetlistCircuito[] islas;
+        private final double[][] corrientesIslas;
+        private Map<String, Double> corrientes;
+        private final MedicionSimulacion medicion;
         
         public ResultadosSimulacion(boolean exitoso, String mensaje) {
-            this(exitoso, mensaje, null, null);
+            this(exitoso, mensaje, (RealVector) null, null);
         }
         
         public ResultadosSimulacion(boolean exitoso, String mensaje, RealVector voltajesNodos, Map<String, Integer> nodoIndices) {
@@ -286,11 +461,65 @@ public class SimuladorCircuito {
             this.mensaje = mensaje;
             this.voltajesNodos = voltajesNodos;
             this.nodoIndices = nodoIndices;
+            this.islas = null;
+            this.corrientesIslas = null;
+            this.medicion = null;
+        }
+        
+        // Los voltajes de las islas se concatenan; el mapa de claves de texto solo se construye si alguien lo pide
+        ResultadosSimulacion(boolean exitoso, String mensaje, double[][] voltajesIslas, double[][] corrientesIslas,
+                             NetlistCircuito[] islas, MedicionSimulacion medicion) {
+            this.exitoso = exitoso;
+            this.mensaje = mensaje;
+            int total = 0;
+            for (double[] voltajes : voltajesIslas) {
+                total += voltajes.length;
+            }
+            double[] voltajesNodos = new double[total];
+            int desplazamiento = 0;
+            for (double[] voltajes : voltajesIslas) {
+                System.arraycopy(voltajes, 0, voltajesNodos, desplazamiento, voltajes.length);
+                desplazamiento += voltajes.length;
+            }
+            this.voltajesNodos = new ArrayRealVector(voltajesNodos, false);
+            this.islas = islas;
+            this.corrientesIslas = corrientesIslas;
+            this.medicion = medicion;
         }
         
         public boolean isExitoso() { return exitoso; }
         public String getMensaje() { return mensaje; }
         public RealVector getVoltajesNodos() { return voltajesNodos; }
-        public Map<String, Integer> getNodoIndices() { return nodoIndices; }
+        public MedicionSimulacion getMedicion() { return medicion; } // Tiempos por fase; null si falló
+        
+        public Map<String, Integer> getNodoIndices() {
+            if (nodoIndices == null && islas != null) {
+                Map<String, Integer> indices = new HashMap<>();
+                int desplazamiento = 0;
+                for (NetlistCircuito isla : islas) {
+                    isla.construirIndicesNodos(indices, desplazamiento);
+                    desplazamiento += isla.getNumNodos();
+                }
+                nodoIndices = indices;
+            }
+            return nodoIndices;
+        }
+        
+        /**
+         * Corriente de cada componente simulado (terminal A → B), por id; también se construye al pedirla
+         */
+        public Map<String, Double> getCorrientes() {
+            if (corrientes == null && islas != null) {
+                Map<String, Double> porId = new HashMap<>();
+                for (int i = 0; i < islas.length; i++) {
+                    ElementoCircuito[] elementos = islas[i].getElementos();
+                    for (int e = 0; e < elementos.length; e++) {
+                        porId.put(elementos[e].getOrigen().getId(), corrientesIslas[i][e]);
+                    }
+                }
+                corrientes = porId;
+            }
+            return corrientes;
+        }
     }
 }
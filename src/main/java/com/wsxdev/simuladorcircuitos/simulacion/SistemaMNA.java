@@ -0,0 +1,310 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sistema MNA de un netlist: patrón CSC fijo calculado una vez y arreglos de valores reutilizables.
+ * Estampar de nuevo (por ejemplo tras cambiar un valor) no reserva memoria ni busca en mapas, y la
+ * factorización anterior se reaprovecha: con pocos cambios de conductancia se corrige con
+ * Sherman-Morrison-Woodbury y, si no, se refactoriza solo la parte numérica.
+ *
+ * Con una {@link ConfiguracionIterativa} se evita la factorización: el sistema se reduce, si se puede,
+ * a la red resistiva simétrica de los nodos libres y se resuelve con un método de Krylov.
+ *
+ * Si el netlist tiene elementos no lineales (LEDs) el sistema se resuelve con {@link NewtonRaphson}.
+ *
+ * Con interruptores se guarda una factorización por cada combinación de estados (LRU acotada): volver a
+ * una combinación ya vista reutiliza sus factores en lugar de factorizar de nuevo.
+ *
+ * Estampar, factorizar, Newton y los métodos iterativos revisan el {@link ControlSimulacion} asignado;
+ * si se cancela a mitad de camino, el sistema (y sus factores) no se debe volver a usar.
+ */
+public class SistemaMNA {
+    private static final int FACTORIZACIONES_POR_ESTADO = 16;
+    private static final int ELEMENTOS_POR_CONTROL = 4096; // Potencia de 2
+    
+    private final NetlistCircuito netlist;
+    private final MatrizDispersa matriz;
+    private final double[] rhs;
+    private FactorizacionLU factorizacion;
+    private boolean factorizacionVigente; // La factorización corresponde a la matriz estampada
+    private CorreccionWoodbury correccion;
+    
+    // Interruptores: factorización y base de Woodbury por estado (bit i = interruptor i cerrado)
+    private final InterruptorSimulacion[] interruptores;
+    private final Map<BitSet, CorreccionWoodbury> factorizacionesPorEstado;
+    private BitSet estadoFactorizado; // Estado con que se calculó la factorización actual
+    private long aciertosEstado;
+    private long fallosEstado;
+    
+    // Elementos no lineales: se resuelve con Newton-Raphson
+    private final ElementoCircuito[] noLineales;
+    private double[] ultimaSolucionNewton;
+    private EstadisticasNewton ultimasEstadisticasNewton;
+    
+    // Modo iterativo
+    private ConfiguracionIterativa configuracionIterativa;
+    private ReduccionNodal reduccion;
+    private boolean reduccionAnalizada;
+    private double[] rhsReducido;
+    private double[] ultimaSolucionIterativa;
+    private ResultadoIterativo ultimoResultadoIterativo;
+    
+    private ControlSimulacion control = ControlSimulacion.NINGUNO;
+    
+    public SistemaMNA(NetlistCircuito netlist) {
+        this.netlist = netlist;
+        ElementoCircuito[] elementos = netlist.getElementos();
+        int n = netlist.getNumIncognitas();
+        
+        MatrizDispersa.Tripletas patron = new MatrizDispersa.Tripletas(n, 4 * elementos.length);
+        for (ElementoCircuito elemento : elementos) {
+            elemento.reservar(patron);
+        }
+        int[] posiciones = new int[patron.getCantidad()];
+        this.matriz = patron.comprimir(posiciones);
+        for (ElementoCircuito elemento : elementos) {
+            elemento.ubicar(posiciones);
+        }
+        this.rhs = new double[n];
+        this.noLineales = Arrays.stream(elementos).filter(ElementoCircuito::esNoLineal).toArray(ElementoCircuito[]::new);
+        this.interruptores = Arrays.stream(elementos).filter(e -> e instanceof InterruptorSimulacion)
+                .toArray(InterruptorSimulacion[]::new);
+        this.factorizacionesPorEstado = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BitSet, CorreccionWoodbury> mayor) {
+                return size() > FACTORIZACIONES_POR_ESTADO;
+            }
+        };
+    }
+    
+    /**
+     * Vuelve a escribir matriz y vector independiente a partir de los valores actuales del netlist
+     */
+    public void estampar() {
+        double[] valoresMatriz = matriz.getValores();
+        Arrays.fill(valoresMatriz, 0.0);
+        Arrays.fill(rhs, 0.0);
+        factorizacionVigente = false;
+        ElementoCircuito[] elementos = netlist.getElementos();
+        for (int e = 0; e < elementos.length; e++) {
+            if ((e & (ELEMENTOS_POR_CONTROL - 1)) == 0) {
+                control.verificar();
+            }
+            elementos[e].estampar(valoresMatriz, rhs);
+        }
+    }
+    
+    /**
+     * Resuelve el sistema estampado, corrigiendo la última factorización cuando basta con un cambio de rango bajo
+     */
+    public double[] resolver() {
+        if (noLineales.length > 0) {
+            return resolverNoLineal();
+        }
+        if (configuracionIterativa != null) {
+            return resolverIterativo();
+        }
+        double[] valores = netlist.getValores();
+        if (interruptores.length > 0) {
+            recuperarFactorizacionDeEstado();
+        }
+        if (correccion != null && correccion.actualizar(valores)) {
+            double[] solucion = correccion.resolver(rhs, valores);
+            if (solucion != null) {
+                return solucion;
+            }
+        }
+        return factorizar().resolver(rhs);
+    }
+    
+    /**
+     * Factoriza la matriz estampada. Con una factorización previa se reutilizan su ordenamiento y su
+     * secuencia de pivotes; si algún pivote deja de ser estable se vuelve a pivotar con el mismo orden.
+     */
+    public FactorizacionLU factorizar() {
+        factorizarMatriz();
+        control.verificar();
+        correccion = new CorreccionWoodbury(factorizacion, netlist.getElementos(), netlist.getValores());
+        if (interruptores.length > 0) {
+            factorizacionesPorEstado.put(estadoFactorizado, correccion);
+        }
+        return factorizacion;
+    }
+    
+    /**
+     * Factoriza sin preparar la corrección de Woodbury; es lo que usa Newton-Raphson, cuya matriz
+     * cambia en cada iteración
+     */
+    FactorizacionLU factorizarMatriz() {
+        FactorizacionLU previa = interruptores.length > 0 ? tomarFactorizacionDeEstado() : factorizacion;
+        if (previa == null) {
+            // Sin factores para este estado: se pivota de nuevo, con el orden de la anterior si la hay
+            factorizacion = factorizacion == null ? FactorizacionLU.factorizar(matriz, control)
+                    : FactorizacionLU.factorizar(matriz, factorizacion.getOrden(), control);
+        } else if (previa.refactorizar(matriz, control)) {
+            factorizacion = previa;
+        } else {
+            factorizacion = FactorizacionLU.factorizar(matriz, previa.getOrden(), control);
+        }
+        factorizacionVigente = true;
+        return factorizacion;
+    }
+    
+    /**
+     * Si hay factores guardados para el estado actual de los interruptores los vuelve a usar, junto con su
+     * base de Woodbury, que corrige los cambios de conductancia hechos desde entonces
+     */
+    private void recuperarFactorizacionDeEstado() {
+        BitSet estado = estadoInterruptores();
+        if (estado.equals(estadoFactorizado)) {
+            return;
+        }
+        CorreccionWoodbury guardada = factorizacionesPorEstado.get(estado);
+        if (guardada != null) {
+            factorizacion = guardada.getBase();
+            correccion = guardada;
+            estadoFactorizado = estado;
+            aciertosEstado++;
+        }
+    }
+    
+    /**
+     * Factores que se pueden sobrescribir para el estado actual de los interruptores, o null si no hay.
+     * Salen de la caché, porque al refactorizar dejan de corresponder a sus valores base; los de otros
+     * estados se quedan guardados y no se tocan.
+     */
+    private FactorizacionLU tomarFactorizacionDeEstado() {
+        BitSet estado = estadoInterruptores();
+        CorreccionWoodbury guardada = factorizacionesPorEstado.remove(estado);
+        if (estado.equals(estadoFactorizado)) {
+            return factorizacion;
+        }
+        estadoFactorizado = estado;
+        fallosEstado++;
+        return guardada != null ? guardada.getBase() : null;
+    }
+    
+    private BitSet estadoInterruptores() {
+        BitSet estado = new BitSet(interruptores.length);
+        for (int i = 0; i < interruptores.length; i++) {
+            if (interruptores[i].estaCerrado()) {
+                estado.set(i);
+            }
+        }
+        return estado;
+    }
+    
+    /**
+     * Resuelve el problema adjunto Aᵀ·λ = c con la matriz estampada (el jacobiano en la solución, si
+     * hay LEDs). Reutiliza la última factorización si corresponde a esa matriz; si no (se resolvió con
+     * Woodbury, con un jacobiano anterior o en modo iterativo) solo se refactoriza la parte numérica.
+     */
+    public double[] resolverTranspuesta(double[] c) {
+        if (!factorizacionVigente) {
+            factorizar(); // También renueva la base de Woodbury, que comparte los factores
+        }
+        return factorizacion.resolverTranspuesta(c);
+    }
+    
+    /**
+     * Punto de operación con Newton-Raphson (siempre con factorización directa), partiendo del anterior
+     */
+    private double[] resolverNoLineal() {
+        NewtonRaphson newton = new NewtonRaphson(this, noLineales);
+        try {
+            ultimaSolucionNewton = newton.resolver(ultimaSolucionNewton);
+            return ultimaSolucionNewton;
+        } catch (ArithmeticException e) {
+            ultimaSolucionNewton = null;
+            throw e;
+        } finally {
+            ultimasEstadisticasNewton = newton.getEstadisticas();
+        }
+    }
+    
+    /**
+     * Resuelve con el método iterativo configurado, partiendo de la solución anterior si se pidió
+     */
+    private double[] resolverIterativo() {
+        if (!reduccionAnalizada) {
+            reduccion = ReduccionNodal.crear(netlist, matriz);
+            reduccionAnalizada = true;
+        }
+        MatrizDispersa a = matriz;
+        double[] b = rhs;
+        if (reduccion != null) {
+            if (rhsReducido == null) {
+                rhsReducido = new double[reduccion.getNumLibres()];
+            }
+            reduccion.reducir(rhs, rhsReducido);
+            a = reduccion.getMatriz();
+            b = rhsReducido;
+        }
+        
+        SolucionadorIterativo solucionador = configuracionIterativa.crearSolucionador(reduccion != null);
+        Precondicionador precondicionador = conControl(configuracionIterativa.crearPrecondicionador(a, reduccion != null));
+        double[] x0 = configuracionIterativa.isArranqueEnCaliente() ? ultimaSolucionIterativa : null;
+        ResultadoIterativo resultado = solucionador.resolver(a, b, x0, precondicionador);
+        ultimoResultadoIterativo = resultado;
+        if (!resultado.isConvergio()) {
+            ultimaSolucionIterativa = null;
+            throw new ArithmeticException("El método iterativo no convergió: " + resultado);
+        }
+        ultimaSolucionIterativa = resultado.getSolucion();
+        return reduccion != null ? reduccion.expandir(resultado.getSolucion(), rhs) : resultado.getSolucion();
+    }
+    
+    /**
+     * Todos los métodos de Krylov aplican el precondicionador una vez por iteración: ahí se revisa la
+     * cancelación sin tocar cada método
+     */
+    private Precondicionador conControl(Precondicionador precondicionador) {
+        if (control == ControlSimulacion.NINGUNO) {
+            return precondicionador;
+        }
+        if (precondicionador == null) {
+            return (r, z) -> {
+                control.verificar();
+                System.arraycopy(r, 0, z, 0, r.length);
+            };
+        }
+        return (r, z) -> {
+            control.verificar();
+            precondicionador.aplicar(r, z);
+        };
+    }
+    
+    /**
+     * Control de cancelación y avance para las próximas resoluciones
+     */
+    public void setControl(ControlSimulacion control) {
+        this.control = control;
+    }
+    
+    /**
+     * Activa el modo iterativo (null vuelve a la factorización directa)
+     */
+    public void setConfiguracionIterativa(ConfiguracionIterativa configuracionIterativa) {
+        this.configuracionIterativa = configuracionIterativa;
+    }
+    
+    // Getters
+    public NetlistCircuito getNetlist() { return netlist; }
+    public MatrizDispersa getMatriz() { return matriz; }
+    public double[] getRhs() { return rhs; }
+    public int getDimension() { return rhs.length; }
+    public ControlSimulacion getControl() { return control; }
+    public FactorizacionLU getFactorizacion() { return factorizacion; }
+    public ConfiguracionIterativa getConfiguracionIterativa() { return configuracionIterativa; }
+    public ResultadoIterativo getUltimoResultadoIterativo() { return ultimoResultadoIterativo; }
+    public EstadisticasNewton getUltimasEstadisticasNewton() { return ultimasEstadisticasNewton; }
+    public boolean esNoLineal() { return noLineales.length > 0; }
+    public int getNumInterruptores() { return interruptores.length; }
+    public int getFactorizacionesGuardadas() { return factorizacionesPorEstado.size(); }
+    public long getAciertosEstado() { return aciertosEstado; }
+    public long getFallosEstado() { return fallosEstado; }
+}
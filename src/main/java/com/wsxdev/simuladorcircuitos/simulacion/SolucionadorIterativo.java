@@ -0,0 +1,63 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Método iterativo de Krylov para A·x = b con precondicionador intercambiable.
+ * Se detiene cuando el residuo relativo ‖b − A·x‖ / ‖b‖ baja de la tolerancia.
+ */
+public abstract class SolucionadorIterativo {
+    protected final double tolerancia;
+    protected final int maxIteraciones;
+    
+    protected SolucionadorIterativo(double tolerancia, int maxIteraciones) {
+        this.tolerancia = tolerancia;
+        this.maxIteraciones = maxIteraciones;
+    }
+    
+    /**
+     * Resuelve A·x = b
+     *
+     * @param x0 solución inicial (arranque en caliente); null para partir de cero
+     * @param m  precondicionador; null para no usar ninguno
+     */
+    public abstract ResultadoIterativo resolver(MatrizDispersa a, double[] b, double[] x0, Precondicionador m);
+    
+    protected static Precondicionador identidadSiNulo(Precondicionador m) {
+        return m != null ? m : (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+    }
+    
+    protected static double[] inicial(double[] x0, int n) {
+        return x0 != null && x0.length == n ? x0.clone() : new double[n];
+    }
+    
+    /**
+     * r = b − A·x
+     */
+    protected static void residuo(MatrizDispersa a, double[] b, double[] x, double[] r) {
+        a.multiplicar(x, r);
+        for (int i = 0; i < r.length; i++) {
+            r[i] = b[i] - r[i];
+        }
+    }
+    
+    protected static double producto(double[] u, double[] v) {
+        double suma = 0.0;
+        for (int i = 0; i < u.length; i++) {
+            suma += u[i] * v[i];
+        }
+        return suma;
+    }
+    
+    protected static double norma(double[] v) {
+        return Math.sqrt(producto(v, v));
+    }
+    
+    protected static double[] recortar(double[] historial, int cantidad) {
+        return Arrays.copyOf(historial, cantidad);
+    }
+    
+    // Getters
+    public double getTolerancia() { return tolerancia; }
+    public int getMaxIteraciones() { return maxIteraciones; }
+}
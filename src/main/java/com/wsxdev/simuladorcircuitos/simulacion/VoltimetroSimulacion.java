@@ -0,0 +1,24 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Voltimetro;
+
+/**
+ * Voltímetro: resistencia interna muy alta en paralelo (positivo → negativo)
+ */
+public class VoltimetroSimulacion extends ResistenciaSimulacion {
+    
+    public VoltimetroSimulacion(int indice, int nodoA, int nodoB, Componente origen, double[] valores) {
+        super(indice, nodoA, nodoB, origen, valores);
+    }
+    
+    @Override
+    public double leerValor() {
+        return 1.0 / ((Voltimetro) origen).getResistenciaInterna();
+    }
+    
+    @Override
+    public void publicarResultado(double corriente, double diferenciaPotencial) {
+        ((Voltimetro) origen).actualizarMedicion(diferenciaPotencial);
+    }
+}
@@ -1,6 +1,7 @@
 package com.wsxdev.simuladorcircuitos.vista;
 
 import com.wsxdev.simuladorcircuitos.modelo.Componente;
+import com.wsxdev.simuladorcircuitos.modelo.Interruptor;
 
 import javax.swing.*;
 import java.awt.*;
@@ -11,6 +12,7 @@ import java.awt.*;
 public class ComponenteVisual {
     private Componente componente;
     private ImageIcon icono;
+    private ImageIcon iconoCerrado; // Solo interruptores
     private boolean seleccionado;
     
     private static final int ANCHO_COMPONENTE = 48;
@@ -23,16 +25,23 @@ public class ComponenteVisual {
     }
     
     private void cargarIcono() {
-        String ruta = "/img/png/componentes/" + componente.getTipo() + ".png";
+        icono = cargarIcono(componente.getTipo());
+        if (componente instanceof Interruptor) {
+            iconoCerrado = cargarIcono(componente.getTipo() + "Cerrado");
+        }
+    }
+    
+    private ImageIcon cargarIcono(String nombre) {
+        String ruta = "/img/png/componentes/" + nombre + ".png";
         java.net.URL imgURL = getClass().getResource(ruta);
         
         if (imgURL != null) {
             Image img = new ImageIcon(imgURL).getImage()
                     .getScaledInstance(ANCHO_COMPONENTE, ALTO_COMPONENTE, Image.SCALE_SMOOTH);
-            icono = new ImageIcon(img);
+            return new ImageIcon(img);
         } else {
             System.err.println("No se encontró el recurso: " + ruta);
-            icono = null;
+            return null;
         }
     }
     
@@ -54,9 +63,10 @@ public class ComponenteVisual {
                           ANCHO_COMPONENTE + 4, ALTO_COMPONENTE + 4);
             }
             
-            // Dibujar icono del componente
-            if (icono != null) {
-                g.drawImage(icono.getImage(), componente.getX(), componente.getY(), comp);
+            // Dibujar icono del componente (los interruptores cerrados tienen el suyo)
+            ImageIcon imagen = iconoCerrado != null && ((Interruptor) componente).isCerrado() ? iconoCerrado : icono;
+            if (imagen != null) {
+                g.drawImage(imagen.getImage(), componente.getX(), componente.getY(), comp);
             } else {
                 // Dibujar rectángulo de fallback
                 g.setColor(Color.RED);
@@ -104,6 +114,9 @@ public class ComponenteVisual {
     }
     
     private String formatearValor() {
+        if (componente instanceof Interruptor) {
+            return ((Interruptor) componente).isCerrado() ? "Cerrado" : "Abierto";
+        }
         double valor = componente.getValorPrincipal();
         String unidad = componente.getUnidad();
         
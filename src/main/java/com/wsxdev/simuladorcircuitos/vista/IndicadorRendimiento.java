@@ -0,0 +1,71 @@
+package com.wsxdev.simuladorcircuitos.vista;
+
+import com.wsxdev.simuladorcircuitos.metricas.Fase;
+import com.wsxdev.simuladorcircuitos.metricas.MedicionSimulacion;
+import com.wsxdev.simuladorcircuitos.metricas.MonitorRendimiento;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+
+/**
+ * Sección de la barra de estado con el rendimiento en vivo: última simulación (tiempo de resolución y
+ * tamaño del sistema), pintado (duración del cuadro y cuadros por segundo), heap y pausas del recolector
+ * en el último intervalo. Un Timer de Swing lee {@link MonitorRendimiento#instantanea()}, que no bloquea,
+ * y solo corre mientras el indicador está visible.
+ */
+public class IndicadorRendimiento extends JLabel {
+    private static final int INTERVALO_MS = 500;
+
+    private final Timer timer = new Timer(INTERVALO_MS, e -> actualizar());
+    private MonitorRendimiento.Instantanea anterior;
+
+    public IndicadorRendimiento() {
+        setBorder(new EmptyBorder(2, 5, 2, 5));
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        setVisible(false);
+    }
+
+    /**
+     * Muestra u oculta el indicador; oculto no consulta nada
+     */
+    public void setActivo(boolean activo) {
+        setVisible(activo);
+        if (activo) {
+            anterior = null;
+            actualizar();
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    public boolean isActivo() {
+        return timer.isRunning();
+    }
+
+    private void actualizar() {
+        MonitorRendimiento.Instantanea actual = MonitorRendimiento.getGlobal().instantanea();
+        StringBuilder texto = new StringBuilder();
+        MedicionSimulacion simulacion = actual.getUltimaSimulacion();
+        if (simulacion == null) {
+            texto.append("Sin simulaciones");
+        } else {
+            texto.append(String.format("Resolver %.1f ms (total %.1f ms) n=%d nnz=%d",
+                    simulacion.getMilisegundos(Fase.RESOLVER), simulacion.getMilisegundosTotales(),
+                    simulacion.getDimension(), simulacion.getNoCeros()));
+        }
+        texto.append(String.format(" | Cuadro %.1f ms %.0f FPS", actual.getNanosUltimoCuadro() / 1e6,
+                actual.getCuadrosPorSegundo()));
+        texto.append(String.format(" | Heap %d/%d MB", actual.getHeapUsado() >> 20, actual.getHeapMaximo() >> 20));
+        if (anterior != null) {
+            texto.append(String.format(" | GC %d ms (%d)", actual.getMilisegundosGc() - anterior.getMilisegundosGc(),
+                    actual.getRecoleccionesGc() - anterior.getRecoleccionesGc()));
+        }
+        setText(texto.toString());
+        if (simulacion != null) {
+            setToolTipText(simulacion.toString());
+        }
+        anterior = actual;
+    }
+}
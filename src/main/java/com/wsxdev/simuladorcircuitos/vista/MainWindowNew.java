@@ -1,8 +1,11 @@
 package com.wsxdev.simuladorcircuitos.vista;
 
 import com.wsxdev.simuladorcircuitos.controlador.CircuitoControlador;
+import com.wsxdev.simuladorcircuitos.metricas.EventoArchivo;
 import com.wsxdev.simuladorcircuitos.modelo.Circuito;
 import com.wsxdev.simuladorcircuitos.persistencia.Circuitos;
+import com.wsxdev.simuladorcircuitos.simulacion.ControlSimulacion;
+import com.wsxdev.simuladorcircuitos.simulacion.SimulacionCancelada;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -10,12 +13,16 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.io.File;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Ventana principal del simulador de circuitos con interfaz moderna
  */
 public class MainWindowNew extends JFrame {
     
+    // Propiedad que cambia al iniciar y terminar un trabajo de simulación
+    static final String PROPIEDAD_SIMULANDO = "simulando";
+    
     // Componentes principales
     private PanelCircuito panelCircuito;
     private CircuitoControlador controlador;
@@ -26,6 +33,7 @@ public class MainWindowNew extends JFrame {
     private JPanel panelLateral;
     private JMenuBar menuBar;
     private JLabel statusLabel;
+    private IndicadorRendimiento indicadorRendimiento;
     
     // Botones de la barra de herramientas
     private JButton btnNuevo, btnAbrir, btnGuardar;
@@ -35,6 +43,8 @@ public class MainWindowNew extends JFrame {
     // Variables de estado
     private File archivoActual = null;
     private boolean circuitoModificado = false;
+    private ControlSimulacion controlSimulacion; // Simulación en curso, null si no hay
+    private long tiempoLimiteMs = 0;             // 0 = sin límite
     
     public MainWindowNew() {
         initializeFrame();
@@ -105,8 +115,13 @@ public class MainWindowNew extends JFrame {
         
         menuSimulacion.add(createMenuItem("Ejecutar Simulación", "F5", this::ejecutarSimulacion));
         menuSimulacion.add(createMenuItem("Detener Simulación", "F6", this::detenerSimulacion));
+        menuSimulacion.add(createMenuItem("Tiempo Límite...", null, this::configurarTiempoLimite));
         menuSimulacion.addSeparator();
         menuSimulacion.add(createMenuItem("Mostrar Resultados", "F7", this::mostrarResultados));
+        JCheckBoxMenuItem itemRendimiento = new JCheckBoxMenuItem("Mostrar Rendimiento");
+        itemRendimiento.setAccelerator(KeyStroke.getKeyStroke("F8"));
+        itemRendimiento.addActionListener(e -> indicadorRendimiento.setActivo(itemRendimiento.isSelected()));
+        menuSimulacion.add(itemRendimiento);
         
         // Menú Ayuda
         JMenu menuAyuda = new JMenu("Ayuda");
@@ -226,6 +241,7 @@ public class MainWindowNew extends JFrame {
         panelComponentes.add(createComponentButton("Fuente de Voltaje", "fuenteV"));
         panelComponentes.add(createComponentButton("Resistencia", "resistencia"));
         panelComponentes.add(createComponentButton("LED", "led"));
+        panelComponentes.add(createComponentButton("Interruptor", "interruptor"));
         panelComponentes.add(createComponentButton("Voltímetro", "voltimetro"));
         panelComponentes.add(createComponentButton("Amperímetro", "amperimetro"));
         
@@ -245,6 +261,7 @@ public class MainWindowNew extends JFrame {
                         "• C - Modo conexión\n" +
                         "• R - Rotar componente\n" +
                         "• Del - Eliminar\n" +
+                        "• Doble clic - Abrir/cerrar interruptor\n" +
                         "• F5 - Simular");
         
         panelInfo.add(new JScrollPane(areaInfo), BorderLayout.CENTER);
@@ -279,6 +296,9 @@ public class MainWindowNew extends JFrame {
         statusLabel.setBorder(new EmptyBorder(2, 5, 2, 5));
         statusBar.add(statusLabel, BorderLayout.WEST);
         
+        indicadorRendimiento = new IndicadorRendimiento();
+        statusBar.add(indicadorRendimiento, BorderLayout.EAST);
+        
         add(statusBar, BorderLayout.SOUTH);
     }
     
@@ -327,8 +347,7 @@ public class MainWindowNew extends JFrame {
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
             try {
                 File archivo = fileChooser.getSelectedFile();
-                Circuito circuito = controlador.cargarCircuito(archivo.getAbsolutePath());
-                panelCircuito.setCircuito(circuito);
+                abrirArchivo(archivo);
                 archivoActual = archivo;
                 circuitoModificado = false;
                 actualizarTitulo();
@@ -346,7 +365,7 @@ public class MainWindowNew extends JFrame {
             guardarCircuitoComo();
         } else {
             try {
-                controlador.guardarCircuito(panelCircuito.getCircuito(), archivoActual.getAbsolutePath());
+                guardarArchivo(archivoActual);
                 circuitoModificado = false;
                 actualizarTitulo();
                 actualizarStatus("Circuito guardado");
@@ -370,7 +389,7 @@ public class MainWindowNew extends JFrame {
                     archivo = new File(archivo.getAbsolutePath() + ".cir");
                 }
                 
-                controlador.guardarCircuito(panelCircuito.getCircuito(), archivo.getAbsolutePath());
+                guardarArchivo(archivo);
                 archivoActual = archivo;
                 circuitoModificado = false;
                 actualizarTitulo();
@@ -383,6 +402,47 @@ public class MainWindowNew extends JFrame {
         }
     }
     
+    /**
+     * Carga el archivo en el panel, con un evento de JFR que mide la lectura y el armado de la vista
+     */
+    private void abrirArchivo(File archivo) throws Exception {
+        EventoArchivo evento = new EventoArchivo();
+        evento.begin();
+        Circuito circuito = null;
+        try {
+            circuito = controlador.cargarCircuito(archivo.getAbsolutePath());
+            panelCircuito.setCircuito(circuito);
+            evento.exitosa = true;
+        } finally {
+            registrarEvento(evento, "abrir", archivo, circuito);
+        }
+    }
+    
+    private void guardarArchivo(File archivo) throws Exception {
+        EventoArchivo evento = new EventoArchivo();
+        evento.begin();
+        try {
+            controlador.guardarCircuito(panelCircuito.getCircuito(), archivo.getAbsolutePath());
+            evento.exitosa = true;
+        } finally {
+            registrarEvento(evento, "guardar", archivo, panelCircuito.getCircuito());
+        }
+    }
+    
+    private void registrarEvento(EventoArchivo evento, String operacion, File archivo, Circuito circuito) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacion = operacion;
+            evento.ruta = archivo.getAbsolutePath();
+            evento.bytes = archivo.length();
+            if (circuito != null) {
+                evento.componentes = circuito.getComponentes().size();
+                evento.conexiones = circuito.getConexiones().size();
+            }
+            evento.commit();
+        }
+    }
+    
     private void limpiarCircuito() {
         if (confirmarAccion("¿Está seguro de que desea limpiar el circuito?")) {
             panelCircuito.limpiarCircuito();
@@ -399,17 +459,20 @@ public class MainWindowNew extends JFrame {
         actualizarStatus(modoConexion ? "Modo conexión activado" : "Modo conexión desactivado");
     }
     
-    private void ejecutarSimulacion() {
+    /**
+     * Simula en segundo plano con el control de {@link #iniciarTrabajo()}; F5, el botón y el panel del circuito
+     */
+    void ejecutarSimulacion() {
+        ControlSimulacion control = iniciarTrabajo();
+        if (control == null) return; // F5 con una simulación en curso
         try {
-            btnSimular.setEnabled(false);
-            btnDetener.setEnabled(true);
             actualizarStatus("Ejecutando simulación...");
             
             // Ejecutar simulación en hilo separado
             SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
                 @Override
                 protected Void doInBackground() throws Exception {
-                    controlador.simularCircuito(panelCircuito.getCircuito());
+                    controlador.simularCircuito(panelCircuito.getCircuito(), control);
                     return null;
                 }
                 
@@ -424,13 +487,17 @@ public class MainWindowNew extends JFrame {
                         mostrarResultados();
                         
                     } catch (Exception e) {
+                        if (e instanceof ExecutionException && e.getCause() instanceof SimulacionCancelada) {
+                            // Detenida con F6 o por tiempo límite: no es un error
+                            actualizarStatus(e.getCause().getMessage());
+                            return;
+                        }
                         JOptionPane.showMessageDialog(MainWindowNew.this, 
                             "Error en la simulación: " + e.getMessage(),
                             "Error de Simulación", JOptionPane.ERROR_MESSAGE);
                         actualizarStatus("Error en la simulación");
                     } finally {
-                        btnSimular.setEnabled(true);
-                        btnDetener.setEnabled(false);
+                        terminarTrabajo(control, null);
                     }
                 }
             };
@@ -441,20 +508,83 @@ public class MainWindowNew extends JFrame {
             JOptionPane.showMessageDialog(this, 
                 "Error al iniciar la simulación: " + e.getMessage(),
                 "Error de Simulación", JOptionPane.ERROR_MESSAGE);
-            btnSimular.setEnabled(true);
-            btnDetener.setEnabled(false);
+            terminarTrabajo(control, null);
+        }
+    }
+    
+    /**
+     * Reserva el simulador para un trabajo en segundo plano (F5, el lienzo o el panel de resultados): devuelve su
+     * control, con el tiempo límite configurado y el avance en la barra de estado, o null si ya hay uno
+     * en curso. El simulador del controlador no admite dos simulaciones a la vez.
+     */
+    ControlSimulacion iniciarTrabajo() {
+        if (controlSimulacion != null) return null;
+        // El avance llega desde los hilos de simulación (a lo sumo un aviso por punto porcentual)
+        ControlSimulacion control = new ControlSimulacion(tiempoLimiteMs, (fase, fraccion) -> {
+            String avance = String.format("Simulando: %s %.0f%%", fase.getDescripcion(), 100 * fraccion);
+            SwingUtilities.invokeLater(() -> {
+                if (controlSimulacion != null && !controlSimulacion.isCancelada()) {
+                    actualizarStatus(avance);
+                }
+            });
+        });
+        controlSimulacion = control;
+        btnSimular.setEnabled(false);
+        btnDetener.setEnabled(true);
+        firePropertyChange(PROPIEDAD_SIMULANDO, false, true);
+        return control;
+    }
+    
+    /**
+     * Libera el simulador al terminar (o fallar) el trabajo iniciado con ese control; con un estado no
+     * nulo también lo muestra en la barra
+     */
+    void terminarTrabajo(ControlSimulacion control, String estado) {
+        if (controlSimulacion != control) return;
+        if (estado != null) {
+            actualizarStatus(estado);
         }
+        controlSimulacion = null;
+        btnSimular.setEnabled(true);
+        btnDetener.setEnabled(false);
+        firePropertyChange(PROPIEDAD_SIMULANDO, true, false);
+    }
+    
+    boolean isSimulando() {
+        return controlSimulacion != null;
     }
     
     private void detenerSimulacion() {
+        if (controlSimulacion != null) {
+            // La simulación se detiene en su próximo punto de control; los botones se restauran al terminar
+            controlSimulacion.cancelar();
+            actualizarStatus("Deteniendo simulación...");
+            return;
+        }
         btnSimular.setEnabled(true);
         btnDetener.setEnabled(false);
         actualizarStatus("Simulación detenida");
     }
     
+    private void configurarTiempoLimite() {
+        String valor = JOptionPane.showInputDialog(this,
+                "Tiempo límite de la simulación en segundos (0 = sin límite):",
+                String.valueOf(tiempoLimiteMs / 1000.0));
+        if (valor == null) return;
+        try {
+            double segundos = Double.parseDouble(valor.trim().replace(',', '.'));
+            if (segundos < 0) throw new NumberFormatException();
+            tiempoLimiteMs = Math.round(segundos * 1000);
+            actualizarStatus(tiempoLimiteMs > 0 ? "Tiempo límite: " + valor.trim() + " s" : "Simulación sin tiempo límite");
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Ingrese un número de segundos válido",
+                    "Tiempo límite", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
     private void mostrarResultados() {
         if (panelResultados == null) {
-            panelResultados = new PanelResultados();
+            panelResultados = new PanelResultados(controlador, this);
         }
         panelResultados.actualizarResultados(panelCircuito.getCircuito());
         panelResultados.setVisible(true);
@@ -472,10 +602,11 @@ public class MainWindowNew extends JFrame {
                       "F5 - Ejecutar simulación\n" +
                       "F6 - Detener simulación\n" +
                       "F7 - Mostrar resultados\n" +
+                      "F8 - Mostrar rendimiento\n" +
                       "Esc - Cancelar operación actual\n\n" +
                       "Ratón:\n" +
                       "Clic derecho - Menú contextual\n" +
-                      "Doble clic - Configurar componente\n" +
+                      "Doble clic - Configurar componente (abre o cierra un interruptor)\n" +
                       "Arrastrar - Mover componente";
         
         JOptionPane.showMessageDialog(this, ayuda, "Ayuda - Atajos de Teclado", 
@@ -1,7 +1,8 @@
 package com.wsxdev.simuladorcircuitos.vista;
 
+import com.wsxdev.simuladorcircuitos.metricas.EventoPintado;
+import com.wsxdev.simuladorcircuitos.metricas.MonitorRendimiento;
 import com.wsxdev.simuladorcircuitos.modelo.*;
-import com.wsxdev.simuladorcircuitos.simulacion.SimuladorCircuito;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,7 +16,6 @@ import java.util.List;
 public class PanelCircuito extends JPanel {
     
     private Circuito circuito;
-    private SimuladorCircuito simulador;
     private List<ComponenteVisual> componentesVisuales;
     private List<ConexionVisual> conexionesVisuales;
     
@@ -54,7 +54,6 @@ public class PanelCircuito extends JPanel {
         
         // Inicializar modelo
         circuito = new Circuito("Circuito Principal");
-        simulador = new SimuladorCircuito(circuito);
         
         // Inicializar listas visuales
         componentesVisuales = new ArrayList<>();
@@ -150,8 +149,13 @@ public class PanelCircuito extends JPanel {
     
     private void handleMouseClicked(MouseEvent e) {
         if (e.getClickCount() == 2 && componenteSeleccionado != null) {
-            // Doble clic para configurar componente
-            mostrarDialogoConfiguracion(componenteSeleccionado);
+            if (componenteSeleccionado.getComponente() instanceof Interruptor) {
+                // Doble clic abre o cierra el interruptor
+                alternarInterruptor((Interruptor) componenteSeleccionado.getComponente());
+            } else {
+                // Doble clic para configurar componente
+                mostrarDialogoConfiguracion(componenteSeleccionado);
+            }
         }
     }
     
@@ -240,7 +244,14 @@ public class PanelCircuito extends JPanel {
         
         JPopupMenu menu = new JPopupMenu();
         
-        if (componente != null) {
+        if (componente != null && componente.getComponente() instanceof Interruptor) {
+            // Menú para interruptor: su único valor es abierto o cerrado
+            Interruptor interruptor = (Interruptor) componente.getComponente();
+            menu.add(createMenuItem(interruptor.isCerrado() ? "Abrir" : "Cerrar", e2 -> alternarInterruptor(interruptor)));
+            menu.add(createMenuItem("Rotar", e2 -> rotarComponente(componente)));
+            menu.addSeparator();
+            menu.add(createMenuItem("Eliminar", e2 -> eliminarComponente(componente)));
+        } else if (componente != null) {
             // Menú para componente
             menu.add(createMenuItem("Configurar", e2 -> mostrarDialogoConfiguracion(componente)));
             menu.add(createMenuItem("Rotar", e2 -> rotarComponente(componente)));
@@ -276,6 +287,7 @@ public class PanelCircuito extends JPanel {
         menu.add(createMenuItem("Fuente de Voltaje", e -> agregarComponente("fuenteV")));
         menu.add(createMenuItem("Resistencia", e -> agregarComponente("resistencia")));
         menu.add(createMenuItem("LED", e -> agregarComponente("led")));
+        menu.add(createMenuItem("Interruptor", e -> agregarComponente("interruptor")));
         menu.addSeparator();
         menu.add(createMenuItem("Voltímetro", e -> agregarComponente("voltimetro")));
         menu.add(createMenuItem("Amperímetro", e -> agregarComponente("amperimetro")));
@@ -310,6 +322,8 @@ public class PanelCircuito extends JPanel {
                 return new Resistencia(x, y, 0);
             case "led":
                 return new Led(x, y, 0);
+            case "interruptor":
+                return new Interruptor(x, y, 0);
             case "voltimetro":
                 return new Voltimetro(x, y, 0);
             case "amperimetro":
@@ -405,6 +419,10 @@ public class PanelCircuito extends JPanel {
     }
     
     // Métodos de simulación
+    /**
+     * Espacio y el menú contextual simulan como F5: en segundo plano, con el simulador de la ventana y
+     * cancelable con F6
+     */
     private void ejecutarSimulacion() {
         if (!circuito.validar()) {
             JOptionPane.showMessageDialog(this, 
@@ -412,31 +430,24 @@ public class PanelCircuito extends JPanel {
                 "Error de Simulación", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        
-        SimuladorCircuito.ResultadosSimulacion resultados = simulador.simular();
-        
-        if (resultados.isExitoso()) {
-            JOptionPane.showMessageDialog(this, 
-                "Simulación exitosa: " + resultados.getMensaje(), 
-                "Simulación", JOptionPane.INFORMATION_MESSAGE);
-            actualizarVisualizacionSimulacion();
-        } else {
-            JOptionPane.showMessageDialog(this, 
-                "Error en simulación: " + resultados.getMensaje(), 
-                "Error de Simulación", JOptionPane.ERROR_MESSAGE);
+        if (mainWindow != null) {
+            mainWindow.ejecutarSimulacion();
         }
-        
-        repaint();
     }
     
-    private void actualizarVisualizacionSimulacion() {
-        // Actualizar colores de conexiones basado en la corriente
-        for (ConexionVisual cv : conexionesVisuales) {
-            cv.actualizar();
+    // Métodos de configuración
+    /**
+     * Abre o cierra el interruptor; la próxima simulación reutiliza la factorización de ese estado si ya
+     * se calculó
+     */
+    private void alternarInterruptor(Interruptor interruptor) {
+        interruptor.alternar();
+        repaint();
+        if (mainWindow != null) {
+            mainWindow.marcarComoModificado();
         }
     }
     
-    // Métodos de configuración
     private void mostrarDialogoConfiguracion(ComponenteVisual componente) {
         ConfiguracionComponenteDialog dialog = new ConfiguracionComponenteDialog(
             SwingUtilities.getWindowAncestor(this), componente.getComponente());
@@ -499,9 +510,18 @@ public class PanelCircuito extends JPanel {
     
     public void setCircuito(Circuito nuevoCircuito) {
         this.circuito = nuevoCircuito;
-        this.simulador = new SimuladorCircuito(circuito);
         // Reconstruir visualización
-        // TODO: Implementar carga desde modelo
+        componentesVisuales.clear();
+        conexionesVisuales.clear();
+        for (Componente componente : circuito.getComponentes()) {
+            componentesVisuales.add(new ComponenteVisual(componente));
+        }
+        for (Conexion conexion : circuito.getConexiones()) {
+            conexionesVisuales.add(new ConexionVisual(conexion));
+        }
+        componenteSeleccionado = null;
+        componenteArrastrado = null;
+        repaint();
     }
     
     // Métodos para integración con MainWindow
@@ -536,6 +556,9 @@ public class PanelCircuito extends JPanel {
     
     @Override
     protected void paintComponent(Graphics g) {
+        long inicio = System.nanoTime();
+        EventoPintado evento = new EventoPintado();
+        evento.begin();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g.create();
         
@@ -564,6 +587,14 @@ public class PanelCircuito extends JPanel {
         }
         
         g2d.dispose();
+        MonitorRendimiento.getGlobal().registrarCuadro(inicio, System.nanoTime());
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.componentes = componentesVisuales.size();
+            evento.conexiones = conexionesVisuales.size();
+            evento.puntosConexion = modoConexion;
+            evento.commit();
+        }
     }
     
     private void dibujarPuntosConexion(Graphics2D g2d) {
@@ -1,8 +1,13 @@
 package com.wsxdev.simuladorcircuitos.vista;
 
+import com.wsxdev.simuladorcircuitos.controlador.CircuitoControlador;
+import com.wsxdev.simuladorcircuitos.modelo.Amperimetro;
 import com.wsxdev.simuladorcircuitos.modelo.Circuito;
 import com.wsxdev.simuladorcircuitos.modelo.Componente;
 import com.wsxdev.simuladorcircuitos.modelo.Conexion;
+import com.wsxdev.simuladorcircuitos.modelo.Voltimetro;
+import com.wsxdev.simuladorcircuitos.simulacion.ControlSimulacion;
+import com.wsxdev.simuladorcircuitos.simulacion.ResultadoSensibilidad;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -10,6 +15,7 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel para mostrar los resultados de la simulación
@@ -22,10 +28,26 @@ public class PanelResultados extends JDialog {
     private DefaultTableModel modeloComponentes;
     private DefaultTableModel modeloConexiones;
     
-    public PanelResultados() {
+    // Ranking de sensibilidad
+    private final CircuitoControlador controlador;
+    private final MainWindowNew ventana; // Comparte con F5 el simulador, el control y el tiempo límite
+    private Circuito circuito;
+    private JComboBox<Componente> comboSalida;
+    private JButton btnSensibilidad;
+    private JLabel lblSensibilidad;
+    private JTable tablaSensibilidad;
+    private DefaultTableModel modeloSensibilidad;
+    
+    public PanelResultados(CircuitoControlador controlador, MainWindowNew ventana) {
+        this.controlador = controlador;
+        this.ventana = ventana;
         initializeDialog();
         createComponents();
         layoutComponents();
+        // Sin cálculos mientras otra simulación usa el simulador
+        btnSensibilidad.setEnabled(!ventana.isSimulando());
+        ventana.addPropertyChangeListener(MainWindowNew.PROPIEDAD_SIMULANDO,
+                e -> btnSensibilidad.setEnabled(!ventana.isSimulando()));
     }
     
     private void initializeDialog() {
@@ -64,6 +86,27 @@ public class PanelResultados extends JDialog {
         };
         tablaConexiones = new JTable(modeloConexiones);
         tablaConexiones.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        
+        // Ranking de sensibilidad respecto de la lectura de un medidor
+        comboSalida = new JComboBox<>();
+        comboSalida.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                Object texto = value instanceof Componente ? ((Componente) value).getNombre() : value;
+                return super.getListCellRendererComponent(list, texto, index, isSelected, cellHasFocus);
+            }
+        });
+        lblSensibilidad = new JLabel(" ");
+        String[] columnasSensibilidad = {"#", "Componente", "Parámetro", "Valor", "dSalida/dValor", "Sensibilidad (%/%)"};
+        modeloSensibilidad = new DefaultTableModel(columnasSensibilidad, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        tablaSensibilidad = new JTable(modeloSensibilidad);
+        tablaSensibilidad.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     }
     
     private void layoutComponents() {
@@ -90,6 +133,19 @@ public class PanelResultados extends JDialog {
         JScrollPane scrollConexiones = new JScrollPane(tablaConexiones);
         tabbedPane.addTab("Conexiones", scrollConexiones);
         
+        // Pestaña de sensibilidad
+        JPanel panelSensibilidad = new JPanel(new BorderLayout());
+        JPanel panelSalida = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panelSalida.add(new JLabel("Salida:"));
+        panelSalida.add(comboSalida);
+        btnSensibilidad = new JButton("Calcular");
+        btnSensibilidad.addActionListener(e -> calcularSensibilidades());
+        panelSalida.add(btnSensibilidad);
+        panelSalida.add(lblSensibilidad);
+        panelSensibilidad.add(panelSalida, BorderLayout.NORTH);
+        panelSensibilidad.add(new JScrollPane(tablaSensibilidad), BorderLayout.CENTER);
+        tabbedPane.addTab("Sensibilidad", panelSensibilidad);
+        
         add(tabbedPane, BorderLayout.CENTER);
         
         // Panel inferior con botones
@@ -118,6 +174,7 @@ public class PanelResultados extends JDialog {
     }
     
     public void actualizarResultados(Circuito circuito) {
+        this.circuito = circuito;
         if (circuito == null) {
             areaResultados.setText("No hay circuito para mostrar resultados.");
             return;
@@ -160,6 +217,76 @@ public class PanelResultados extends JDialog {
             };
             modeloConexiones.addRow(fila);
         }
+        
+        // Medidores disponibles como salida de la sensibilidad
+        Object seleccionado = comboSalida.getSelectedItem();
+        comboSalida.removeAllItems();
+        for (Componente componente : circuito.getComponentes()) {
+            if (componente instanceof Voltimetro || componente instanceof Amperimetro) {
+                comboSalida.addItem(componente);
+            }
+        }
+        if (seleccionado != null) {
+            comboSalida.setSelectedItem(seleccionado);
+        }
+        modeloSensibilidad.setRowCount(0);
+        lblSensibilidad.setText(comboSalida.getItemCount() == 0 ? "Agregue un voltímetro o amperímetro" : " ");
+    }
+    
+    /**
+     * Ranking de los componentes según cuánto mueve cada uno la lectura del medidor elegido. Si el
+     * circuito cambió se vuelve a simular, así que corre en segundo plano y se detiene con F6.
+     */
+    private void calcularSensibilidades() {
+        Componente salida = (Componente) comboSalida.getSelectedItem();
+        modeloSensibilidad.setRowCount(0);
+        if (circuito == null || salida == null) {
+            return;
+        }
+        ControlSimulacion control = ventana.iniciarTrabajo();
+        if (control == null) {
+            lblSensibilidad.setText("Hay una simulación en curso");
+            return;
+        }
+        Circuito circuitoCalculo = circuito;
+        lblSensibilidad.setText("Calculando...");
+        SwingWorker<ResultadoSensibilidad, Void> worker = new SwingWorker<ResultadoSensibilidad, Void>() {
+            @Override
+            protected ResultadoSensibilidad doInBackground() {
+                return controlador.calcularSensibilidades(circuitoCalculo, salida, control);
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    mostrarSensibilidades(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    lblSensibilidad.setText("Error en sensibilidad: " + e.getMessage());
+                } finally {
+                    ventana.terminarTrabajo(control, "Sensibilidad: " + lblSensibilidad.getText());
+                }
+            }
+        };
+        worker.execute();
+    }
+    
+    private void mostrarSensibilidades(ResultadoSensibilidad resultado) {
+        lblSensibilidad.setText(resultado.getMensaje());
+        if (!resultado.isExitoso()) {
+            return;
+        }
+        int posicion = 1;
+        for (ResultadoSensibilidad.Sensibilidad s : resultado.getSensibilidades()) {
+            Object[] fila = {
+                posicion++,
+                s.getComponente().getNombre(),
+                s.getParametro(),
+                String.format("%.4g", s.getValor()),
+                String.format("%.4e %s/%s", s.getDerivada(), resultado.getUnidadSalida(), s.getComponente().getUnidad()),
+                Double.isNaN(s.getRelativa()) ? "-" : String.format("%.4f", s.getRelativa())
+            };
+            modeloSensibilidad.addRow(fila);
+        }
     }
     
     private void exportarResultados() {
@@ -202,6 +329,20 @@ public class PanelResultados extends JDialog {
                         }
                         writer.println();
                     }
+
+                    // Exportar ranking de sensibilidad, si se calculó
+                    if (modeloSensibilidad.getRowCount() > 0) {
+                        writer.println("\n=== SENSIBILIDAD (" + lblSensibilidad.getText() + ") ===");
+                        for (int i = 0; i < modeloSensibilidad.getRowCount(); i++) {
+                            for (int j = 0; j < modeloSensibilidad.getColumnCount(); j++) {
+                                writer.print(modeloSensibilidad.getValueAt(i, j));
+                                if (j < modeloSensibilidad.getColumnCount() - 1) {
+                                    writer.print("\t");
+                                }
+                            }
+                            writer.println();
+                        }
+                    }
                 }
                 
                 JOptionPane.showMessageDialog(this, 
@@ -0,0 +1,95 @@
+package com.wsxdev.simuladorcircuitos.servicio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Agrupación de peticiones idénticas y límite de concurrencia del servicio
+ */
+class ServidorSimulacionTest {
+    private static final String DIVISOR = "{\"nombre\": \"divisor\","
+            + " \"componentes\": [{\"id\": \"V1\", \"tipo\": \"fuenteV\", \"valor\": 10},"
+            + " {\"id\": \"R1\", \"tipo\": \"resistencia\", \"valor\": 1000},"
+            + " {\"id\": \"R2\", \"tipo\": \"resistencia\", \"valor\": 3000}],"
+            + " \"conexiones\": [[\"V1.positivo\", \"R1.terminal1\"], [\"R1.terminal2\", \"R2.terminal1\"],"
+            + " [\"R2.terminal2\", \"V1.negativo\"]]}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private ServidorSimulacion servidor;
+
+    @AfterEach
+    void detener() {
+        servidor.detener(0);
+    }
+
+    @Test
+    void peticionesIdenticasSeResuelvenUnaVez() throws Exception {
+        int peticiones = 8;
+        iniciar(10_000);
+        servidor.permisos.acquire(); // La primera queda esperando lugar con su simulación registrada en curso
+        List<CompletableFuture<HttpResponse<String>>> respuestas = new ArrayList<>();
+        try {
+            for (int i = 0; i < peticiones; i++) {
+                respuestas.add(cliente.sendAsync(solicitud(DIVISOR), HttpResponse.BodyHandlers.ofString()));
+            }
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (servidor.getAgrupadas() < peticiones - 1 && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+        } finally {
+            servidor.permisos.release();
+        }
+
+        for (CompletableFuture<HttpResponse<String>> respuesta : respuestas) {
+            HttpResponse<String> http = respuesta.get(10, TimeUnit.SECONDS);
+            assertEquals(200, http.statusCode(), http.body());
+            JsonNode voltajes = mapper.readTree(http.body()).path("voltajes");
+            assertEquals(7.5, voltajes.path("R2.terminal1").asDouble() - voltajes.path("R2.terminal2").asDouble(), 1e-9);
+        }
+        assertEquals(1, servidor.getSimulaciones());
+        assertEquals(peticiones - 1, servidor.getAgrupadas());
+    }
+
+    @Test
+    void sinLugarSeRespondeOcupado() throws Exception {
+        iniciar(100);
+        servidor.permisos.acquire();
+        try {
+            HttpResponse<String> http = cliente.send(solicitud(DIVISOR), HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, http.statusCode());
+            assertTrue(http.headers().firstValue("Retry-After").isPresent());
+        } finally {
+            servidor.permisos.release();
+        }
+        assertEquals(0, servidor.getSimulaciones());
+        assertEquals(1, servidor.getRechazadas());
+    }
+
+    /**
+     * Un solo lugar de simulación y la espera indicada antes de responder 503
+     */
+    private void iniciar(long esperaMaximaMs) throws Exception {
+        servidor = new ServidorSimulacion(0, 1, esperaMaximaMs);
+        servidor.iniciar();
+    }
+
+    private HttpRequest solicitud(String cuerpo) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + "/simular"))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+import com.wsxdev.simuladorcircuitos.modelo.Led;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import com.wsxdev.simuladorcircuitos.modelo.Voltimetro;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Derivadas adjuntas contra diferencias finitas centrales
+ */
+class AnalisisSensibilidadTest {
+    private static final double PASO_RELATIVO = 1e-5;
+
+    @Test
+    void resistenciasYFuenteDeUnaRedLineal() {
+        Circuito circuito = new Circuito("red");
+        FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+        fuente.setVoltaje(10.0);
+        Resistencia r1 = resistencia(100, 1000.0);
+        Resistencia r2 = resistencia(200, 2000.0);
+        Resistencia r3 = resistencia(300, 1500.0);
+        Resistencia r4 = resistencia(400, 3000.0);
+        Voltimetro voltimetro = new Voltimetro(500, 0, 0);
+        circuito.agregarComponente(fuente);
+        circuito.agregarComponente(r1);
+        circuito.agregarComponente(r2);
+        circuito.agregarComponente(r3);
+        circuito.agregarComponente(r4);
+        circuito.agregarComponente(voltimetro);
+        circuito.conectarPuntos(fuente.getTerminalPositivo(), r1.getTerminal1());
+        circuito.conectarPuntos(r1.getTerminal2(), r2.getTerminal1());
+        circuito.conectarPuntos(r2.getTerminal2(), fuente.getTerminalNegativo());
+        circuito.conectarPuntos(r1.getTerminal2(), r3.getTerminal1());
+        circuito.conectarPuntos(r3.getTerminal2(), r4.getTerminal1());
+        circuito.conectarPuntos(r4.getTerminal2(), fuente.getTerminalNegativo());
+        circuito.conectarPuntos(voltimetro.getTerminalPositivo(), r4.getTerminal1());
+        circuito.conectarPuntos(voltimetro.getTerminalNegativo(), r4.getTerminal2());
+
+        ResultadoSensibilidad resultado = new SimuladorCircuito(circuito).calcularSensibilidades(voltimetro);
+
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        assertEquals(5, resultado.getSensibilidades().size());
+        for (ResultadoSensibilidad.Sensibilidad s : resultado.getSensibilidades()) {
+            double esperada = s.getComponente() == fuente
+                    ? resultado.getValorSalida() / fuente.getVoltaje() // Salida proporcional a la fuente
+                    : diferenciaFinita(circuito, (Resistencia) s.getComponente(), voltimetro);
+            assertEquals(esperada, s.getDerivada(), 1e-6 * Math.abs(esperada), s.getComponente().getNombre());
+        }
+    }
+
+    @Test
+    void resistenciaEnSerieConUnLed() {
+        Circuito circuito = new Circuito("led");
+        FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+        fuente.setVoltaje(5.0);
+        Resistencia resistencia = resistencia(100, 220.0);
+        Led led = new Led(200, 0, 0);
+        Voltimetro voltimetro = new Voltimetro(300, 0, 0);
+        circuito.agregarComponente(fuente);
+        circuito.agregarComponente(resistencia);
+        circuito.agregarComponente(led);
+        circuito.agregarComponente(voltimetro);
+        circuito.conectarPuntos(fuente.getTerminalPositivo(), resistencia.getTerminal1());
+        circuito.conectarPuntos(resistencia.getTerminal2(), led.getAnodo());
+        circuito.conectarPuntos(led.getCatodo(), fuente.getTerminalNegativo());
+        circuito.conectarPuntos(voltimetro.getTerminalPositivo(), led.getAnodo());
+        circuito.conectarPuntos(voltimetro.getTerminalNegativo(), led.getCatodo());
+
+        ResultadoSensibilidad resultado = new SimuladorCircuito(circuito).calcularSensibilidades(voltimetro);
+
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        ResultadoSensibilidad.Sensibilidad s = resultado.getSensibilidades().stream()
+                .filter(sensibilidad -> sensibilidad.getComponente() == resistencia).findFirst().orElseThrow();
+        double esperada = diferenciaFinita(circuito, resistencia, voltimetro);
+        assertTrue(esperada < 0.0);
+        assertEquals(esperada, s.getDerivada(), 1e-4 * Math.abs(esperada));
+    }
+
+    /**
+     * (y(R + h) − y(R − h)) / 2h, simulando cada punto desde cero
+     */
+    private static double diferenciaFinita(Circuito circuito, Resistencia resistencia, Voltimetro voltimetro) {
+        double valor = resistencia.getResistencia();
+        double h = PASO_RELATIVO * valor;
+        resistencia.setResistencia(valor + h);
+        assertTrue(new SimuladorCircuito(circuito).simular().isExitoso());
+        double mas = voltimetro.getValorPrincipal();
+        resistencia.setResistencia(valor - h);
+        assertTrue(new SimuladorCircuito(circuito).simular().isExitoso());
+        double menos = voltimetro.getValorPrincipal();
+        resistencia.setResistencia(valor);
+        return (mas - menos) / (2.0 * h);
+    }
+
+    private static Resistencia resistencia(int x, double valor) {
+        Resistencia resistencia = new Resistencia(x, 0, 0);
+        resistencia.setResistencia(valor);
+        return resistencia;
+    }
+}
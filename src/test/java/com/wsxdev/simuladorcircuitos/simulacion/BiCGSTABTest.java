@@ -0,0 +1,36 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rupturas de BiCGSTAB: con b = e₁ y a₁₁ = 0 el primer (r̂, A·r) es cero
+ */
+class BiCGSTABTest {
+
+    private static MatrizDispersa conRuptura() {
+        MatrizDispersa.Tripletas t = new MatrizDispersa.Tripletas(2, 3);
+        t.agregar(0, 1, 1.0);
+        t.agregar(1, 0, -1.0);
+        t.agregar(1, 1, 2.0);
+        return t.comprimir();
+    }
+
+    @Test
+    void reinicioEnLaUltimaIteracionNoDesborda() {
+        ResultadoIterativo resultado = new BiCGSTAB(1e-12, 1).resolver(conRuptura(), new double[]{1.0, 0.0}, null, null);
+
+        assertTrue(resultado.getIteraciones() <= 1);
+        assertEquals(resultado.getIteraciones(), resultado.getHistorialResiduos().length);
+    }
+
+    @Test
+    void convergeTrasReiniciar() {
+        ResultadoIterativo resultado = new BiCGSTAB(1e-12, 20).resolver(conRuptura(), new double[]{1.0, 0.0}, null, null);
+
+        assertTrue(resultado.isConvergio());
+        assertEquals(2.0, resultado.getSolucion()[0], 1e-10);
+        assertEquals(1.0, resultado.getSolucion()[1], 1e-10);
+    }
+}
@@ -0,0 +1,101 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+import com.wsxdev.simuladorcircuitos.modelo.PuntoConexion;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * La corrección de rango bajo contra una factorización nueva de la matriz ya modificada
+ */
+class CorreccionWoodburyTest {
+    private static final int SECCIONES = 30;
+
+    @Test
+    void coincideConFactorizarDeNuevo() {
+        for (long semilla = 1; semilla <= 10; semilla++) {
+            SplittableRandom azar = new SplittableRandom(semilla);
+            List<Resistencia> resistencias = new ArrayList<>();
+            FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+            NetlistCircuito netlist = NetlistCircuito.compilar(escalera(fuente, resistencias, azar))[0];
+            SistemaMNA sistema = new SistemaMNA(netlist);
+            sistema.estampar();
+            CorreccionWoodbury correccion = new CorreccionWoodbury(FactorizacionLU.factorizar(sistema.getMatriz()),
+                    netlist.getElementos(), netlist.getValores());
+
+            // Cinco resistencias distintas y la fuente, que solo cambia el lado derecho
+            int cambios = 0;
+            while (cambios < 5) {
+                Resistencia r = resistencias.get(azar.nextInt(resistencias.size()));
+                if (resistencias.remove(r)) {
+                    r.setResistencia(r.getResistencia() * (0.2 + 5.0 * azar.nextDouble()));
+                    cambios++;
+                }
+            }
+            fuente.setVoltaje(7.5);
+            netlist.actualizarValores();
+            sistema.estampar();
+
+            assertTrue(correccion.actualizar(netlist.getValores()));
+            assertEquals(5, correccion.getRango());
+            double[] x = correccion.resolver(sistema.getRhs(), netlist.getValores());
+            double[] esperado = FactorizacionLU.factorizar(sistema.getMatriz()).resolver(sistema.getRhs());
+            for (int i = 0; i < x.length; i++) {
+                assertEquals(esperado[i], x[i], 1e-10 * Math.max(1.0, Math.abs(esperado[i])), "semilla " + semilla);
+            }
+        }
+    }
+
+    @Test
+    void demasiadosCambiosPidenRefactorizar() {
+        List<Resistencia> resistencias = new ArrayList<>();
+        NetlistCircuito netlist = NetlistCircuito.compilar(
+                escalera(new FuenteVoltaje(0, 0, 0), resistencias, new SplittableRandom(3)))[0];
+        SistemaMNA sistema = new SistemaMNA(netlist);
+        sistema.estampar();
+        CorreccionWoodbury correccion = new CorreccionWoodbury(FactorizacionLU.factorizar(sistema.getMatriz()),
+                netlist.getElementos(), netlist.getValores());
+
+        for (int i = 0; i <= CorreccionWoodbury.RANGO_MAXIMO; i++) {
+            Resistencia r = resistencias.get(i);
+            r.setResistencia(2.0 * r.getResistencia());
+        }
+        netlist.actualizarValores();
+
+        assertFalse(correccion.actualizar(netlist.getValores()));
+    }
+
+    /**
+     * Escalera de resistencias: una en serie y otra a tierra por sección, con valores al azar
+     */
+    private static Circuito escalera(FuenteVoltaje fuente, List<Resistencia> resistencias, SplittableRandom azar) {
+        Circuito circuito = new Circuito("escalera");
+        fuente.setVoltaje(10.0);
+        circuito.agregarComponente(fuente);
+        PuntoConexion anterior = fuente.getTerminalPositivo();
+        for (int s = 0; s < SECCIONES; s++) {
+            Resistencia serie = resistencia(circuito, resistencias, azar, s);
+            Resistencia paralela = resistencia(circuito, resistencias, azar, s);
+            circuito.conectarPuntos(anterior, serie.getTerminal1());
+            circuito.conectarPuntos(serie.getTerminal2(), paralela.getTerminal1());
+            circuito.conectarPuntos(paralela.getTerminal2(), fuente.getTerminalNegativo());
+            anterior = serie.getTerminal2();
+        }
+        return circuito;
+    }
+
+    private static Resistencia resistencia(Circuito circuito, List<Resistencia> resistencias, SplittableRandom azar, int s) {
+        Resistencia resistencia = new Resistencia(100 * (s + 1), 100 * resistencias.size(), 0);
+        resistencia.setResistencia(100.0 + 10_000.0 * azar.nextDouble());
+        circuito.agregarComponente(resistencia);
+        resistencias.add(resistencia);
+        return resistencia;
+    }
+}
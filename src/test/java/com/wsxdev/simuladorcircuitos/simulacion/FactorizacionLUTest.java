@@ -0,0 +1,126 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Residuos de la factorización LU dispersa sobre matrices aleatorias y casos con pivoteo
+ */
+class FactorizacionLUTest {
+    private static final double TOLERANCIA = 1e-10;
+
+    @Test
+    void factorizarResuelveMatricesAleatorias() {
+        for (long semilla = 1; semilla <= 20; semilla++) {
+            MatrizDispersa a = aleatoria(200, 4, semilla, 1.0);
+            double[] b = vectorAleatorio(200, semilla);
+            FactorizacionLU lu = FactorizacionLU.factorizar(a);
+            assertTrue(residuo(a, lu.resolver(b), b) < TOLERANCIA, "semilla " + semilla);
+        }
+    }
+
+    @Test
+    void factorizarPivoteaConDiagonalNula() {
+        // Estructura MNA de una fuente: la fila de la corriente de rama tiene diagonal cero
+        MatrizDispersa.Tripletas t = new MatrizDispersa.Tripletas(3, 8);
+        t.agregar(0, 0, 1e-3);
+        t.agregar(0, 1, -1e-3);
+        t.agregar(1, 0, -1e-3);
+        t.agregar(1, 1, 2e-3);
+        t.agregar(0, 2, 1.0);
+        t.agregar(2, 0, 1.0);
+        MatrizDispersa a = t.comprimir();
+        double[] b = {0, 0, 10.0};
+
+        double[] x = FactorizacionLU.factorizar(a).resolver(b);
+
+        assertEquals(10.0, x[0], 1e-12);
+        assertEquals(5.0, x[1], 1e-12);
+        assertEquals(-5e-3, x[2], 1e-15);
+    }
+
+    @Test
+    void refactorizarReutilizaPivotesConValoresNuevos() {
+        MatrizDispersa a = aleatoria(300, 5, 7, 1.0);
+        FactorizacionLU lu = FactorizacionLU.factorizar(a);
+        MatrizDispersa b = aleatoria(300, 5, 7, 1.5); // Mismo patrón, otros valores
+        double[] rhs = vectorAleatorio(300, 11);
+
+        assertTrue(lu.refactorizar(b));
+        assertTrue(residuo(b, lu.resolver(rhs), rhs) < TOLERANCIA);
+    }
+
+    @Test
+    void refactorizarRechazaPivoteNulo() {
+        MatrizDispersa.Tripletas t = new MatrizDispersa.Tripletas(2, 4);
+        t.agregar(0, 0, 4.0);
+        t.agregar(0, 1, 1.0);
+        t.agregar(1, 1, 3.0);
+        FactorizacionLU lu = FactorizacionLU.factorizar(t.comprimir());
+
+        // La primera columna queda nula: ningún orden de pivotes la salva
+        MatrizDispersa.Tripletas cero = new MatrizDispersa.Tripletas(2, 4);
+        cero.agregar(0, 0, 0.0);
+        cero.agregar(0, 1, 1.0);
+        cero.agregar(1, 1, 3.0);
+
+        assertFalse(lu.refactorizar(cero.comprimir()));
+    }
+
+    @Test
+    void resolverTranspuestaUsaLosMismosFactores() {
+        for (long semilla = 1; semilla <= 10; semilla++) {
+            MatrizDispersa a = aleatoria(150, 4, semilla, 1.0);
+            double[] b = vectorAleatorio(150, semilla + 100);
+            double[] x = FactorizacionLU.factorizar(a).resolverTranspuesta(b);
+            assertTrue(residuo(a.transpuesta(), x, b) < TOLERANCIA, "semilla " + semilla);
+        }
+    }
+
+    /**
+     * Matriz no simétrica con diagonal dominante débil; con la misma semilla el patrón es el mismo y los
+     * valores fuera de la diagonal se multiplican por la escala
+     */
+    private static MatrizDispersa aleatoria(int n, int porFila, long semilla, double escala) {
+        SplittableRandom azar = new SplittableRandom(semilla);
+        MatrizDispersa.Tripletas t = new MatrizDispersa.Tripletas(n, n * (porFila + 1));
+        for (int i = 0; i < n; i++) {
+            double suma = 0;
+            for (int k = 0; k < porFila; k++) {
+                int j = azar.nextInt(n);
+                double valor = escala * (azar.nextDouble() - 0.5);
+                if (j != i) {
+                    t.agregar(i, j, valor);
+                    suma += Math.abs(valor);
+                }
+            }
+            t.agregar(i, i, 0.5 * suma + 1e-3);
+        }
+        return t.comprimir();
+    }
+
+    private static double[] vectorAleatorio(int n, long semilla) {
+        SplittableRandom azar = new SplittableRandom(semilla);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = azar.nextDouble() - 0.5;
+        }
+        return v;
+    }
+
+    /**
+     * ‖A·x − b‖∞ / ‖b‖∞
+     */
+    private static double residuo(MatrizDispersa a, double[] x, double[] b) {
+        double[] ax = a.multiplicar(x);
+        double maximo = 0, normaB = 0;
+        for (int i = 0; i < b.length; i++) {
+            maximo = Math.max(maximo, Math.abs(ax[i] - b[i]));
+            normaB = Math.max(normaB, Math.abs(b[i]));
+        }
+        return maximo / normaB;
+    }
+}
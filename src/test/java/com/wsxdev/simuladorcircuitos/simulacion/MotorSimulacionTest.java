@@ -0,0 +1,74 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.Condensador;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transitorio contra la carga analítica de un circuito RC
+ */
+class MotorSimulacionTest {
+
+    @Test
+    void cargaDeCircuitoRC() {
+        double voltaje = 10.0, inicial = 4.0, r = 1000.0, c = 1e-6, tau = r * c;
+        Circuito circuito = new Circuito("rc");
+        FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+        fuente.setVoltaje(voltaje);
+        Resistencia resistencia = new Resistencia(100, 0, 0);
+        resistencia.setResistencia(r);
+        Condensador condensador = new Condensador(200, 0, 0);
+        condensador.setCapacitancia(c);
+        condensador.setVoltajeInicial(inicial);
+        circuito.agregarComponente(fuente);
+        circuito.agregarComponente(resistencia);
+        circuito.agregarComponente(condensador);
+        circuito.conectarPuntos(fuente.getTerminalPositivo(), resistencia.getTerminal1());
+        circuito.conectarPuntos(resistencia.getTerminal2(), condensador.getTerminal1());
+        circuito.conectarPuntos(condensador.getTerminal2(), fuente.getTerminalNegativo());
+
+        MotorSimulacion motor = new MotorSimulacion();
+        motor.setMaxMuestras(100);
+        ResultadoTransitorio resultado = motor.simular(circuito, 5 * tau);
+
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        int nodoC = resultado.getNodoIndices().get(Nodo.claveDe(condensador.getTerminal1()));
+        int tierra = resultado.getNodoIndices().get(Nodo.claveDe(condensador.getTerminal2()));
+        double[] tiempos = resultado.getTiempos();
+        assertTrue(tiempos.length > 50);
+        // La primera muestra es el estado inicial: el condensador en su voltaje inicial y el resto sobre R
+        int nodoFuente = resultado.getNodoIndices().get(Nodo.claveDe(resistencia.getTerminal1()));
+        assertEquals(0.0, tiempos[0]);
+        assertEquals(inicial, resultado.getVoltaje(0, nodoC) - resultado.getVoltaje(0, tierra), 1e-9);
+        assertEquals(voltaje - inicial, resultado.getVoltaje(0, nodoFuente) - resultado.getVoltaje(0, nodoC), 1e-9);
+        for (int m = 0; m < tiempos.length; m++) {
+            double esperado = voltaje + (inicial - voltaje) * Math.exp(-tiempos[m] / tau);
+            double obtenido = resultado.getVoltaje(m, nodoC) - resultado.getVoltaje(m, tierra);
+            assertEquals(esperado, obtenido, 1e-2, "t = " + tiempos[m]);
+        }
+    }
+
+    @Test
+    void controlCanceladoDetieneElTransitorio() {
+        Circuito circuito = new Circuito("rc");
+        FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+        Resistencia resistencia = new Resistencia(100, 0, 0);
+        Condensador condensador = new Condensador(200, 0, 0);
+        circuito.agregarComponente(fuente);
+        circuito.agregarComponente(resistencia);
+        circuito.agregarComponente(condensador);
+        circuito.conectarPuntos(fuente.getTerminalPositivo(), resistencia.getTerminal1());
+        circuito.conectarPuntos(resistencia.getTerminal2(), condensador.getTerminal1());
+        circuito.conectarPuntos(condensador.getTerminal2(), fuente.getTerminalNegativo());
+
+        ControlSimulacion control = new ControlSimulacion(0, null);
+        control.cancelar();
+        ResultadoTransitorio resultado = new MotorSimulacion().simular(circuito, 1.0, control);
+        assertFalse(resultado.isExitoso());
+        assertEquals("Simulación cancelada", resultado.getMensaje());
+    }
+}
@@ -0,0 +1,94 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gradiente conjugado y multimalla algebraica sobre una malla resistiva cuadrada conectada a tierra en el borde
+ */
+class MultimallaAlgebraicaTest {
+    private static final int LADO = 60;
+    private static final double TOLERANCIA = 1e-10;
+
+    @Test
+    void gradienteConjugadoResuelveLaMalla() {
+        MatrizDispersa a = malla(LADO);
+        double[] b = vectorAleatorio(a.getDimension(), 1);
+
+        ResultadoIterativo resultado = new GradienteConjugado(TOLERANCIA, 5000).resolver(a, b, null, null);
+
+        assertTrue(resultado.isConvergio());
+        assertTrue(residuo(a, resultado.getSolucion(), b) < 10 * TOLERANCIA);
+    }
+
+    @Test
+    void precondicionarConMultimallaReduceLasIteraciones() {
+        MatrizDispersa a = malla(LADO);
+        double[] b = vectorAleatorio(a.getDimension(), 2);
+        MultimallaAlgebraica multimalla = new MultimallaAlgebraica(a);
+
+        ResultadoIterativo simple = new GradienteConjugado(TOLERANCIA, 5000).resolver(a, b, null, null);
+        ResultadoIterativo precondicionado = new GradienteConjugado(TOLERANCIA, 5000).resolver(a, b, null, multimalla);
+
+        assertTrue(multimalla.getNumNiveles() > 1);
+        assertTrue(precondicionado.isConvergio());
+        assertTrue(residuo(a, precondicionado.getSolucion(), b) < 10 * TOLERANCIA);
+        assertTrue(precondicionado.getIteraciones() * 4 < simple.getIteraciones(),
+                precondicionado.getIteraciones() + " contra " + simple.getIteraciones());
+    }
+
+    @Test
+    void ciclosVRepetidosConvergenSolos() {
+        MatrizDispersa a = malla(LADO);
+        double[] b = vectorAleatorio(a.getDimension(), 3);
+
+        ResultadoIterativo resultado = new IteracionEstacionaria(1e-8, 200).resolver(a, b, null, new MultimallaAlgebraica(a));
+
+        assertTrue(resultado.isConvergio());
+        assertTrue(residuo(a, resultado.getSolucion(), b) < 1e-7);
+    }
+
+    /**
+     * Nodos en una cuadrícula de lado × lado unidos por resistencias de 1 Ω, y el borde unido a tierra
+     */
+    private static MatrizDispersa malla(int lado) {
+        int n = lado * lado;
+        MatrizDispersa.Tripletas t = new MatrizDispersa.Tripletas(n, 5 * n);
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                int i = f * lado + c;
+                t.agregar(i, i, 4.0);
+                if (f > 0) t.agregar(i, i - lado, -1.0);
+                if (f < lado - 1) t.agregar(i, i + lado, -1.0);
+                if (c > 0) t.agregar(i, i - 1, -1.0);
+                if (c < lado - 1) t.agregar(i, i + 1, -1.0);
+            }
+        }
+        return t.comprimir();
+    }
+
+    private static double[] vectorAleatorio(int n, long semilla) {
+        SplittableRandom azar = new SplittableRandom(semilla);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = azar.nextDouble() - 0.5;
+        }
+        return v;
+    }
+
+    /**
+     * ‖A·x − b‖₂ / ‖b‖₂
+     */
+    private static double residuo(MatrizDispersa a, double[] x, double[] b) {
+        double[] ax = a.multiplicar(x);
+        double suma = 0, normaB = 0;
+        for (int i = 0; i < b.length; i++) {
+            suma += (ax[i] - b[i]) * (ax[i] - b[i]);
+            normaB += b[i] * b[i];
+        }
+        return Math.sqrt(suma / normaB);
+    }
+}
@@ -0,0 +1,49 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+import com.wsxdev.simuladorcircuitos.modelo.Led;
+import com.wsxdev.simuladorcircuitos.modelo.PuntoConexion;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Newton modificado: el jacobiano factorizado se reutiliza entre iteraciones
+ */
+class NewtonRaphsonTest {
+
+    @Test
+    void escaleraDeLedsReutilizaElJacobiano() {
+        // Cada peldaño: 10 Ω en serie, LED y 470 Ω a tierra
+        Circuito circuito = new Circuito("escalera de LEDs");
+        FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+        fuente.setVoltaje(12.0);
+        circuito.agregarComponente(fuente);
+        PuntoConexion anterior = fuente.getTerminalPositivo();
+        for (int i = 0; i < 40; i++) {
+            Resistencia serie = new Resistencia(100 * i, 100, 0);
+            serie.setResistencia(10.0);
+            Led led = new Led(100 * i, 200, 0);
+            Resistencia carga = new Resistencia(100 * i, 300, 0);
+            carga.setResistencia(470.0);
+            circuito.agregarComponente(serie);
+            circuito.agregarComponente(led);
+            circuito.agregarComponente(carga);
+            circuito.conectarPuntos(anterior, serie.getTerminal1());
+            circuito.conectarPuntos(serie.getTerminal2(), led.getAnodo());
+            circuito.conectarPuntos(led.getCatodo(), carga.getTerminal1());
+            circuito.conectarPuntos(carga.getTerminal2(), fuente.getTerminalNegativo());
+            anterior = serie.getTerminal2();
+        }
+
+        SimuladorCircuito simulador = new SimuladorCircuito(circuito);
+        SimuladorCircuito.ResultadosSimulacion resultado = simulador.simular();
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        EstadisticasNewton estadisticas = simulador.getSistemas()[0].getUltimasEstadisticasNewton();
+        assertTrue(estadisticas.isConvergio());
+        assertTrue(estadisticas.getResiduo() <= 1e-9, estadisticas.toString());
+        assertTrue(2 * estadisticas.getFactorizaciones() <= estadisticas.getIteraciones(), estadisticas.toString());
+    }
+}
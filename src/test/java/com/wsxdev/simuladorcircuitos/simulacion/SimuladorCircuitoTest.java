@@ -0,0 +1,124 @@
+package com.wsxdev.simuladorcircuitos.simulacion;
+
+import com.wsxdev.simuladorcircuitos.modelo.Circuito;
+import com.wsxdev.simuladorcircuitos.modelo.FuenteVoltaje;
+import com.wsxdev.simuladorcircuitos.modelo.Interruptor;
+import com.wsxdev.simuladorcircuitos.modelo.Resistencia;
+import com.wsxdev.simuladorcircuitos.modelo.Voltimetro;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resultados analíticos de circuitos pequeños de punta a punta
+ */
+class SimuladorCircuitoTest {
+
+    @Test
+    void divisorDeVoltaje() {
+        Circuito circuito = new Circuito("divisor");
+        FuenteVoltaje fuente = new FuenteVoltaje(0, 0, 0);
+        fuente.setVoltaje(10.0);
+        Resistencia r1 = new Resistencia(100, 0, 0);
+        r1.setResistencia(1000.0);
+        Resistencia r2 = new Resistencia(200, 0, 0);
+        r2.setResistencia(3000.0);
+        Voltimetro voltimetro = new Voltimetro(300, 0, 0);
+        circuito.agregarComponente(fuente);
+        circuito.agregarComponente(r1);
+        circuito.agregarComponente(r2);
+        circuito.agregarComponente(voltimetro);
+        circuito.conectarPuntos(fuente.getTerminalPositivo(), r1.getTerminal1());
+        circuito.conectarPuntos(r1.getTerminal2(), r2.getTerminal1());
+        circuito.conectarPuntos(r2.getTerminal2(), fuente.getTerminalNegativo());
+        circuito.conectarPuntos(voltimetro.getTerminalPositivo(), r2.getTerminal1());
+        circuito.conectarPuntos(voltimetro.getTerminalNegativo(), r2.getTerminal2());
+
+        SimuladorCircuito simulador = new SimuladorCircuito(circuito);
+        SimuladorCircuito.ResultadosSimulacion resultado = simulador.simular();
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        // R2 en paralelo con la resistencia interna del voltímetro
+        double paralelo = 1.0 / (1.0 / 3000.0 + 1.0 / voltimetro.getResistenciaInterna());
+        assertEquals(10.0 * paralelo / (1000.0 + paralelo), voltimetro.getValorPrincipal(), 1e-9);
+
+        // Un cambio de valor se resuelve con los factores ya calculados
+        r1.setResistencia(3000.0);
+        resultado = simulador.simular();
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        assertEquals(10.0 * paralelo / (3000.0 + paralelo), voltimetro.getValorPrincipal(), 1e-9);
+    }
+
+    @Test
+    void islasSinConexionSeResuelvenPorSeparado() {
+        Circuito circuito = new Circuito("dos divisores");
+        Voltimetro primero = divisor(circuito, 0, 10.0, 1000.0, 3000.0);
+        Voltimetro segundo = divisor(circuito, 500, 6.0, 2000.0, 2000.0);
+
+        assertEquals(2, NetlistCircuito.compilar(circuito).length);
+        SimuladorCircuito.ResultadosSimulacion resultado = new SimuladorCircuito(circuito).simular();
+        assertTrue(resultado.isExitoso(), resultado.getMensaje());
+        assertEquals(10.0 * paralelo(3000.0, primero) / (1000.0 + paralelo(3000.0, primero)), primero.getValorPrincipal(), 1e-9);
+        assertEquals(6.0 * paralelo(2000.0, segundo) / (2000.0 + paralelo(2000.0, segundo)), segundo.getValorPrincipal(), 1e-9);
+    }
+
+    @Test
+    void interruptorVuelveALosFactoresDeCadaEstado() {
+        Circuito circuito = new Circuito("interruptor");
+        Voltimetro voltimetro = divisor(circuito, 0, 10.0, 1000.0, 1000.0);
+        // En paralelo con la segunda resistencia: cerrado la pone en corto
+        Interruptor interruptor = new Interruptor(400, 0, 0);
+        circuito.agregarComponente(interruptor);
+        circuito.conectarPuntos(interruptor.getTerminal1(), voltimetro.getTerminalPositivo());
+        circuito.conectarPuntos(interruptor.getTerminal2(), voltimetro.getTerminalNegativo());
+        SimuladorCircuito simulador = new SimuladorCircuito(circuito);
+
+        assertTrue(simulador.simular().isExitoso());
+        double abierto = voltimetro.getValorPrincipal();
+        interruptor.alternar();
+        assertTrue(simulador.simular().isExitoso());
+        double cerrado = voltimetro.getValorPrincipal();
+        interruptor.alternar();
+        assertTrue(simulador.simular().isExitoso());
+        assertEquals(abierto, voltimetro.getValorPrincipal(), 1e-12);
+        interruptor.alternar();
+        assertTrue(simulador.simular().isExitoso());
+        assertEquals(cerrado, voltimetro.getValorPrincipal(), 1e-12);
+
+        assertEquals(10.0 * paralelo(1000.0, voltimetro) / (1000.0 + paralelo(1000.0, voltimetro)), abierto, 1e-6);
+        assertEquals(0.0, cerrado, 1e-4);
+        // Cada estado se factorizó una sola vez; las dos vueltas reutilizaron sus factores
+        SistemaMNA sistema = simulador.getSistemas()[0];
+        assertEquals(2, sistema.getFallosEstado());
+        assertEquals(2, sistema.getAciertosEstado());
+    }
+
+    /**
+     * Fuente, dos resistencias en serie y un voltímetro sobre la segunda, a partir de la columna x
+     */
+    private static Voltimetro divisor(Circuito circuito, int x, double voltaje, double r1, double r2) {
+        FuenteVoltaje fuente = new FuenteVoltaje(x, 0, 0);
+        fuente.setVoltaje(voltaje);
+        Resistencia superior = new Resistencia(x + 100, 0, 0);
+        superior.setResistencia(r1);
+        Resistencia inferior = new Resistencia(x + 200, 0, 0);
+        inferior.setResistencia(r2);
+        Voltimetro voltimetro = new Voltimetro(x + 300, 0, 0);
+        circuito.agregarComponente(fuente);
+        circuito.agregarComponente(superior);
+        circuito.agregarComponente(inferior);
+        circuito.agregarComponente(voltimetro);
+        circuito.conectarPuntos(fuente.getTerminalPositivo(), superior.getTerminal1());
+        circuito.conectarPuntos(superior.getTerminal2(), inferior.getTerminal1());
+        circuito.conectarPuntos(inferior.getTerminal2(), fuente.getTerminalNegativo());
+        circuito.conectarPuntos(voltimetro.getTerminalPositivo(), inferior.getTerminal1());
+        circuito.conectarPuntos(voltimetro.getTerminalNegativo(), inferior.getTerminal2());
+        return voltimetro;
+    }
+
+    /**
+     * Resistencia en paralelo con la interna del voltímetro
+     */
+    private static double paralelo(double r, Voltimetro voltimetro) {
+        return 1.0 / (1.0 / r + 1.0 / voltimetro.getResistenciaInterna());
+    }
+}